@@ -0,0 +1,80 @@
+package com.zerobase.weatherservice;
+
+import com.zerobase.weatherservice.domain.CompressedTextConverter;
+import com.zerobase.weatherservice.domain.DateWeather;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * 인메모리 H2 DB로 애플리케이션 컨텍스트를 띄우는 벤치마크용 헬퍼
+ */
+public final class BenchmarkContext {
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName) {
+        // application.yml 보다 우선하도록 커맨드라인 인자로 전달
+        return new SpringApplicationBuilder(WeatherServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--openweathermap.key=benchmark",
+                        "--logging.config=classpath:logback.xml"
+                );
+    }
+
+    /**
+     * BenchmarkFixtures.diaries와 같은 분포의 다이어리를 본문과 함께 JDBC batch로 저장
+     */
+    public static void insertDiaries(ConfigurableApplicationContext context, int size) {
+        insertDiaries(context, size, id -> "오늘의 일기 " + (id - 1));
+    }
+
+    /**
+     * BenchmarkFixtures.diaries와 같은 분포로 저장하되 본문은 text(id)로 생성
+     */
+    public static void insertDiaries(ConfigurableApplicationContext context, int size, IntFunction<String> text) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        CompressedTextConverter textConverter = new CompressedTextConverter();
+        for (int from = 0; from < size; from += INSERT_BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH_SIZE);
+            List<Object[]> bodies = new ArrayList<>(INSERT_BATCH_SIZE);
+            BenchmarkFixtures.diaries(from, Math.min(INSERT_BATCH_SIZE, size - from)).forEach(diary -> {
+                rows.add(new Object[]{diary.getId(), diary.getWeather(), diary.getIcon(),
+                        diary.getTemperature(), Date.valueOf(diary.getDate())});
+                bodies.add(new Object[]{diary.getId(),
+                        textConverter.convertToDatabaseColumn(text.apply(diary.getId()))});
+            });
+            jdbcTemplate.batchUpdate(
+                    "insert into diary (id, weather, icon, temperature, date, version) values (?, ?, ?, ?, ?, 0)",
+                    rows);
+            jdbcTemplate.batchUpdate("insert into diary_body (id, text) values (?, ?)", bodies);
+        }
+    }
+
+    /**
+     * 날씨 정보를 JDBC batch로 저장 (통계 롤업은 갱신하지 않음)
+     */
+    public static void insertDateWeathers(ConfigurableApplicationContext context, List<DateWeather> dateWeathers) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> rows = new ArrayList<>(dateWeathers.size());
+        dateWeathers.forEach(dateWeather -> rows.add(new Object[]{dateWeather.getCity(),
+                Date.valueOf(dateWeather.getDate()), dateWeather.getWeather(), dateWeather.getIcon(),
+                dateWeather.getTemperature()}));
+        jdbcTemplate.batchUpdate(
+                "insert into date_weather (city, date, weather, icon, temperature) values (?, ?, ?, ?, ?)", rows);
+    }
+}
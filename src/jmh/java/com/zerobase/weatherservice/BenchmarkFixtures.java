@@ -0,0 +1,83 @@
+package com.zerobase.weatherservice;
+
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.Diary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크에서 공통으로 사용하는 데이터
+ */
+public final class BenchmarkFixtures {
+    private static final String[][] WEATHERS = {
+            {"Clear", "01d"}, {"Clouds", "04d"}, {"Rain", "10d"}, {"Snow", "13d"}, {"Mist", "50d"}
+    };
+    private static final String[] PLACES = {"공원", "도서관", "카페", "바다", "학교", "회사", "시장", "산"};
+    private static final String[] ACTIVITIES = {
+            "산책했다", "책을 읽었다", "친구를 만났다", "사진을 찍었다", "점심을 먹었다", "운동했다", "공부했다", "쉬었다"
+    };
+    private static final String[] FEELINGS = {"즐거웠다.", "피곤했다.", "행복했다.", "아쉬웠다.", "평범했다."};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 2020-01-01부터 하루에 3개씩 작성된 다이어리
+     */
+    public static List<Diary> diaries(int size) {
+        return diaries(0, size);
+    }
+
+    /**
+     * @param from 시작 순번 (id는 from + 1부터 부여)
+     */
+    public static List<Diary> diaries(int from, int size) {
+        LocalDate startDate = LocalDate.of(2020, 1, 1);
+        List<Diary> diaries = new ArrayList<>(size);
+        for (int i = from; i < from + size; i++) {
+            String[] weather = WEATHERS[i % WEATHERS.length];
+            diaries.add(Diary.builder()
+                    .id(i + 1)
+                    .weather(weather[0])
+                    .icon(weather[1])
+                    .temperature(270 + (i % 300) / 10.0)
+                    .date(startDate.plusDays(i / 3))
+                    .build());
+        }
+        return diaries;
+    }
+
+    /**
+     * 단어 목록에서 id별로 고정된 단어를 골라 만든 다이어리 본문
+     * - 장소, 활동은 자주 나오는 단어(1/8)이고 "벚꽃"은 id 1000개 중 하나에만 나오는 드문 단어
+     */
+    public static String diaryText(int id) {
+        String place = PLACES[id % PLACES.length];
+        String activity = ACTIVITIES[(id / PLACES.length) % ACTIVITIES.length];
+        String feeling = FEELINGS[(id / 7) % FEELINGS.length];
+        return id % 1000 == 0
+                ? place + "에서 벚꽃을 보며 " + activity + " " + feeling
+                : "오늘은 " + place + "에서 " + activity + " " + feeling;
+    }
+
+    /**
+     * 2020-01-01부터 하루에 하나씩 저장된 도시의 날씨 정보
+     */
+    public static List<DateWeather> dateWeathers(String city, int days) {
+        LocalDate startDate = LocalDate.of(2020, 1, 1);
+        List<DateWeather> dateWeathers = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            String[] weather = WEATHERS[i % WEATHERS.length];
+            dateWeathers.add(DateWeather.builder()
+                    .city(city)
+                    .date(startDate.plusDays(i))
+                    .weather(weather[0])
+                    .icon(weather[1])
+                    .temperature(260 + (i % 365) / 10.0)
+                    .build());
+        }
+        return dateWeathers;
+    }
+}
@@ -0,0 +1,84 @@
+package com.zerobase.weatherservice.client;
+
+import com.zerobase.weatherservice.dto.WeatherData;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * openweathermap API Response 파싱 비교
+ * - streaming: WeatherResponseParser (필요한 값만 pull 방식으로 읽음)
+ * - jsonSimpleTree: 기존 json-simple 방식 (전체 JSONObject 트리 생성 후 HashMap으로 복사)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WeatherResponseParserBenchmark {
+    /**
+     * 맑은 날의 일반적인 응답
+     */
+    private static final String CLEAR_RESPONSE = """
+            {"coord":{"lon":126.9778,"lat":37.5683},
+             "weather":[{"id":800,"main":"Clear","description":"clear sky","icon":"01d"}],
+             "base":"stations",
+             "main":{"temp":271.3,"feels_like":266.32,"temp_min":270.84,"temp_max":272.93,"pressure":1029,"humidity":43},
+             "visibility":10000,"wind":{"speed":3.6,"deg":300},"clouds":{"all":0},"dt":1704430530,
+             "sys":{"type":1,"id":8105,"country":"KR","sunrise":1704407917,"sunset":1704443150},
+             "timezone":32400,"id":1835848,"name":"Seoul","cod":200}
+            """;
+
+    /**
+     * 눈/비가 함께 오는 날처럼 weather 원소가 여러 개이고 부가 필드가 많은 응답 (main이 뒤쪽에 위치)
+     */
+    private static final String STORM_RESPONSE = """
+            {"coord":{"lon":126.9778,"lat":37.5683},
+             "weather":[{"id":502,"main":"Rain","description":"heavy intensity rain","icon":"10n"},
+                        {"id":601,"main":"Snow","description":"snow","icon":"13n"},
+                        {"id":701,"main":"Mist","description":"mist","icon":"50n"},
+                        {"id":211,"main":"Thunderstorm","description":"thunderstorm","icon":"11n"}],
+             "base":"stations","visibility":3200,
+             "wind":{"speed":12.35,"deg":250,"gust":18.2},
+             "rain":{"1h":7.11,"3h":15.4},"snow":{"1h":1.02,"3h":2.5},
+             "clouds":{"all":100},"dt":1704430530,
+             "sys":{"type":2,"id":2093240,"country":"KR","sunrise":1704407917,"sunset":1704443150},
+             "timezone":32400,"id":1835848,"name":"Seoul","cod":200,
+             "main":{"temp":273,"feels_like":265.4,"temp_min":272,"temp_max":274,"pressure":998,"humidity":97,"sea_level":998,"grnd_level":990}}
+            """;
+
+    @Param({"clear", "storm"})
+    private String payload;
+
+    private byte[] responseBytes;
+
+    @Setup
+    public void setUp() {
+        responseBytes = ("clear".equals(payload) ? CLEAR_RESPONSE : STORM_RESPONSE).getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public WeatherData streaming() {
+        return WeatherResponseParser.parse(responseBytes);
+    }
+
+    @Benchmark
+    public WeatherData jsonSimpleTree() throws ParseException {
+        // 응답 본문을 String으로 읽던 기존 경로와 동일하게 디코딩부터 포함
+        JSONObject jsonObject = (JSONObject) new JSONParser().parse(new String(responseBytes, UTF_8));
+        Map<String, Object> resultMap = new HashMap<>();
+        JSONObject mainData = (JSONObject) jsonObject.get("main");
+        resultMap.put("temp", mainData.get("temp"));
+        JSONObject weatherData = (JSONObject) ((JSONArray) jsonObject.get("weather")).get(0);
+        resultMap.put("main", weatherData.get("main"));
+        resultMap.put("icon", weatherData.get("icon"));
+        return new WeatherData(resultMap.get("main").toString(), resultMap.get("icon").toString(),
+                ((Number) resultMap.get("temp")).doubleValue());
+    }
+}
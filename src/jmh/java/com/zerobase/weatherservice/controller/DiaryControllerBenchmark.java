@@ -0,0 +1,87 @@
+package com.zerobase.weatherservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.weatherservice.BenchmarkFixtures;
+import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.DiaryVersion;
+import com.zerobase.weatherservice.dto.VersionedDiaries;
+import com.zerobase.weatherservice.service.DiaryService;
+import org.mockito.stubbing.Answer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 요청 바인딩부터 응답 직렬화까지 DiaryController를 거치는 전체 비용 (DB 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiaryControllerBenchmark {
+    @Param({"10", "1000"})
+    private int rows;
+
+    private static final DiaryVersion VERSION = new DiaryVersion(1, LocalDateTime.of(2020, 1, 1, 0, 0));
+
+    private MockMvc mvc;
+
+    @Setup
+    public void setUp() {
+        List<DiaryDto> diaryDtos = BenchmarkFixtures.diaries(rows).stream()
+                .map(DiaryDto::fromEntity).collect(Collectors.toList());
+        // 호출 기록을 남기지 않아 반복 측정 중에도 메모리가 늘어나지 않음
+        DiaryService diaryService = mock(DiaryService.class, withSettings().stubOnly());
+        given(diaryService.readDiary(any(), any())).willAnswer(versioned(diaryDtos.subList(0, Math.min(3, rows))));
+        given(diaryService.readDiaries(any(), any(), any())).willAnswer(versioned(diaryDtos));
+        mvc = MockMvcBuilders.standaloneSetup(new DiaryController(diaryService, new ObjectMapper())).build();
+    }
+
+    @Benchmark
+    public MvcResult readDiary() throws Exception {
+        return mvc.perform(get("/read/diary")
+                        .queryParam("date", LocalDate.of(2020, 1, 1).toString()))
+                .andReturn();
+    }
+
+    /**
+     * If-None-Match가 일치하여 조회와 직렬화 없이 304를 반환하는 경우
+     */
+    @Benchmark
+    public MvcResult readDiariesNotModified() throws Exception {
+        return mvc.perform(get("/read/diaries")
+                        .queryParam("startDate", LocalDate.of(2020, 1, 1).toString())
+                        .queryParam("endDate", LocalDate.of(2120, 1, 1).toString())
+                        .header("If-None-Match", VERSION.etag()))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult readDiaries() throws Exception {
+        return mvc.perform(get("/read/diaries")
+                        .queryParam("startDate", LocalDate.of(2020, 1, 1).toString())
+                        .queryParam("endDate", LocalDate.of(2120, 1, 1).toString()))
+                .andReturn();
+    }
+
+    private static Answer<VersionedDiaries> versioned(List<DiaryDto> diaries) {
+        return invocation -> {
+            Predicate<DiaryVersion> notModified = invocation.getArgument(invocation.getArguments().length - 1);
+            return notModified.test(VERSION) ? VersionedDiaries.notModified(VERSION)
+                    : new VersionedDiaries(VERSION, diaries);
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.zerobase.weatherservice.dto;
+
+import com.zerobase.weatherservice.BenchmarkFixtures;
+import com.zerobase.weatherservice.domain.Diary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * DiaryService.readDiaries의 Entity -> DiaryDto 매핑 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiaryDtoMappingBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int rows;
+
+    private List<Diary> diaries;
+
+    @Setup
+    public void setUp() {
+        diaries = BenchmarkFixtures.diaries(rows);
+    }
+
+    @Benchmark
+    public void fromEntity(Blackhole blackhole) {
+        for (Diary diary : diaries) {
+            blackhole.consume(DiaryDto.fromEntity(diary));
+        }
+    }
+
+    @Benchmark
+    public List<DiaryDto> readDiariesMapping() {
+        return diaries.stream()
+                .map(DiaryDto::fromEntity).collect(Collectors.toList());
+    }
+}
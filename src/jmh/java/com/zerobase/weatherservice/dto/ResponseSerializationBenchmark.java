@@ -0,0 +1,79 @@
+package com.zerobase.weatherservice.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.zerobase.weatherservice.BenchmarkFixtures;
+import com.zerobase.weatherservice.dto.response.Response;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * /read/diaries 응답(Response<List<DiaryDto>>)과 /read/diaries/columns 응답(Response<DiaryColumns>)의
+ * 형식별 직렬화 비용 (열 형식은 변환 비용 포함, 응답 크기는 결과의 bytes 열)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+    public enum Format {
+        JSON(JsonFactory::new), CBOR(CBORFactory::new), SMILE(SmileFactory::new);
+
+        private final Supplier<JsonFactory> factory;
+
+        Format(Supplier<JsonFactory> factory) {
+            this.factory = factory;
+        }
+    }
+
+    public enum Layout {
+        ROWS, COLUMNS
+    }
+
+    /**
+     * 응답 크기 (매 호출의 크기가 같으므로 합하지 않고 마지막 크기를 기록)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResponseSize {
+        public long bytes;
+    }
+
+    @Param({"10", "1000", "100000"})
+    private int rows;
+    @Param({"JSON", "CBOR", "SMILE"})
+    private Format format;
+    @Param({"ROWS", "COLUMNS"})
+    private Layout layout;
+
+    private ObjectWriter objectWriter;
+    private List<DiaryDto> diaryDtos;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot의 기본 ObjectMapper와 같은 설정
+        objectWriter = Jackson2ObjectMapperBuilder.json()
+                .factory(format.factory.get())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        diaryDtos = BenchmarkFixtures.diaries(rows).stream()
+                .map(DiaryDto::fromEntity).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serialize(ResponseSize responseSize) throws JsonProcessingException {
+        byte[] body = objectWriter.writeValueAsBytes(
+                Response.success(layout == Layout.ROWS ? diaryDtos : DiaryColumns.from(diaryDtos)));
+        responseSize.bytes = body.length;
+        return body;
+    }
+}
@@ -0,0 +1,69 @@
+package com.zerobase.weatherservice.repository;
+
+import com.zerobase.weatherservice.BenchmarkContext;
+import com.zerobase.weatherservice.domain.Diary;
+import com.zerobase.weatherservice.dto.DiaryDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 1,000,000건의 다이어리 중 10,000건(기간 조회)을 읽는 비용 비교 (점수 = 초당 읽은 행 수)
+ * - entity: 기존 방식 (Entity 조회 후 DiaryDto.fromEntity)
+ * - projection: DiaryRepository의 생성자 표현식 조회
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(DiaryReadBenchmark.ROWS_PER_READ)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DiaryReadBenchmark {
+    static final int ROWS_PER_READ = 10_000;
+    private static final int TABLE_ROWS = 1_000_000;
+    // BenchmarkFixtures는 하루에 3건씩 생성
+    private static final LocalDate START_DATE = LocalDate.of(2020, 1, 1).plusDays(TABLE_ROWS / 3 / 2);
+    private static final LocalDate END_DATE = START_DATE.plusDays(ROWS_PER_READ / 3 - 1);
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private EntityManager entityManager;
+    private DiaryRepository diaryRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("diary-read");
+        BenchmarkContext.insertDiaries(context, TABLE_ROWS);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        entityManager = context.getBean(EntityManager.class);
+        diaryRepository = context.getBean(DiaryRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DiaryDto> entity() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select d from Diary d where d.date between :startDate and :endDate", Diary.class)
+                .setParameter("startDate", START_DATE)
+                .setParameter("endDate", END_DATE)
+                .getResultStream()
+                .map(DiaryDto::fromEntity).collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<DiaryDto> projection() {
+        return readOnlyTransaction.execute(status -> diaryRepository.findDtoByDateBetween(START_DATE, END_DATE));
+    }
+}
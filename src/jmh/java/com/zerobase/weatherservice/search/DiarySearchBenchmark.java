@@ -0,0 +1,69 @@
+package com.zerobase.weatherservice.search;
+
+import com.zerobase.weatherservice.BenchmarkContext;
+import com.zerobase.weatherservice.BenchmarkFixtures;
+import com.zerobase.weatherservice.dto.DiaryCursor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다이어리 본문 검색으로 첫 페이지(20건)를 찾는 비용 비교 (점수 = 요청당 평균 시간)
+ * - like: text LIKE '%단어%' 로 (date, id) 순서로 읽으며 20건을 찾을 때까지 (없다면 테이블 전체를) 비교
+ * - index: DiarySearchIndex (Nori 형태소 분석 + 역색인)
+ * - common: 8건 중 1건에 나오는 "공원", rare: 1000건 중 1건에만 나오는 "벚꽃", missing: 어디에도 없는 "눈사람"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DiarySearchBenchmark {
+    private static final int LIMIT = 20;
+
+    @Param({"1000000"})
+    private int diaries;
+
+    // 한글 파라미터는 포크된 JVM으로 전달되며 깨질 수 있으므로 이름으로 전달
+    @Param({"common", "rare", "missing"})
+    private String frequency;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private DiarySearchIndex diarySearchIndex;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("search");
+        query = switch (frequency) {
+            case "common" -> "공원";
+            case "rare" -> "벚꽃";
+            default -> "눈사람";
+        };
+        BenchmarkContext.insertDiaries(context, diaries, BenchmarkFixtures::diaryText);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        diarySearchIndex = context.getBean(DiarySearchIndex.class);
+        diarySearchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Integer> like() {
+        return jdbcTemplate.queryForList("select d.id from diary d join diary_body b on b.id = d.id"
+                        + " where b.text like ? order by d.date, d.id limit ?",
+                Integer.class, "%" + query + "%", LIMIT);
+    }
+
+    @Benchmark
+    public List<DiaryCursor> index() {
+        return diarySearchIndex.search(query, null, null, null, LIMIT);
+    }
+}
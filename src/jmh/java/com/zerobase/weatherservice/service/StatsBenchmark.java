@@ -0,0 +1,91 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.BenchmarkContext;
+import com.zerobase.weatherservice.BenchmarkFixtures;
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.StatsPeriod;
+import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.WeatherStatsDto;
+import com.zerobase.weatherservice.repository.DateWeatherRepository;
+import com.zerobase.weatherservice.repository.DiaryRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10년 기간의 월별 통계를 계산하는 비용 비교 (점수 = 요청당 평균 시간)
+ * - scan: 기간 내 다이어리, 날씨 정보를 모두 읽어 월별로 합산
+ * - rollup: StatsService (MONTH 롤업 + 양 끝의 DAY 롤업)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StatsBenchmark {
+    // BenchmarkFixtures는 2020-01-01부터 하루에 다이어리 3건, 도시별 날씨 1건씩 생성 (20년)
+    private static final int DAYS = 7305;
+    private static final List<String> CITIES = List.of("seoul", "busan", "incheon");
+    private static final LocalDate START_DATE = LocalDate.of(2025, 1, 15);
+    private static final LocalDate END_DATE = LocalDate.of(2035, 1, 14);
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private DiaryRepository diaryRepository;
+    private DateWeatherRepository dateWeatherRepository;
+    private StatsService statsService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("stats");
+        BenchmarkContext.insertDiaries(context, DAYS * 3);
+        CITIES.forEach(city -> BenchmarkContext.insertDateWeathers(context, BenchmarkFixtures.dateWeathers(city, DAYS)));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        diaryRepository = context.getBean(DiaryRepository.class);
+        dateWeatherRepository = context.getBean(DateWeatherRepository.class);
+        statsService = context.getBean(StatsService.class);
+        statsService.rebuild(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 1).plusDays(DAYS - 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<LocalDate, double[]> scan() {
+        return readOnlyTransaction.execute(status -> {
+            // 월별 [다이어리 수, 날씨 일수, 기온 합, 최저, 최고]
+            Map<LocalDate, double[]> months = new TreeMap<>();
+            for (DiaryDto diaryDto : diaryRepository.findDtoByDateBetween(START_DATE, END_DATE)) {
+                months.computeIfAbsent(StatsPeriod.MONTH.start(diaryDto.date()), StatsBenchmark::emptyMonth)[0]++;
+            }
+            for (DateWeather dateWeather : dateWeatherRepository.findAllByDateBetween(START_DATE, END_DATE)) {
+                double[] month = months.computeIfAbsent(StatsPeriod.MONTH.start(dateWeather.getDate()),
+                        StatsBenchmark::emptyMonth);
+                month[1]++;
+                month[2] += dateWeather.getTemperature();
+                month[3] = Math.min(month[3], dateWeather.getTemperature());
+                month[4] = Math.max(month[4], dateWeather.getTemperature());
+            }
+            return months;
+        });
+    }
+
+    @Benchmark
+    public WeatherStatsDto rollup() {
+        return statsService.getStats(START_DATE, END_DATE, StatsPeriod.MONTH, null);
+    }
+
+    private static double[] emptyMonth(LocalDate month) {
+        return new double[]{0, 0, 0, Double.MAX_VALUE, -Double.MAX_VALUE};
+    }
+}
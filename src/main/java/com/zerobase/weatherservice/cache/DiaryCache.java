@@ -0,0 +1,136 @@
+package com.zerobase.weatherservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.property.DiaryCacheProperties;
+import com.zerobase.weatherservice.event.DiaryChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 날짜별 다이어리 목록 캐시
+ * - 다이어리의 추정 메모리 크기로 용량을 제한하며, 다이어리가 없는 날짜도 빈 목록으로 캐시
+ * - 다이어리가 변경된 트랜잭션이 커밋된 후에 DiaryCacheInvalidationChannel로 모든 인스턴스의 해당 날짜를 무효화
+ * - 조회 전에 읽은 날짜별 버전과 함께 캐시하고 버전이 다르면 다시 조회하므로,
+ *   무효화 메시지가 도착하기 전이나 조회 중에 변경되더라도 이전 다이어리를 새 버전으로 반환하지 않음
+ * - hit/miss/eviction/size는 cache.* 메트릭(name=diary)으로, 적중률과 추정 크기는 cache.hit.ratio, cache.weight로 노출
+ */
+@Component
+public class DiaryCache {
+    private static final String CACHE_NAME = "diary";
+    private static final int ENTRY_BYTES = 96;
+    private static final int DIARY_BYTES = 160;
+
+    private final Cache<LocalDate, Entry> cache;
+    private final DiaryCacheInvalidationChannel invalidationChannel;
+    private final int maxRangeDays;
+
+    public DiaryCache(DiaryCacheProperties properties, MeterRegistry meterRegistry,
+                      DiaryCacheInvalidationChannel invalidationChannel) {
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumWeight(properties.maximumSize().toBytes())
+                .weigher(DiaryCache::weigh)
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build(), CACHE_NAME);
+        this.invalidationChannel = invalidationChannel;
+        this.maxRangeDays = properties.maxRangeDays();
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.weight", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        invalidationChannel.subscribe(this::invalidate);
+    }
+
+    /**
+     * 날짜별 캐시로 조립할 수 있는 기간인지 확인
+     */
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        return !endDate.isBefore(startDate) && ChronoUnit.DAYS.between(startDate, endDate) < maxRangeDays;
+    }
+
+    /**
+     * startDate ~ endDate 기간의 다이어리를 (날짜, id) 순서로 반환
+     * 캐시에 없거나 버전이 다른 날짜만 loader로 한 번에 조회하여 캐시
+     * @param versions 조회 전에 읽은 날짜별 버전 (없는 날짜는 0)
+     * @param loader 날짜 목록의 다이어리를 날짜별로 (id 순서로) 조회하는 함수
+     */
+    public List<DiaryDto> getAll(LocalDate startDate, LocalDate endDate, Map<LocalDate, Long> versions,
+                                 Function<Collection<LocalDate>, Map<LocalDate, List<DiaryDto>>> loader) {
+        List<LocalDate> dates = startDate.datesUntil(endDate.plusDays(1)).toList();
+        Map<LocalDate, List<DiaryDto>> diaries = new HashMap<>();
+        cache.getAllPresent(dates).forEach((date, entry) -> {
+            if (entry.version() == versions.getOrDefault(date, 0L)) {
+                diaries.put(date, entry.diaries());
+            }
+        });
+        List<LocalDate> missingDates = dates.stream()
+                .filter(date -> !diaries.containsKey(date))
+                .toList();
+        if (!missingDates.isEmpty()) {
+            Map<LocalDate, List<DiaryDto>> loaded = loader.apply(missingDates);
+            for (LocalDate date : missingDates) {
+                List<DiaryDto> dateDiaries = List.copyOf(loaded.getOrDefault(date, List.of()));
+                cache.put(date, new Entry(versions.getOrDefault(date, 0L), dateDiaries));
+                diaries.put(date, dateDiaries);
+            }
+        }
+        List<DiaryDto> result = new ArrayList<>();
+        dates.forEach(date -> result.addAll(diaries.get(date)));
+        return result;
+    }
+
+    /**
+     * 다이어리를 변경한 트랜잭션이 커밋된 후에 모든 인스턴스로 무효화 메시지를 발행 (롤백되었다면 발행하지 않음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        invalidationChannel.publish(event);
+    }
+
+    /**
+     * 해당 기간의 캐시를 무효화
+     */
+    public void invalidate(DiaryChangedEvent event) {
+        if (event.startDate().equals(event.endDate())) {
+            cache.invalidate(event.startDate());
+        } else {
+            cache.asMap().keySet().removeIf(event::contains);
+        }
+    }
+
+    private static int weigh(LocalDate date, Entry entry) {
+        int weight = ENTRY_BYTES;
+        for (DiaryDto diaryDto : entry.diaries()) {
+            weight += DIARY_BYTES + 2 * (length(diaryDto.city()) + length(diaryDto.weather())
+                    + length(diaryDto.icon()) + length(diaryDto.text()));
+        }
+        return weight;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private record Entry(long version, List<DiaryDto> diaries) {
+    }
+}
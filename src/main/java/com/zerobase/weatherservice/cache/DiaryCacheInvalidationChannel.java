@@ -0,0 +1,15 @@
+package com.zerobase.weatherservice.cache;
+
+import com.zerobase.weatherservice.event.DiaryChangedEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * 다이어리 캐시 무효화 메시지를 모든 인스턴스에 전달하는 채널
+ * 메시지를 발행한 인스턴스의 구독자에게도 전달해야 함
+ */
+public interface DiaryCacheInvalidationChannel {
+    void publish(DiaryChangedEvent event);
+
+    void subscribe(Consumer<DiaryChangedEvent> subscriber);
+}
@@ -0,0 +1,24 @@
+package com.zerobase.weatherservice.cache;
+
+import com.zerobase.weatherservice.event.DiaryChangedEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 같은 JVM 안의 구독자에게만 전달하는 채널 (단일 인스턴스, 테스트용)
+ */
+public class InMemoryDiaryCacheInvalidationChannel implements DiaryCacheInvalidationChannel {
+    private final List<Consumer<DiaryChangedEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(DiaryChangedEvent event) {
+        subscribers.forEach(subscriber -> subscriber.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<DiaryChangedEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
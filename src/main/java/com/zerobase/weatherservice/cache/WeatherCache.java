@@ -0,0 +1,62 @@
+package com.zerobase.weatherservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.DateWeatherId;
+import com.zerobase.weatherservice.dto.property.WeatherCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * (도시, 날짜)별 날씨 정보 캐시
+ * 같은 도시와 날짜에 대한 동시 요청은 하나의 로딩 결과를 공유 (single-flight)
+ * hit/miss/load 시간은 cache.* 메트릭(name=weather)으로 노출
+ */
+@Component
+public class WeatherCache {
+    private static final String CACHE_NAME = "weather";
+    private final AsyncCache<DateWeatherId, DateWeather> cache;
+
+    public WeatherCache(WeatherCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .buildAsync(), CACHE_NAME);
+    }
+
+    /**
+     * 캐시에 없다면 loader로 조회하며, 로딩 중인 키는 진행 중인 결과를 공유 (호출한 스레드에서 기다리지 않음)
+     * 로딩에 실패한 결과는 캐시에 남지 않음
+     * @param loader 캐시 miss 시 날씨 정보를 비동기로 가져오는 함수
+     */
+    public CompletableFuture<DateWeather> getAsync(DateWeatherId id,
+                                                   Function<DateWeatherId, CompletableFuture<DateWeather>> loader) {
+        return cache.get(id, (key, executor) -> loader.apply(key));
+    }
+
+    /**
+     * getAsync의 결과를 호출한 스레드에서 기다림 (동기 호출용)
+     * @param loader 캐시 miss 시 날씨 정보를 비동기로 가져오는 함수
+     */
+    public DateWeather get(DateWeatherId id, Function<DateWeatherId, CompletableFuture<DateWeather>> loader) {
+        try {
+            return getAsync(id, loader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void put(DateWeather dateWeather) {
+        cache.put(dateWeather.getId(), CompletableFuture.completedFuture(dateWeather));
+    }
+}
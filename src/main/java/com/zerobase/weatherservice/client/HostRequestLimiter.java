@@ -0,0 +1,106 @@
+package com.zerobase.weatherservice.client;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 하나의 API 호스트로 보내는 요청의 동시 실행 수와 초당 요청 수를 제한
+ * 초당 요청 수는 요청 사이의 간격을 일정하게 벌리는 방식으로 제한하여 순간적인 몰림을 막음
+ * 호출한 스레드에서 대기하지 않고 요청을 보낼 수 있을 때 완료되는 future를 반환
+ * - 동시 실행 허용은 먼저 기다린 순서대로 넘겨줌
+ * - 요청 시각은 예약한 뒤 CompletableFuture.delayedExecutor로 그 시각에 완료
+ */
+class HostRequestLimiter {
+    private final long intervalNanos;
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int availablePermits;
+    private long nextRequestAt = System.nanoTime();
+
+    HostRequestLimiter(int maxConcurrentRequests, int requestsPerSecond) {
+        this.availablePermits = maxConcurrentRequests;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+    }
+
+    /**
+     * 동시 실행 허용을 받고 예약한 요청 시각이 되면 완료되는 future를 반환
+     * 완료되었다면 요청이 끝난 후 반드시 release를 호출해야 함
+     * @param timeout 요청을 보낼 수 있을 때까지 기다리는 최대 시간
+     * @return timeout 내에 동시 실행 허용을 받지 못했거나, 예약할 요청 시각이 timeout보다 멀다면
+     *         TimeoutException으로 실패하는 future (요청 시각은 예약하지 않고 바로 실패)
+     */
+    CompletableFuture<Void> acquire(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        return acquirePermit(timeout).thenCompose(ignored -> {
+            long waitNanos = reserveNextSlot(deadline);
+            if (waitNanos < 0) {
+                release();
+                return CompletableFuture.failedFuture(new TimeoutException("요청 간격 대기가 " + timeout + "을 넘습니다."));
+            }
+            if (waitNanos == 0) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return CompletableFuture.runAsync(() -> {
+            }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * 기다리는 요청이 있다면 동시 실행 허용을 넘겨줌
+     */
+    void release() {
+        while (true) {
+            CompletableFuture<Void> waiter;
+            synchronized (this) {
+                waiter = waiters.poll();
+                if (waiter == null) {
+                    availablePermits++;
+                    return;
+                }
+            }
+            // 락 밖에서 완료하여 후속 작업을 락을 잡은 채로 실행하지 않으며, 이미 제한 시간이 지난 요청은 건너뜀
+            if (waiter.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<Void> acquirePermit(Duration timeout) {
+        CompletableFuture<Void> waiter;
+        synchronized (this) {
+            if (availablePermits > 0) {
+                availablePermits--;
+                return CompletableFuture.completedFuture(null);
+            }
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+        }
+        return waiter.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        removeWaiter(waiter);
+                    }
+                });
+    }
+
+    private synchronized void removeWaiter(CompletableFuture<Void> waiter) {
+        waiters.remove(waiter);
+    }
+
+    /**
+     * 다음 요청 시각을 예약
+     * @return 예약한 시각까지 기다릴 시간 (deadline보다 멀다면 예약하지 않고 -1)
+     */
+    private synchronized long reserveNextSlot(long deadline) {
+        long now = System.nanoTime();
+        long slot = Math.max(nextRequestAt, now);
+        if (slot - deadline > 0) {
+            return -1;
+        }
+        nextRequestAt = slot + intervalNanos;
+        return slot - now;
+    }
+}
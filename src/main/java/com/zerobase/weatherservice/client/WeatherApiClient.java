@@ -0,0 +1,161 @@
+package com.zerobase.weatherservice.client;
+
+import com.zerobase.weatherservice.dto.property.ApiProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.FAILED_GET_FROM_API;
+import static com.zerobase.weatherservice.exception.ErrorCode.WEATHER_API_UNAVAILABLE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * openweathermap API 클라이언트
+ * 커넥션은 HttpClient 내부 풀에서 keep-alive로 재사용
+ * - connectTimeout: 커넥션 수립 제한 시간
+ * - readTimeout: 요청 후 응답 헤더를 받기까지의 제한 시간
+ * - totalTimeout: 응답 본문까지 모두 받기까지의 제한 시간
+ * 호스트로 보내는 요청은 maxConcurrentRequests, requestsPerSecond로 제한되며
+ * 제한에 걸린 요청은 호출한 스레드를 막지 않고 허용된 뒤에 보냄
+ * totalTimeout 안에 보낼 수 없는 요청은 기다리지 않고 WEATHER_API_UNAVAILABLE로 실패
+ * - weather.api.requests{endpoint, outcome, status}: 요청을 보낸 후 응답 본문까지 받는 시간
+ * - weather.api.limiter.wait{endpoint}: 요청 제한으로 대기한 시간
+ */
+@Slf4j
+@Component
+public class WeatherApiClient {
+    private static final int MAX_LOGGED_BODY_LENGTH = 200;
+    private static final String CURRENT = "current";
+    private static final String HISTORY = "history";
+    private final ApiProperties apiProperties;
+    private final HttpClient httpClient;
+    private final HostRequestLimiter requestLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public WeatherApiClient(ApiProperties apiProperties, MeterRegistry meterRegistry) {
+        this.apiProperties = apiProperties;
+        this.meterRegistry = meterRegistry;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(apiProperties.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.requestLimiter = new HostRequestLimiter(
+                apiProperties.maxConcurrentRequests(), apiProperties.requestsPerSecond());
+    }
+
+    /**
+     * 특정 도시의 현재 날씨 정보를 요청
+     * 200이 아닌 응답, 타임아웃, 네트워크 오류는 모두 FAILED_GET_FROM_API로 실패한 future를 반환
+     * 요청 제한으로 totalTimeout 안에 보낼 수 없다면 WEATHER_API_UNAVAILABLE로 실패한 future를 반환
+     */
+    public CompletableFuture<byte[]> fetchCurrentWeather(String city) {
+        return fetch(CURRENT, city, URI.create(apiProperties.baseUrl() + "/weather?q=" + URLEncoder.encode(city, UTF_8)
+                + "&appid=" + apiProperties.key()));
+    }
+
+    /**
+     * 특정 도시의 과거 날짜 정오(시스템 시간대 기준) 날씨 정보를 요청
+     * 실패 처리는 fetchCurrentWeather와 같음
+     */
+    public CompletableFuture<byte[]> fetchHistoricalWeather(String city, LocalDate date) {
+        long start = date.atTime(LocalTime.NOON).atZone(ZoneId.systemDefault()).toEpochSecond();
+        return fetch(HISTORY, city, URI.create(apiProperties.historyBaseUrl() + "/history/city?q=" + URLEncoder.encode(city, UTF_8)
+                + "&type=hour&start=" + start + "&cnt=1&appid=" + apiProperties.key()));
+    }
+
+    private CompletableFuture<byte[]> fetch(String endpoint, String city, URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(apiProperties.readTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        Timer.Sample waitSample = Timer.start(meterRegistry);
+        return requestLimiter.acquire(apiProperties.totalTimeout())
+                .handle((ignored, throwable) -> {
+                    waitSample.stop(meterRegistry.timer("weather.api.limiter.wait", "endpoint", endpoint));
+                    if (throwable != null) {
+                        log.error("[{}] 요청 제한으로 날씨 정보 요청에 실패했습니다. ({})", city, unwrap(throwable).toString());
+                        throw new DiaryException(WEATHER_API_UNAVAILABLE, unwrap(throwable));
+                    }
+                    return request;
+                })
+                .thenCompose(acquired -> send(endpoint, city, acquired));
+    }
+
+    /**
+     * 요청 허용을 받은 뒤 요청을 보내고, 응답을 받거나 실패하면 허용을 반납
+     */
+    private CompletableFuture<byte[]> send(String endpoint, String city, HttpRequest request) {
+        Timer.Sample requestSample = Timer.start(meterRegistry);
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response
+                .orTimeout(apiProperties.totalTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((received, throwable) -> {
+                    requestLimiter.release();
+                    requestSample.stop(requestTimer(endpoint, received, throwable));
+                })
+                .handle((received, throwable) -> {
+                    if (throwable != null) {
+                        Exception cause = unwrap(throwable);
+                        log.error("[{}] 날씨 정보 요청에 실패했습니다. ({})", city, cause.toString());
+                        throw new DiaryException(FAILED_GET_FROM_API, cause);
+                    }
+                    if (received.statusCode() != 200) {
+                        log.error("[{}] 날씨 정보 요청에 실패했습니다. status: {}", city, received.statusCode());
+                        String body = abbreviate(new String(received.body(), UTF_8));
+                        throw new DiaryException(FAILED_GET_FROM_API, new WeatherApiException(received.statusCode(), body));
+                    }
+                    return received.body();
+                });
+    }
+
+    private Timer requestTimer(String endpoint, HttpResponse<byte[]> response, Throwable throwable) {
+        String outcome;
+        if (throwable != null) {
+            outcome = unwrap(throwable) instanceof TimeoutException ? "TIMEOUT" : "IO_ERROR";
+        } else {
+            HttpStatus.Series series = HttpStatus.Series.resolve(response.statusCode());
+            outcome = series == HttpStatus.Series.SUCCESSFUL ? "SUCCESS"
+                    : series == HttpStatus.Series.CLIENT_ERROR ? "CLIENT_ERROR" : "SERVER_ERROR";
+        }
+        return Timer.builder("weather.api.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .tag("status", response == null ? "NONE" : String.valueOf(response.statusCode()))
+                .register(meterRegistry);
+    }
+
+    private static Exception unwrap(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        return cause instanceof Exception exception ? exception : new RuntimeException(cause);
+    }
+
+    private static String abbreviate(String body) {
+        if (body == null || body.length() <= MAX_LOGGED_BODY_LENGTH) {
+            return body;
+        }
+        return body.substring(0, MAX_LOGGED_BODY_LENGTH) + "...";
+    }
+}
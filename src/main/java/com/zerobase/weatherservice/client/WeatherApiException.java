@@ -0,0 +1,16 @@
+package com.zerobase.weatherservice.client;
+
+import lombok.Getter;
+
+/**
+ * openweathermap API가 200이 아닌 응답을 준 경우
+ */
+@Getter
+public class WeatherApiException extends RuntimeException {
+    private final int statusCode;
+
+    public WeatherApiException(int statusCode, String body) {
+        super("status=" + statusCode + ", body=" + body);
+        this.statusCode = statusCode;
+    }
+}
@@ -0,0 +1,151 @@
+package com.zerobase.weatherservice.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.zerobase.weatherservice.dto.WeatherData;
+import com.zerobase.weatherservice.exception.DiaryException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.FAILED_PARSING_JSON;
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_EXIST_DATA;
+
+/**
+ * openweathermap API Response에서 main.temp, weather[0].main, weather[0].icon만 읽는 pull 방식 파서
+ * 나머지 값은 객체로 만들지 않고 건너뛰며, 필요한 값을 모두 읽으면 나머지 본문은 읽지 않음
+ * 과거 날씨(history) Response는 list[0]에서 같은 값을 읽음
+ */
+@Slf4j
+public final class WeatherResponseParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private WeatherResponseParser() {
+    }
+
+    /**
+     * @param body openweathermap API로부터 받은 Response
+     * @throws DiaryException
+     */
+    public static WeatherData parse(byte[] body) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JSON 객체가 아닙니다.");
+            }
+            return readWeatherData(parser);
+        } catch (IOException e) {
+            log.error("날씨 정보 Response를 파싱하는데 실패했습니다. ({})", e.getMessage());
+            throw new DiaryException(FAILED_PARSING_JSON, e);
+        }
+    }
+
+    /**
+     * @param body openweathermap history API로부터 받은 Response
+     * @throws DiaryException
+     */
+    public static WeatherData parseHistory(byte[] body) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JSON 객체가 아닙니다.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("list".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                    if (parser.nextToken() == JsonToken.START_OBJECT) {
+                        return readWeatherData(parser);
+                    }
+                    break;
+                }
+                parser.skipChildren();
+            }
+            log.error("과거 weather 정보가 없습니다.");
+            throw new DiaryException(NOT_EXIST_DATA);
+        } catch (IOException e) {
+            log.error("과거 날씨 정보 Response를 파싱하는데 실패했습니다. ({})", e.getMessage());
+            throw new DiaryException(FAILED_PARSING_JSON, e);
+        }
+    }
+
+    /**
+     * 현재 객체에서 main.temp, weather[0]을 읽음
+     */
+    private static WeatherData readWeatherData(JsonParser parser) throws IOException {
+        Double temperature = null;
+        Weather weather = null;
+        while ((temperature == null || weather == null) && parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("main".equals(fieldName) && token == JsonToken.START_OBJECT) {
+                temperature = readTemperature(parser);
+            } else if ("weather".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                weather = readFirstWeather(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (temperature == null || weather == null) {
+            log.error("weather 정보가 없습니다.");
+            throw new DiaryException(NOT_EXIST_DATA);
+        }
+        return new WeatherData(weather.main(), weather.icon(), temperature);
+    }
+
+    /**
+     * main 객체에서 temp 값을 읽음 (정수/실수 모두 허용)
+     */
+    private static Double readTemperature(JsonParser parser) throws IOException {
+        Double temperature = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("temp".equals(fieldName) && token.isNumeric()) {
+                temperature = parser.getDoubleValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return temperature;
+    }
+
+    /**
+     * weather 배열의 첫번째 객체에서 main, icon 값을 읽고 나머지 원소는 건너뜀
+     * @return 배열이 비어있다면 null
+     */
+    private static Weather readFirstWeather(JsonParser parser) throws IOException {
+        Weather weather = null;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("weather 배열이 끝나지 않았습니다.");
+            }
+            if (weather == null && token == JsonToken.START_OBJECT) {
+                weather = readWeather(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return weather;
+    }
+
+    private static Weather readWeather(JsonParser parser) throws IOException {
+        String main = null;
+        String icon = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            if ("main".equals(fieldName)) {
+                main = parser.getValueAsString();
+            } else if ("icon".equals(fieldName)) {
+                icon = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return main == null || icon == null ? null : new Weather(main, icon);
+    }
+
+    private record Weather(String main, String icon) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.zerobase.weatherservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 다이어리 조회 API의 Accept에 따라 JSON 대신 CBOR(application/cbor), Smile(application/x-jackson-smile)로 응답
+ * - Spring MVC의 기본 CBOR, Smile 컨버터는 날짜를 배열로 쓰므로 JSON과 같은 설정(Spring Boot의 Jackson2ObjectMapperBuilder)으로 교체
+ * - 같은 URL이 Accept에 따라 다른 표현으로 응답하므로 Vary: Accept를 붙여 캐시가 표현별로 저장하도록 함
+ *   (ETag도 DiaryController에서 표현별 접미사를 붙여 구분)
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+    private static final String[] NEGOTIATED_PATHS = {"/read/diary", "/read/diary/detail", "/read/diaries",
+            "/read/diaries/columns", "/read/diaries/page", "/read/diaries/search"};
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                        return true;
+                    }
+                })
+                .addPathPatterns(NEGOTIATED_PATHS);
+    }
+}
@@ -0,0 +1,81 @@
+package com.zerobase.weatherservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import com.zerobase.weatherservice.datasource.ReadYourWritesFilter;
+import com.zerobase.weatherservice.datasource.ReplicationRoutingDataSource;
+import com.zerobase.weatherservice.dto.property.DataSourceRoutingProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * datasource.routing.enabled=true라면 spring.datasource를 primary로, datasource.routing.replicas를 복제 DB로 사용
+ * 커넥션 풀은 빈이 아니므로 hikaricp.* 메트릭은 여기서 등록 (pool=primary, replica-0, ...)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+    @Bean
+    public ReplicationRoutingDataSource replicationRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                     DataSourceRoutingProperties routingProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<DataSourceRoutingProperties.Replica> replicaProperties = routingProperties.replicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            DataSourceRoutingProperties.Replica replicaProperty = replicaProperties.get(i);
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replicaProperty.url())
+                    .username(replicaProperty.username())
+                    .password(replicaProperty.password())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicationRoutingDataSource(primary, replicas, routingProperties.healthCheckTimeout());
+    }
+
+    /**
+     * 트랜잭션이 시작될 때가 아니라 첫 쿼리를 실행할 때 커넥션을 받아야 readOnly 여부로 라우팅할 수 있음
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicationRoutingDataSource replicationRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicationRoutingDataSource);
+    }
+
+    /**
+     * MeterRegistry는 DataSource 빈에 의존하므로 풀을 만든 뒤에 메트릭 등록
+     */
+    @Bean
+    public MeterBinder replicationRoutingPoolMetrics(ReplicationRoutingDataSource replicationRoutingDataSource) {
+        return registry -> replicationRoutingDataSource.getTargetDataSources().forEach(dataSource -> {
+            HikariDataSource hikariDataSource = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+            if (hikariDataSource != null) {
+                hikariDataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        });
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(DataSourceRoutingProperties routingProperties) {
+        return new ReadYourWritesFilter(routingProperties.stickyWindow());
+    }
+}
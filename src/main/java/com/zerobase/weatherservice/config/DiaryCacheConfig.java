@@ -0,0 +1,20 @@
+package com.zerobase.weatherservice.config;
+
+import com.zerobase.weatherservice.cache.DiaryCacheInvalidationChannel;
+import com.zerobase.weatherservice.cache.InMemoryDiaryCacheInvalidationChannel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 여러 인스턴스를 실행한다면 diary.cache.invalidation-channel을 바꾸고
+ * 메시지 브로커를 사용하는 DiaryCacheInvalidationChannel 빈을 등록
+ */
+@Configuration
+public class DiaryCacheConfig {
+    @Bean
+    @ConditionalOnProperty(name = "diary.cache.invalidation-channel", havingValue = "in-memory", matchIfMissing = true)
+    public DiaryCacheInvalidationChannel inMemoryDiaryCacheInvalidationChannel() {
+        return new InMemoryDiaryCacheInvalidationChannel();
+    }
+}
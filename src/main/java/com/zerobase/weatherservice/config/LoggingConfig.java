@@ -0,0 +1,20 @@
+package com.zerobase.weatherservice.config;
+
+import com.zerobase.weatherservice.logging.CountingAsyncAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 로그 큐가 가득 차 버린 로그 수: logback.async.dropped 메트릭
+ */
+@Configuration
+public class LoggingConfig {
+    @Bean
+    public MeterBinder asyncLogDropMetrics() {
+        return registry -> FunctionCounter.builder("logback.async.dropped", CountingAsyncAppender.class,
+                        ignored -> CountingAsyncAppender.droppedCount())
+                .register(registry);
+    }
+}
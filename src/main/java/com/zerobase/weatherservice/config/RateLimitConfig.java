@@ -0,0 +1,33 @@
+package com.zerobase.weatherservice.config;
+
+import com.zerobase.weatherservice.dto.property.ConcurrencyLimitProperties;
+import com.zerobase.weatherservice.dto.property.RateLimitProperties;
+import com.zerobase.weatherservice.ratelimit.RateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 다이어리 API(/create, /read, /update, /delete 의 diary, diaries 경로)에 클라이언트별 요청 수 제한과
+ * 응답 시간에 따른 동시 처리 요청 수 제한을 적용
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties({RateLimitProperties.class, ConcurrencyLimitProperties.class})
+public class RateLimitConfig implements WebMvcConfigurer {
+    private static final String[] DIARY_PATHS = {"/create/diary/**", "/create/diaries/**", "/read/diary/**",
+            "/read/diaries/**", "/update/diary/**", "/delete/diary/**", "/delete/diaries/**"};
+
+    private final RateLimitProperties rateLimitProperties;
+    private final ConcurrencyLimitProperties concurrencyLimitProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimitProperties, concurrencyLimitProperties, meterRegistry))
+                .addPathPatterns(DIARY_PATHS);
+    }
+}
@@ -1,7 +1,19 @@
 package com.zerobase.weatherservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.weatherservice.dto.DiaryBulkCreateResult;
+import com.zerobase.weatherservice.dto.DiaryColumns;
+import com.zerobase.weatherservice.dto.DiaryCreateResult;
+import com.zerobase.weatherservice.dto.DiaryDeleteResult;
 import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.DiaryIndexResult;
+import com.zerobase.weatherservice.dto.DiaryPage;
+import com.zerobase.weatherservice.dto.DiaryVersion;
+import com.zerobase.weatherservice.dto.VersionedDiaries;
+import com.zerobase.weatherservice.dto.request.DiaryCreateRequest;
 import com.zerobase.weatherservice.dto.response.Response;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.ratelimit.RateLimitBudget;
 import com.zerobase.weatherservice.service.DiaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,54 +22,205 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_REQUEST;
+import static com.zerobase.weatherservice.exception.ErrorCode.REQUIRED_DIARY_VERSION;
+import static com.zerobase.weatherservice.ratelimit.RequestBudget.WEATHER_WRITE;
 
 @RestController
 @RequiredArgsConstructor
 public class DiaryController {
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final List<MediaType> PRODUCIBLE_TYPES =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+    private static final Map<MediaType, String> ETAG_SUFFIXES =
+            Map.of(MediaType.APPLICATION_CBOR, "-cbor", APPLICATION_SMILE, "-smile");
     private final DiaryService diaryService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "다이어리 추가", responses = {
+    @Operation(summary = "다이어리 추가", description = "본문을 저장하고 202와 다이어리 id를 반환합니다. 날씨는 비동기로 채우며(PENDING) 상세 조회로 확인합니다.", responses = {
             @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
     })
+    @RateLimitBudget(WEATHER_WRITE)
     @PostMapping(value = "/create/diary", produces = "application/json")
-    public Response<Void> createDiary(
+    public ResponseEntity<Response<DiaryCreateResult>> createDiary(
+            @RequestParam(required = false) @Parameter(name = "도시 (생략 시 기본 도시)", example = "seoul") String city,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestBody String text
     ) {
-        diaryService.createDiary(date, text);
-        return Response.success();
+        DiaryCreateResult result = diaryService.createDiary(city, date, text);
+        return ResponseEntity.accepted()
+                .location(URI.create("/read/diary/detail?id=" + result.id()))
+                .body(Response.success(result));
+    }
+
+    @Operation(summary = "다이어리 날씨 다시 채우기", description = "날씨 채우기에 실패한(FAILED) 다이어리의 날씨를 다시 비동기로 채웁니다.", responses = {
+            @ApiResponse(description = "Not Found", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Conflict", responseCode = "409", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @RateLimitBudget(WEATHER_WRITE)
+    @PostMapping(value = "/create/diary/weather/retry", produces = "application/json")
+    public ResponseEntity<Response<Void>> retryDiaryWeather(
+            @RequestParam @Parameter(name = "다이어리 id", example = "1") int id
+    ) {
+        diaryService.retryDiaryWeather(id);
+        return ResponseEntity.accepted()
+                .body(Response.success());
+    }
+
+    @Operation(summary = "다이어리 일괄 추가", description = "여러 날짜의 다이어리(최대 1000개)를 날씨 없이 한 번에 추가하고 항목별 성공/실패 결과를 반환합니다. 날씨는 비동기로 채웁니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @RateLimitBudget(WEATHER_WRITE)
+    @PostMapping(value = "/create/diaries", consumes = "application/json", produces = "application/json")
+    public Response<DiaryBulkCreateResult> createDiaries(
+            @RequestBody List<DiaryCreateRequest> requests
+    ) {
+        return Response.success(diaryService.createDiaries(requests));
     }
 
-    @Operation(summary = "특정 날짜의 다이어리 조회", responses = {
+    @Operation(summary = "특정 날짜의 다이어리 조회", description = "If-None-Match의 ETag가 같거나 If-Modified-Since 이후 변경되지 않았다면 304를 반환합니다.", responses = {
+            @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
             @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
     })
-    @GetMapping(value = "/read/diary", produces = "application/json")
+    @GetMapping(value = "/read/diary", produces = {"application/json", "application/cbor", "application/x-jackson-smile"})
     public Response<List<DiaryDto>> readDiary(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "날짜 형식: yyyy-MM-dd", example = "2024-01-05") LocalDate date
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "날짜 형식: yyyy-MM-dd", example = "2024-01-05") LocalDate date,
+            WebRequest request
+    ) {
+        VersionedDiaries result = diaryService.readDiary(date, version -> checkNotModified(request, version));
+        return result.isNotModified() ? null : Response.success(result.diaries());
+    }
+
+    @Operation(summary = "다이어리 상세 조회", description = "본문(text)을 포함한 다이어리를 조회합니다. 목록 조회는 본문을 포함하지 않습니다. ETag는 수정, 삭제 요청의 If-Match로 전달합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Not Found", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/read/diary/detail", produces = {"application/json", "application/cbor", "application/x-jackson-smile"})
+    public ResponseEntity<Response<DiaryDto>> readDiaryDetail(
+            @RequestParam @Parameter(name = "다이어리 id", example = "1") int id,
+            WebRequest request
     ) {
-        return Response.success(diaryService.readDiary(date));
+        DiaryDto diaryDto = diaryService.readDiaryDetail(id);
+        return ResponseEntity.ok()
+                .eTag(diaryDto.version() + etagSuffix(request))
+                .body(Response.success(diaryDto));
     }
 
-    @Operation(summary = "특정 기간 내의 다이어리 조회", description = "startDate ~ endDate 기간 내의 다이어리를 조회합니다.", responses = {
+    @Operation(summary = "특정 기간 내의 다이어리 조회", description = "startDate ~ endDate 기간 내의 다이어리를 조회합니다. If-None-Match의 ETag가 같거나 If-Modified-Since 이후 기간 내 다이어리가 변경되지 않았다면 304를 반환합니다.", responses = {
+            @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
             @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
     })
-    @GetMapping(value = "/read/diaries", produces = "application/json")
+    @GetMapping(value = "/read/diaries", produces = {"application/json", "application/cbor", "application/x-jackson-smile"})
     public Response<List<DiaryDto>> readDiaries (
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "첫 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "마지막 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate endDate,
+            WebRequest request
+    ) {
+        VersionedDiaries result = diaryService.readDiaries(startDate, endDate,
+                version -> checkNotModified(request, version));
+        return result.isNotModified() ? null : Response.success(result.diaries());
+    }
+
+    @Operation(summary = "특정 기간 내의 다이어리 열 형식 조회", description = "startDate ~ endDate 기간 내의 다이어리를 필드별 배열로 조회합니다. 도시, 날씨, 아이콘, 날씨 상태, 날짜는 사전(dictionary)과 인덱스(codes)로 반환합니다. 긴 기간을 조회할 때 사용합니다.", responses = {
+            @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/read/diaries/columns", produces = {"application/json", "application/cbor", "application/x-jackson-smile"})
+    public Response<DiaryColumns> readDiaryColumns(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "첫 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "마지막 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate endDate,
+            WebRequest request
+    ) {
+        VersionedDiaries result = diaryService.readDiaries(startDate, endDate,
+                version -> checkNotModified(request, version));
+        return result.isNotModified() ? null : Response.success(DiaryColumns.from(result.diaries()));
+    }
+
+    @Operation(summary = "특정 기간 내의 다이어리 페이지 조회", description = "startDate ~ endDate 기간 내의 다이어리를 (날짜, id) 순서로 size개씩 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 전달합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/read/diaries/page", produces = {"application/json", "application/cbor", "application/x-jackson-smile"})
+    public Response<DiaryPage> readDiaryPage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "첫 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "마지막 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(name = "이전 페이지의 nextCursor") String cursor,
+            @RequestParam(required = false) @Parameter(name = "페이지 크기 (최대 100)", example = "20") Integer size
+    ) {
+        return Response.success(diaryService.readDiaryPage(startDate, endDate, cursor, size));
+    }
+
+    @Operation(summary = "다이어리 본문 검색", description = "본문에 검색어의 모든 단어(조사, 어미 제외)가 포함된 다이어리를 (날짜, id) 순서로 size개씩 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 전달합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/read/diaries/search", produces = {"application/json", "application/cbor", "application/x-jackson-smile"})
+    public Response<DiaryPage> searchDiaries(
+            @RequestParam @Parameter(name = "검색어", example = "공원 산책") String query,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "첫 날 [날짜 형식: yyyy-MM-dd] (생략 시 제한 없음)", example = "2024-01-05") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "마지막 날 [날짜 형식: yyyy-MM-dd] (생략 시 제한 없음)", example = "2024-01-05") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(name = "이전 페이지의 nextCursor") String cursor,
+            @RequestParam(required = false) @Parameter(name = "페이지 크기 (최대 100)", example = "20") Integer size
+    ) {
+        return Response.success(diaryService.searchDiaries(query, startDate, endDate, cursor, size));
+    }
+
+    @Operation(summary = "다이어리 검색 색인 재생성", description = "검색 색인을 비우고 DB의 모든 다이어리를 다시 색인합니다.", responses = {
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/create/diaries/search/rebuild", produces = "application/json")
+    public Response<DiaryIndexResult> rebuildSearchIndex() {
+        return Response.success(diaryService.rebuildSearchIndex());
+    }
+
+    @Operation(summary = "특정 기간 내의 다이어리 스트리밍 조회", description = "startDate ~ endDate 기간 내의 다이어리를 한 줄에 하나씩 NDJSON 형식으로 전송합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/read/diaries/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamDiaries(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "첫 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "마지막 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate endDate
     ) {
-        return Response.success(diaryService.readDiaries(startDate, endDate));
+        StreamingResponseBody body = outputStream -> diaryService.streamDiaries(startDate, endDate, diaryDto -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(diaryDto));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
     }
 
     @Operation(summary = "특정 날짜의 다이어리 수정", responses = {
             @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Not Found", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
     })
     @PutMapping(value = "/update/diary", produces = "application/json")
@@ -69,15 +232,117 @@ public class DiaryController {
         return Response.success();
     }
 
+    @Operation(summary = "다이어리 수정", description = "If-Match의 ETag(버전)가 현재 버전과 같을 때만 본문을 수정하고 새 ETag를 반환합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Not Found", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Precondition Required", responseCode = "428", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @PutMapping(value = "/update/diary/detail", produces = "application/json")
+    public ResponseEntity<Response<Void>> updateDiaryDetail(
+            @RequestParam @Parameter(name = "다이어리 id", example = "1") int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Parameter(name = "상세 조회의 ETag", example = "\"0\"") String ifMatch,
+            @RequestBody String text
+    ) {
+        long version = diaryService.updateDiary(id, parseVersion(ifMatch), text);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(version))
+                .body(Response.success());
+    }
+
+    @Operation(summary = "다이어리 삭제", description = "If-Match의 ETag(버전)가 현재 버전과 같을 때만 다이어리를 삭제합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Not Found", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Precondition Required", responseCode = "428", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @DeleteMapping(value = "/delete/diary/detail", produces = "application/json")
+    public Response<DiaryDeleteResult> deleteDiaryDetail(
+            @RequestParam @Parameter(name = "다이어리 id", example = "1") int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Parameter(name = "상세 조회의 ETag", example = "\"0\"") String ifMatch
+    ) {
+        return Response.success(diaryService.deleteDiary(id, parseVersion(ifMatch)));
+    }
+
     @Operation(summary = "특정 날짜의 다이어리 삭제", responses = {
             @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
     })
     @DeleteMapping(value = "/delete/diary", produces = "application/json")
-    public Response<Void> deleteDiary(
+    public Response<DiaryDeleteResult> deleteDiary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "날짜 형식: yyyy-MM-dd", example = "2024-01-05") LocalDate date
     ) {
-        diaryService.deleteDiary(date);
-        return Response.success();
+        return Response.success(diaryService.deleteDiary(date));
+    }
+
+    @Operation(summary = "특정 기간 내의 다이어리 삭제", description = "startDate ~ endDate 기간 내의 다이어리를 나누어 삭제하고 삭제된 수를 반환합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @DeleteMapping(value = "/delete/diaries", produces = "application/json")
+    public Response<DiaryDeleteResult> deleteDiaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "첫 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "마지막 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate endDate
+    ) {
+        return Response.success(diaryService.deleteDiaries(startDate, endDate));
+    }
+
+    /**
+     * 조건부 GET이라면 ETag, Last-Modified를 비교하여 변경되지 않았을 때 304로 응답하도록 표시
+     * (변경되었더라도 응답에 ETag, Last-Modified를 추가)
+     */
+    private static boolean checkNotModified(WebRequest request, DiaryVersion version) {
+        return request.checkNotModified(version.etag(etagSuffix(request)), version.lastModified());
+    }
+
+    /**
+     * Accept로 선택될 응답 표현의 ETag 접미사 (JSON: 없음, CBOR: -cbor, Smile: -smile)
+     * Vary: Accept로 표현마다 따로 캐시되고 본문도 다르므로 같은 버전이라도 강한 ETag를 표현별로 구분
+     * Accept를 구체성과 품질 순으로 정렬하여 produces 중 처음 호환되는 표현을 선택 (Accept가 없다면 JSON)
+     */
+    private static String etagSuffix(WebRequest request) {
+        List<MediaType> acceptableTypes;
+        try {
+            acceptableTypes = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MediaType.sortBySpecificityAndQuality(acceptableTypes);
+        for (MediaType acceptableType : acceptableTypes) {
+            for (MediaType producibleType : PRODUCIBLE_TYPES) {
+                if (acceptableType.isCompatibleWith(producibleType)) {
+                    return ETAG_SUFFIXES.getOrDefault(producibleType, "");
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * If-Match: "3" 형식의 ETag에서 다이어리 버전을 읽음 (상세 조회의 "3-cbor", "3-smile"도 허용)
+     * 약한 ETag(W/"3")와 *는 버전을 비교할 수 없으므로 허용하지 않음
+     */
+    private static long parseVersion(String ifMatch) {
+        if (ifMatch == null) {
+            throw new DiaryException(REQUIRED_DIARY_VERSION);
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            throw new DiaryException(INVALID_REQUEST);
+        }
+        String value = etag.substring(1, etag.length() - 1);
+        for (String suffix : ETAG_SUFFIXES.values()) {
+            if (value.endsWith(suffix)) {
+                value = value.substring(0, value.length() - suffix.length());
+                break;
+            }
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new DiaryException(INVALID_REQUEST, e);
+        }
     }
 }
@@ -0,0 +1,69 @@
+package com.zerobase.weatherservice.controller;
+
+import com.zerobase.weatherservice.dto.DiaryImportResult;
+import com.zerobase.weatherservice.dto.response.Response;
+import com.zerobase.weatherservice.service.DiaryTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+@RestController
+@RequiredArgsConstructor
+public class DiaryTransferController {
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+    private final DiaryTransferService diaryTransferService;
+
+    @Operation(summary = "다이어리 내보내기", description = "afterId보다 큰 id의 다이어리를 본문과 함께 GZIP으로 압축한 NDJSON 파일로 내보냅니다. 중단되었다면 마지막 체크섬 줄의 lastId를 afterId로 전달합니다.", responses = {
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/read/diaries/export", produces = "application/gzip")
+    public ResponseEntity<StreamingResponseBody> exportDiaries(
+            @RequestParam(defaultValue = "0") @Parameter(name = "이어서 받을 마지막 다이어리 id", example = "0") int afterId
+    ) {
+        StreamingResponseBody body = outputStream -> diaryTransferService.exportDiaries(afterId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("diaries-" + afterId + ".ndjson.gz")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @Operation(summary = "다이어리 가져오기", description = "내보낸 파일을 체크섬을 확인한 청크마다 저장합니다. 중단되었다면 같은 파일을 같은 importId로 다시 보내 이어서 가져옵니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/create/diaries/import", consumes = {"application/gzip", "application/octet-stream"}, produces = "application/json")
+    public Response<DiaryImportResult> importDiaries(
+            @RequestParam @Parameter(name = "가져오기 id", example = "diaries-2024-01-27") String importId,
+            InputStream body
+    ) {
+        return Response.success(diaryTransferService.importDiaries(importId, body));
+    }
+
+    @Operation(summary = "다이어리 가져오기 진행 상황 조회", responses = {
+            @ApiResponse(description = "Not Found", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/read/diaries/import", produces = "application/json")
+    public Response<DiaryImportResult> readDiaryImport(
+            @RequestParam @Parameter(name = "가져오기 id", example = "diaries-2024-01-27") String importId
+    ) {
+        return Response.success(diaryTransferService.getDiaryImport(importId));
+    }
+}
@@ -0,0 +1,52 @@
+package com.zerobase.weatherservice.controller;
+
+import com.zerobase.weatherservice.domain.StatsPeriod;
+import com.zerobase.weatherservice.dto.StatsRebuildResult;
+import com.zerobase.weatherservice.dto.WeatherStatsDto;
+import com.zerobase.weatherservice.dto.response.Response;
+import com.zerobase.weatherservice.service.StatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+public class StatsController {
+    private final StatsService statsService;
+
+    @Operation(summary = "날씨, 다이어리 통계 조회", description = "startDate ~ endDate 기간의 기온, 날씨별 일수, 다이어리 수를 unit 단위로 합산합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/read/stats", produces = "application/json")
+    public Response<WeatherStatsDto> readStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "첫 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-01") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "마지막 날 [날짜 형식: yyyy-MM-dd]", example = "2024-12-31") LocalDate endDate,
+            @RequestParam(defaultValue = "MONTH") @Parameter(name = "집계 단위 [DAY, MONTH, YEAR]", example = "MONTH") StatsPeriod unit,
+            @RequestParam(required = false) @Parameter(name = "도시 (생략 시 모든 도시)", example = "seoul") String city
+    ) {
+        return Response.success(statsService.getStats(startDate, endDate, unit, city));
+    }
+
+    @Operation(summary = "통계 롤업 재집계", description = "startDate ~ endDate 기간에 걸친 모든 달의 통계를 날씨 정보, 다이어리에서 다시 집계합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/create/stats/rebuild", produces = "application/json")
+    public Response<StatsRebuildResult> rebuildStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "첫 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-01") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "마지막 날 [날짜 형식: yyyy-MM-dd]", example = "2024-12-31") LocalDate endDate
+    ) {
+        return Response.success(statsService.rebuild(startDate, endDate));
+    }
+}
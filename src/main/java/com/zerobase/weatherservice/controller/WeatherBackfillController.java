@@ -0,0 +1,48 @@
+package com.zerobase.weatherservice.controller;
+
+import com.zerobase.weatherservice.dto.WeatherBackfillDto;
+import com.zerobase.weatherservice.dto.response.Response;
+import com.zerobase.weatherservice.service.WeatherBackfillService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+public class WeatherBackfillController {
+    private final WeatherBackfillService weatherBackfillService;
+
+    @Operation(summary = "날씨 정보 backfill 시작", description = "startDate ~ endDate 기간 내 비어있는 날씨 정보를 채우는 작업을 시작합니다.", responses = {
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Conflict", responseCode = "409", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/create/backfill", produces = "application/json")
+    public Response<WeatherBackfillDto> startBackfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "첫 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(name = "마지막 날 [날짜 형식: yyyy-MM-dd]", example = "2024-01-05") LocalDate endDate
+    ) {
+        return Response.success(weatherBackfillService.startBackfill(startDate, endDate));
+    }
+
+    @Operation(summary = "날씨 정보 backfill 진행 상황 조회", description = "체크포인트, 처리한 항목 수, 진행률, 초당 처리량을 조회합니다.", responses = {
+            @ApiResponse(description = "Not Found", responseCode = "404", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class))),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/read/backfill", produces = "application/json")
+    public Response<WeatherBackfillDto> readBackfill(
+            @RequestParam @Parameter(name = "backfill 작업 id", example = "1") long id
+    ) {
+        return Response.success(weatherBackfillService.getBackfill(id));
+    }
+}
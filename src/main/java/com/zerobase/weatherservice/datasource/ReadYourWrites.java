@@ -0,0 +1,62 @@
+package com.zerobase.weatherservice.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 요청 스레드의 read-your-writes 상태
+ * - sticky라면 읽기 전용 트랜잭션도 primary를 사용
+ * - 요청 중에 쓰기 트랜잭션이 커밋되면 같은 요청의 이후 읽기는 sticky가 되고,
+ *   ReadYourWritesFilter가 클라이언트의 다음 요청도 primary를 사용하도록 기한을 전달
+ */
+public final class ReadYourWrites {
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * @param sticky 이전 요청의 쓰기 이후 stickyWindow가 지나지 않았는지 여부
+     * @param onWriteCommitted 이 요청의 쓰기 트랜잭션이 커밋될 때마다 호출
+     */
+    public static void begin(boolean sticky, Runnable onWriteCommitted) {
+        CURRENT.set(new Session(sticky, onWriteCommitted));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isSticky() {
+        Session session = CURRENT.get();
+        return session != null && session.sticky;
+    }
+
+    /**
+     * 쓰기 트랜잭션이 primary 커넥션을 받을 때 호출되어 커밋된 후에 sticky로 전환
+     */
+    static void onWriteTransaction() {
+        Session session = CURRENT.get();
+        if (session == null || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                session.sticky = true;
+                session.onWriteCommitted.run();
+            }
+        });
+    }
+
+    private static final class Session {
+        private final Runnable onWriteCommitted;
+        private boolean sticky;
+
+        private Session(boolean sticky, Runnable onWriteCommitted) {
+            this.sticky = sticky;
+            this.onWriteCommitted = onWriteCommitted;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.zerobase.weatherservice.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 쓰기가 커밋된 응답에 primary 사용 기한(epoch millis)을 쿠키로 전달하고,
+ * 기한이 지나지 않은 쿠키를 가진 요청은 읽기도 primary에서 처리 (복제 지연 동안 자신이 쓴 내용을 읽지 못하는 문제 방지)
+ * 서버에 상태를 두지 않으므로 여러 인스턴스에서도 동작하며, stickyWindow보다 먼 기한은 무시
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String COOKIE_NAME = "primary-until";
+
+    private final Duration stickyWindow;
+
+    public ReadYourWritesFilter(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        long stickyUntil = stickyUntil(request);
+        ReadYourWrites.begin(stickyUntil > now && stickyUntil <= now + stickyWindow.toMillis(),
+                () -> addStickyCookie(response));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.end();
+        }
+    }
+
+    private void addStickyCookie(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(System.currentTimeMillis() + stickyWindow.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickyWindow.toSeconds()));
+        response.addCookie(cookie);
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,139 @@
+package com.zerobase.weatherservice.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 트랜잭션의 readOnly 여부로 primary와 복제 DB 중 하나의 커넥션을 반환하는 DataSource
+ * - 읽기 전용 트랜잭션(NOT_SUPPORTED + readOnly 포함)은 정상인 복제 DB를 돌아가며 사용하고, 모두 비정상이라면 primary 사용
+ * - 쓰기 트랜잭션, 트랜잭션 밖의 조회, read-your-writes 기간인 요청은 primary 사용
+ * - 트랜잭션을 시작할 때는 readOnly가 아직 설정되지 않으므로 LazyConnectionDataSourceProxy로 감싸서 첫 쿼리 시점에 결정
+ * - 복제 DB의 커넥션을 받지 못하면 바로 비정상으로 표시하고 primary를 사용하며, 상태 확인에서 다시 정상이 되면 사용
+ */
+@Slf4j
+public class ReplicationRoutingDataSource extends AbstractDataSource implements DisposableBean {
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final int healthCheckTimeoutSeconds;
+
+    /**
+     * @param replicas 이름별 복제 DB
+     */
+    public ReplicationRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                        Duration healthCheckTimeout) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadYourWrites.onWriteTransaction();
+            return primary.getConnection();
+        }
+        if (ReadYourWrites.isSticky()) {
+            return primary.getConnection();
+        }
+        for (Replica replica = nextHealthyReplica(); replica != null; replica = nextHealthyReplica()) {
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                if (replica.healthy().compareAndSet(true, false)) {
+                    log.warn("[{}] 복제 DB의 커넥션을 받지 못해 제외합니다.", replica.name(), e);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * primary와 모든 복제 DB
+     */
+    public List<DataSource> getTargetDataSources() {
+        List<DataSource> dataSources = new ArrayList<>();
+        dataSources.add(primary);
+        replicas.forEach(replica -> dataSources.add(replica.dataSource()));
+        return dataSources;
+    }
+
+    /**
+     * 복제 DB는 primary와 같은 계정을 사용하므로 사용자를 지정한 커넥션은 primary에서만 받음
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * 모든 복제 DB의 커넥션이 유효한지 확인하여 정상/비정상 표시
+     */
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval:PT10S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource().getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (replica.healthy().getAndSet(healthy) != healthy) {
+                if (healthy) {
+                    log.info("[{}] 복제 DB가 정상으로 돌아와 다시 사용합니다.", replica.name());
+                } else {
+                    log.warn("[{}] 복제 DB 상태 확인에 실패하여 제외합니다.", replica.name());
+                }
+            }
+        }
+    }
+
+    /**
+     * primary와 복제 DB 중 닫을 수 있는 커넥션 풀을 닫음
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            close(replica.dataSource());
+        }
+        close(primary);
+    }
+
+    /**
+     * 정상인 복제 DB를 돌아가며 반환 (모두 비정상이라면 null)
+     */
+    private Replica nextHealthyReplica() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            if (replica.healthy().get()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static void close(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private record Replica(String name, DataSource dataSource, AtomicBoolean healthy) {
+        Replica(String name, DataSource dataSource) {
+            this(name, dataSource, new AtomicBoolean(true));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.zerobase.weatherservice.domain;
+
+public enum BackfillStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
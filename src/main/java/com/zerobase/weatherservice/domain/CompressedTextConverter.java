@@ -0,0 +1,60 @@
+package com.zerobase.weatherservice.domain;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 문자열을 UTF-8로 저장하되, COMPRESSION_THRESHOLD_BYTES 이상이면 GZIP으로 압축하여 저장
+ * - 압축 여부는 GZIP 헤더(0x1f 0x8b)로 구분하므로 (텍스트는 0x1f로 시작하지 않음)
+ *   기존 varchar 컬럼의 값을 그대로 옮겨도 읽을 수 있음
+ * - 압축해도 줄어들지 않는다면 압축하지 않고 저장
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+    static final int COMPRESSION_THRESHOLD_BYTES = 512;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < COMPRESSION_THRESHOLD_BYTES) {
+            return bytes;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.size() < bytes.length ? compressed.toByteArray() : bytes;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (!isCompressed(bytes)) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isCompressed(byte[] bytes) {
+        return bytes.length >= 2 && bytes[0] == (byte) (GZIPInputStream.GZIP_MAGIC & 0xff)
+                && bytes[1] == (byte) (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+}
@@ -4,18 +4,26 @@ import lombok.*;
 
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.IdClass;
 import java.time.LocalDate;
 
 @Getter
 @Setter
 @Builder
 @Entity
+@IdClass(DateWeatherId.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class DateWeather {
+    @Id
+    private String city;
     @Id
     private LocalDate date;
     private String weather;
     private String icon;
     private double temperature;
+
+    public DateWeatherId getId() {
+        return new DateWeatherId(city, date);
+    }
 }
@@ -0,0 +1,19 @@
+package com.zerobase.weatherservice.domain;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DateWeather의 복합 키 (도시, 날짜)
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class DateWeatherId implements Serializable {
+    private String city;
+    private LocalDate date;
+}
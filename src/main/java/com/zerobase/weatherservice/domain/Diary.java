@@ -3,33 +3,60 @@ package com.zerobase.weatherservice.domain;
 import lombok.*;
 
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDate;
 
+/**
+ * 다이어리 (본문은 DiaryBody에 따로 저장)
+ */
 @Getter
 @Setter
 @Builder
 @Entity
+@Table(indexes = @Index(name = "idx_diary_date_id", columnList = "date, id"))
 @NoArgsConstructor
 @AllArgsConstructor
 public class Diary {
+    /**
+     * IDENTITY 전략은 INSERT마다 id를 받아와야 해서 JDBC batch가 불가능하므로
+     * pooled 시퀀스(MySQL은 diary_seq 테이블)에서 50개씩 미리 할당
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "diary_seq")
+    @SequenceGenerator(name = "diary_seq", sequenceName = "diary_seq", allocationSize = 50)
     private int id;
+    private String city;
     private String weather;
     private String icon;
     private double temperature;
-    private String text;
+    /**
+     * null이라면 FILLED로 취급 (상태가 추가되기 전에 저장된 다이어리)
+     */
+    @Enumerated(EnumType.STRING)
+    private WeatherStatus weatherStatus;
     private LocalDate date;
+    /**
+     * 수정, 삭제 요청의 If-Match와 비교하는 버전 (본문이나 날씨가 바뀔 때마다 증가)
+     */
+    @Version
+    private long version;
 
-    public static Diary setDateWeather(DateWeather dateWeather) {
+    /**
+     * 날씨 없이(PENDING) 저장하는 다이어리 (날씨는 커밋된 후 DiaryWeatherEnricher가 채움)
+     */
+    public static Diary pendingDateWeather(String city, LocalDate date) {
         return Diary.builder()
-                .date(dateWeather.getDate())
-                .weather(dateWeather.getWeather())
-                .icon(dateWeather.getIcon())
-                .temperature(dateWeather.getTemperature())
+                .city(city)
+                .date(date)
+                .weatherStatus(WeatherStatus.PENDING)
                 .build();
     }
 }
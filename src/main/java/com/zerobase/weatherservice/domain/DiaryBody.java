@@ -0,0 +1,50 @@
+package com.zerobase.weatherservice.domain;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.MapsId;
+import javax.persistence.OneToOne;
+
+/**
+ * 다이어리 본문
+ * 목록 조회는 본문을 사용하지 않으므로 별도 테이블에 두어 diary 행을 작게 유지하고,
+ * 상세 조회와 검색 색인에서만 diary와 조인하여 읽음
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryBody {
+    /**
+     * 16MB (MySQL은 mediumblob)
+     */
+    private static final int MAX_BYTES = 16_777_215;
+
+    /**
+     * diary의 id를 그대로 사용
+     */
+    @Id
+    private int id;
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id")
+    private Diary diary;
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(length = MAX_BYTES)
+    private String text;
+
+    public static DiaryBody of(Diary diary, String text) {
+        return DiaryBody.builder()
+                .diary(diary)
+                .text(text)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.zerobase.weatherservice.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 날짜별 다이어리 버전
+ * 해당 날짜의 다이어리가 추가, 수정, 삭제될 때마다 같은 트랜잭션에서 version을 1씩 증가시키므로
+ * Diary 테이블을 조회하지 않고도 조회 결과가 바뀌었는지 알 수 있음 (행은 삭제하지 않음)
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryDateVersion {
+    @Id
+    private LocalDate date;
+    private long version;
+    private LocalDateTime modifiedAt;
+}
@@ -0,0 +1,49 @@
+package com.zerobase.weatherservice.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * 다이어리 가져오기 작업과 진행 상황
+ * 파일의 앞에서부터 importedCount개의 다이어리는 저장이 끝났으므로 같은 파일을 다시 가져오면 그 다음부터 이어서 저장
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryImport {
+    /** 가져오기를 요청한 쪽에서 정한 id (같은 파일이라면 같은 id로 이어서 가져옴) */
+    @Id
+    private String id;
+    private long importedCount;
+    /** 마지막으로 저장한 청크의 내보낸 쪽 다이어리 id */
+    private int lastId;
+    private boolean completed;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+
+    public static DiaryImport start(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        return DiaryImport.builder()
+                .id(id)
+                .startedAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    public void checkpoint(long importedCount, int lastId) {
+        this.importedCount = importedCount;
+        this.lastId = lastId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.completed = true;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
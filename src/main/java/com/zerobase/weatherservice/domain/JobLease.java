@@ -0,0 +1,39 @@
+package com.zerobase.weatherservice.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * 예약 작업별 리스 (여러 인스턴스 중 리스를 얻은 한 노드만 작업을 실행)
+ * 리스를 얻을 때마다 token을 1씩 증가시키므로, 리스를 잃은 노드의 저장은 token이 달라 거절됨 (fencing token)
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+    @Id
+    private String name;
+    /**
+     * 마지막으로 리스를 얻은 노드
+     */
+    private String owner;
+    private long token;
+    /**
+     * 이 시각이 지나면 다른 노드가 리스를 얻을 수 있음 (반납하면 반납한 시각)
+     */
+    private LocalDateTime expiresAt;
+    /**
+     * 마지막으로 시작한 실행 (예: 날짜)
+     */
+    private String startedRun;
+    /**
+     * 마지막으로 끝난 실행 (실패도 끝난 것으로 기록하여 다시 실행하지 않음)
+     */
+    private String finishedRun;
+}
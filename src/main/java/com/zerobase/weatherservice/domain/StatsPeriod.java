@@ -0,0 +1,36 @@
+package com.zerobase.weatherservice.domain;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 통계 집계 단위
+ * 롤업 테이블에는 DAY, MONTH 단위로 저장하고, YEAR는 MONTH 롤업을 합쳐서 계산
+ */
+public enum StatsPeriod {
+    DAY,
+    MONTH,
+    YEAR;
+
+    /**
+     * date가 속한 기간의 첫 날
+     */
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * date가 속한 기간의 마지막 날
+     */
+    public LocalDate end(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case MONTH -> date.with(TemporalAdjusters.lastDayOfMonth());
+            case YEAR -> date.with(TemporalAdjusters.lastDayOfYear());
+        };
+    }
+}
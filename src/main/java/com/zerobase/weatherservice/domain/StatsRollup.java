@@ -0,0 +1,43 @@
+package com.zerobase.weatherservice.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * (도시, 일/월)별 날씨와 다이어리 통계
+ * - DAY 롤업은 날씨 정보, 다이어리가 저장되거나 삭제될 때 같은 트랜잭션에서 갱신
+ * - MONTH 롤업은 해당 월의 DAY 롤업을 다시 합산 (최저, 최고 기온은 뺄 수 없으므로)
+ * - 기간 조회는 (period_type, period_start) 인덱스 사용 (복합 키는 city가 먼저 올 수 있음)
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@IdClass(StatsRollupId.class)
+@Table(indexes = @Index(name = "idx_stats_rollup_period", columnList = "periodType, periodStart"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsRollup {
+    @Id
+    @Enumerated(EnumType.STRING)
+    private StatsPeriod periodType;
+    @Id
+    private LocalDate periodStart;
+    @Id
+    private String city;
+    /** 날씨 정보가 저장된 일수 */
+    private int weatherDays;
+    private double temperatureSum;
+    /** 날씨 정보가 없다면 null */
+    private Double temperatureMin;
+    private Double temperatureMax;
+    private long diaryCount;
+}
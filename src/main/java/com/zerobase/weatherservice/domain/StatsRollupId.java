@@ -0,0 +1,20 @@
+package com.zerobase.weatherservice.domain;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * StatsRollup의 복합 키 (집계 단위, 기간의 첫 날, 도시)
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsRollupId implements Serializable {
+    private StatsPeriod periodType;
+    private LocalDate periodStart;
+    private String city;
+}
@@ -0,0 +1,69 @@
+package com.zerobase.weatherservice.domain;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 날씨 정보 backfill 작업과 진행 상황
+ * checkpointDate까지의 날짜는 처리가 끝났으므로 재시작 시 그 다음 날짜부터 이어서 진행
+ * 진행 중인 작업은 active의 unique 제약으로 하나만 저장됨
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_weather_backfill_active", columnNames = "active"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeatherBackfill {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    private BackfillStatus status;
+    /** 진행 중인 작업만 true, 끝나면 null (unique 제약은 null을 여러 개 허용) */
+    @Column(unique = true)
+    private Boolean active;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate checkpointDate;
+    /** 작업 시작 시점에 비어있던 (도시, 날짜) 수 */
+    private int missingCount;
+    private int filledCount;
+    private int failedCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * 아직 처리하지 않은 첫 날짜
+     */
+    public LocalDate nextDate() {
+        return checkpointDate == null ? startDate : checkpointDate.plusDays(1);
+    }
+
+    public void checkpoint(LocalDate date, int filled, int failed) {
+        this.checkpointDate = date;
+        this.filledCount += filled;
+        this.failedCount += failed;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void finish(BackfillStatus status) {
+        this.status = status;
+        this.active = null;
+        this.finishedAt = LocalDateTime.now();
+        this.updatedAt = this.finishedAt;
+    }
+}
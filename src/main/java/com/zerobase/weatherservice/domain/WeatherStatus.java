@@ -0,0 +1,15 @@
+package com.zerobase.weatherservice.domain;
+
+/**
+ * 다이어리에 저장된 날씨 정보의 상태
+ */
+public enum WeatherStatus {
+    /** 해당 날짜의 날씨 */
+    FILLED,
+    /** 날씨 API를 사용할 수 없어 가장 가까운 날짜의 날씨로 대신함 */
+    STALE,
+    /** 날씨 없이 저장되어 날씨 채우기를 기다림 */
+    PENDING,
+    /** 재시도 횟수 안에 날씨를 채우지 못함 (dead letter, 다시 시도 요청 전까지 채우지 않음) */
+    FAILED
+}
@@ -0,0 +1,36 @@
+package com.zerobase.weatherservice.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * (도시, 일/월)별 날씨 종류의 일수
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@IdClass(WeatherTypeRollupId.class)
+@Table(indexes = @Index(name = "idx_weather_type_rollup_period", columnList = "periodType, periodStart"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeatherTypeRollup {
+    @Id
+    @Enumerated(EnumType.STRING)
+    private StatsPeriod periodType;
+    @Id
+    private LocalDate periodStart;
+    @Id
+    private String city;
+    @Id
+    private String weather;
+    private long dayCount;
+}
@@ -0,0 +1,19 @@
+package com.zerobase.weatherservice.dto;
+
+import java.util.List;
+
+/**
+ * @param succeeded 저장에 성공한 항목 수
+ * @param failed 저장에 실패한 항목 수
+ * @param items 요청 순서대로 정렬된 항목별 결과
+ */
+public record DiaryBulkCreateResult (
+        int succeeded,
+        int failed,
+        List<DiaryBulkItemResult> items
+) {
+    public static DiaryBulkCreateResult from(List<DiaryBulkItemResult> items) {
+        int succeeded = (int) items.stream().filter(DiaryBulkItemResult::isSuccess).count();
+        return new DiaryBulkCreateResult(succeeded, items.size() - succeeded, items);
+    }
+}
@@ -0,0 +1,32 @@
+package com.zerobase.weatherservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 일괄 추가 요청의 항목별 처리 결과
+ * @param index 요청 목록에서의 위치
+ * @param id 저장된 다이어리 id (실패 시 null)
+ * @param message 실패 사유 (성공 시 null)
+ */
+public record DiaryBulkItemResult (
+        int index,
+        String status,
+        Integer id,
+        String message
+) {
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+
+    public static DiaryBulkItemResult success(int index, int id) {
+        return new DiaryBulkItemResult(index, SUCCESS, id, null);
+    }
+
+    public static DiaryBulkItemResult error(int index, String message) {
+        return new DiaryBulkItemResult(index, ERROR, null, message);
+    }
+
+    @JsonIgnore
+    public boolean isSuccess() {
+        return SUCCESS.equals(status);
+    }
+}
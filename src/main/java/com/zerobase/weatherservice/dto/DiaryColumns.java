@@ -0,0 +1,75 @@
+package com.zerobase.weatherservice.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 다이어리 목록의 열 형식 (i번째 다이어리는 각 열의 i번째 값)
+ * 필드 이름을 다이어리마다 반복하지 않고, 값이 몇 가지뿐인 문자열 열은 사전 인코딩
+ * @param size 다이어리 수
+ */
+public record DiaryColumns (
+        int size,
+        int[] id,
+        DictionaryColumn city,
+        DictionaryColumn weather,
+        DictionaryColumn icon,
+        double[] temperature,
+        DictionaryColumn weatherStatus,
+        DictionaryColumn date,
+        long[] version
+) {
+    public static DiaryColumns from(List<DiaryDto> diaryDtos) {
+        int size = diaryDtos.size();
+        int[] id = new int[size];
+        double[] temperature = new double[size];
+        long[] version = new long[size];
+        for (int i = 0; i < size; i++) {
+            DiaryDto diaryDto = diaryDtos.get(i);
+            id[i] = diaryDto.id();
+            temperature[i] = diaryDto.temperature();
+            version[i] = diaryDto.version();
+        }
+        return new DiaryColumns(
+                size,
+                id,
+                DictionaryColumn.encode(diaryDtos, DiaryDto::city),
+                DictionaryColumn.encode(diaryDtos, DiaryDto::weather),
+                DictionaryColumn.encode(diaryDtos, DiaryDto::icon),
+                temperature,
+                DictionaryColumn.encode(diaryDtos, diaryDto -> Objects.toString(diaryDto.weatherStatus(), null)),
+                DictionaryColumn.encode(diaryDtos, diaryDto -> Objects.toString(diaryDto.date(), null)),
+                version
+        );
+    }
+
+    /**
+     * @param dictionary 열의 서로 다른 값 (처음 나온 순서)
+     * @param codes 각 다이어리 값의 dictionary 인덱스
+     */
+    public record DictionaryColumn (
+            List<String> dictionary,
+            int[] codes
+    ) {
+        static DictionaryColumn encode(List<DiaryDto> diaryDtos, Function<DiaryDto, String> column) {
+            Map<String, Integer> indexes = new HashMap<>();
+            List<String> dictionary = new ArrayList<>();
+            int[] codes = new int[diaryDtos.size()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = indexes.computeIfAbsent(column.apply(diaryDtos.get(i)), value -> {
+                    dictionary.add(value);
+                    return dictionary.size() - 1;
+                });
+            }
+            return new DictionaryColumn(dictionary, codes);
+        }
+
+        public String get(int index) {
+            return dictionary.get(codes[index]);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.zerobase.weatherservice.dto;
+
+import java.time.LocalDate;
+
+/**
+ * (날짜, 도시)별 다이어리 수 (통계 롤업에 반영할 증감량으로도 사용)
+ */
+public record DiaryCount (
+        LocalDate date,
+        String city,
+        long count
+) {
+    public DiaryCount negate() {
+        return new DiaryCount(date, city, -count);
+    }
+}
@@ -0,0 +1,13 @@
+package com.zerobase.weatherservice.dto;
+
+import com.zerobase.weatherservice.domain.WeatherStatus;
+
+/**
+ * @param id 추가된 다이어리 id
+ * @param weatherStatus 저장 시점의 날씨 상태 (날씨는 비동기로 채우므로 PENDING)
+ */
+public record DiaryCreateResult (
+        int id,
+        WeatherStatus weatherStatus
+) {
+}
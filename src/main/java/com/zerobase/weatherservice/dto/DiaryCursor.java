@@ -0,0 +1,45 @@
+package com.zerobase.weatherservice.dto;
+
+import com.zerobase.weatherservice.exception.DiaryException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_CURSOR;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * (date, id) 기준 keyset 페이지네이션의 마지막 위치
+ * 클라이언트에는 내부 구조를 알 수 없는 문자열로 전달
+ */
+public record DiaryCursor (
+        LocalDate date,
+        int id
+) {
+    private static final String DELIMITER = ":";
+
+    public static DiaryCursor from(DiaryDto diaryDto) {
+        return new DiaryCursor(diaryDto.date(), diaryDto.id());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((date + DELIMITER + id).getBytes(UTF_8));
+    }
+
+    /**
+     * @throws DiaryException
+     */
+    public static DiaryCursor decode(String cursor) {
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split(DELIMITER);
+            if (values.length != 2) {
+                throw new DiaryException(INVALID_CURSOR);
+            }
+            return new DiaryCursor(LocalDate.parse(values[0]), Integer.parseInt(values[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DiaryException(INVALID_CURSOR, e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.zerobase.weatherservice.dto;
+
+/**
+ * @param deletedCount 삭제된 다이어리 수
+ */
+public record DiaryDeleteResult (
+        int deletedCount
+) {
+}
@@ -1,6 +1,7 @@
 package com.zerobase.weatherservice.dto;
 
 import com.zerobase.weatherservice.domain.Diary;
+import com.zerobase.weatherservice.domain.WeatherStatus;
 import lombok.Builder;
 
 import java.time.LocalDate;
@@ -8,19 +9,33 @@ import java.time.LocalDate;
 @Builder
 public record DiaryDto (
         int id,
+        String city,
         String weather,
         String icon,
         double temperature,
+        WeatherStatus weatherStatus,
         String text,
-        LocalDate date
+        LocalDate date,
+        long version
 ) {
+    /**
+     * 본문(text)을 제외한 조회 쿼리의 생성자 표현식(select new ...)에서 사용
+     */
+    public DiaryDto(int id, String city, String weather, String icon, double temperature,
+                    WeatherStatus weatherStatus, LocalDate date, long version) {
+        this(id, city, weather, icon, temperature, weatherStatus, null, date, version);
+    }
+
     public static DiaryDto fromEntity(Diary diary) {
         return DiaryDto.builder()
                 .id(diary.getId())
+                .city(diary.getCity())
                 .weather(diary.getWeather())
                 .icon(diary.getIcon())
                 .temperature(diary.getTemperature())
+                .weatherStatus(diary.getWeatherStatus())
                 .date(diary.getDate())
+                .version(diary.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,21 @@
+package com.zerobase.weatherservice.dto;
+
+import com.zerobase.weatherservice.domain.DiaryImport;
+
+/**
+ * @param importId 가져오기 id
+ * @param importedCount 지금까지 저장한 다이어리 수 (이전 요청에서 저장한 수 포함)
+ * @param lastId 마지막으로 저장한 청크의 내보낸 쪽 다이어리 id (내보내기를 afterId로 이어서 받을 때 사용)
+ * @param completed 파일의 끝까지 저장했다면 true (false라면 같은 파일을 다시 보내거나 lastId 다음부터 내보낸 파일을 새 id로 가져옴)
+ */
+public record DiaryImportResult (
+        String importId,
+        long importedCount,
+        int lastId,
+        boolean completed
+) {
+    public static DiaryImportResult from(DiaryImport diaryImport) {
+        return new DiaryImportResult(diaryImport.getId(), diaryImport.getImportedCount(),
+                diaryImport.getLastId(), diaryImport.isCompleted());
+    }
+}
@@ -0,0 +1,9 @@
+package com.zerobase.weatherservice.dto;
+
+/**
+ * @param indexedCount 색인된 다이어리 수
+ */
+public record DiaryIndexResult (
+        long indexedCount
+) {
+}
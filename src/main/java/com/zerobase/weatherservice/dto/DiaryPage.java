@@ -0,0 +1,13 @@
+package com.zerobase.weatherservice.dto;
+
+import java.util.List;
+
+/**
+ * @param diaries 현재 페이지의 다이어리
+ * @param nextCursor 다음 페이지 요청 시 전달할 커서 (마지막 페이지라면 null)
+ */
+public record DiaryPage (
+        List<DiaryDto> diaries,
+        String nextCursor
+) {
+}
@@ -0,0 +1,13 @@
+package com.zerobase.weatherservice.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 검색 색인에 필요한 다이어리 본문
+ */
+public record DiaryText (
+        int id,
+        LocalDate date,
+        String text
+) {
+}
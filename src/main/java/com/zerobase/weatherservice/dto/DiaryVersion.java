@@ -0,0 +1,56 @@
+package com.zerobase.weatherservice.dto;
+
+import com.zerobase.weatherservice.domain.DiaryDateVersion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * 다이어리 조회 결과의 검증자 (ETag, Last-Modified)
+ * @param version 날짜별 버전 (기간이라면 기간 내 버전의 합)
+ * @param modifiedAt 마지막으로 변경된 시각 (변경 기록이 없다면 null)
+ */
+public record DiaryVersion (
+        long version,
+        LocalDateTime modifiedAt
+) {
+    public static final DiaryVersion EMPTY = new DiaryVersion(0, null);
+
+    public static DiaryVersion from(DiaryDateVersion diaryDateVersion) {
+        return new DiaryVersion(diaryDateVersion.getVersion(), diaryDateVersion.getModifiedAt());
+    }
+
+    /**
+     * 날짜별 버전의 합과 마지막 변경 시각 (DiaryDateVersionRepository.sumVersionByDateBetween과 같은 값)
+     */
+    public static DiaryVersion sum(Collection<DiaryDateVersion> diaryDateVersions) {
+        return new DiaryVersion(
+                diaryDateVersions.stream().mapToLong(DiaryDateVersion::getVersion).sum(),
+                diaryDateVersions.stream()
+                        .map(DiaryDateVersion::getModifiedAt)
+                        .filter(Objects::nonNull)
+                        .max(Comparator.naturalOrder())
+                        .orElse(null));
+    }
+
+    public String etag() {
+        return etag("");
+    }
+
+    /**
+     * @param suffix 응답 표현별 접미사 (JSON은 "", CBOR은 "-cbor", Smile은 "-smile")
+     */
+    public String etag(String suffix) {
+        return "\"" + version + suffix + "\"";
+    }
+
+    /**
+     * @return epoch milliseconds (변경 기록이 없다면 -1)
+     */
+    public long lastModified() {
+        return modifiedAt == null ? -1 : modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,12 @@
+package com.zerobase.weatherservice.dto;
+
+/**
+ * 작업 리스를 얻은 노드가 받는 값
+ * @param token 리스를 얻을 때마다 증가하는 fencing token (저장 트랜잭션에서 JobLeaseService.fence로 확인)
+ */
+public record LeaseToken (
+        String name,
+        String owner,
+        long token
+) {
+}
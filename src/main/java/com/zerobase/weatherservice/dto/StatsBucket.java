@@ -0,0 +1,25 @@
+package com.zerobase.weatherservice.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 집계 단위 하나의 통계 (조회 기간에 걸친 부분만 집계)
+ * @param weatherDays 날씨 정보가 저장된 (도시, 날짜) 수
+ * @param averageTemperature 날씨 정보가 없다면 null
+ * @param weatherTypes 날씨별 일수
+ */
+@Builder
+public record StatsBucket (
+        LocalDate startDate,
+        LocalDate endDate,
+        int weatherDays,
+        Double averageTemperature,
+        Double minTemperature,
+        Double maxTemperature,
+        Map<String, Long> weatherTypes,
+        long diaryCount
+) {
+}
@@ -0,0 +1,15 @@
+package com.zerobase.weatherservice.dto;
+
+import java.time.LocalDate;
+
+/**
+ * @param startDate 재집계한 첫 달의 첫 날
+ * @param endDate 재집계한 마지막 달의 마지막 날
+ * @param rebuiltMonths 재집계한 월 수
+ */
+public record StatsRebuildResult (
+        LocalDate startDate,
+        LocalDate endDate,
+        int rebuiltMonths
+) {
+}
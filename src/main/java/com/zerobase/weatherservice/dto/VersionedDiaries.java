@@ -0,0 +1,21 @@
+package com.zerobase.weatherservice.dto;
+
+import java.util.List;
+
+/**
+ * 같은 트랜잭션에서 조회한 다이어리 버전과 다이어리
+ * @param version 조건부 GET의 검증자 (ETag, Last-Modified)
+ * @param diaries 다이어리 목록 (버전으로 변경되지 않았다고 판단하여 조회하지 않았다면 null)
+ */
+public record VersionedDiaries (
+        DiaryVersion version,
+        List<DiaryDto> diaries
+) {
+    public static VersionedDiaries notModified(DiaryVersion version) {
+        return new VersionedDiaries(version, null);
+    }
+
+    public boolean isNotModified() {
+        return diaries == null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.zerobase.weatherservice.dto;
+
+import com.zerobase.weatherservice.domain.BackfillStatus;
+import com.zerobase.weatherservice.domain.WeatherBackfill;
+import lombok.Builder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * @param progress 처리한 항목 비율 (0 ~ 1)
+ * @param throughput 시작 후 초당 채운 항목 수
+ */
+@Builder
+public record WeatherBackfillDto (
+        long id,
+        BackfillStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDate checkpointDate,
+        int missingCount,
+        int filledCount,
+        int failedCount,
+        double progress,
+        double throughput,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+    public static WeatherBackfillDto fromEntity(WeatherBackfill backfill) {
+        int processed = backfill.getFilledCount() + backfill.getFailedCount();
+        LocalDateTime end = backfill.getFinishedAt() == null ? LocalDateTime.now() : backfill.getFinishedAt();
+        double elapsedSeconds = Duration.between(backfill.getStartedAt(), end).toMillis() / 1000.0;
+        return WeatherBackfillDto.builder()
+                .id(backfill.getId())
+                .status(backfill.getStatus())
+                .startDate(backfill.getStartDate())
+                .endDate(backfill.getEndDate())
+                .checkpointDate(backfill.getCheckpointDate())
+                .missingCount(backfill.getMissingCount())
+                .filledCount(backfill.getFilledCount())
+                .failedCount(backfill.getFailedCount())
+                .progress(backfill.getMissingCount() == 0 ? 1 : Math.min(1, (double) processed / backfill.getMissingCount()))
+                .throughput(elapsedSeconds <= 0 ? 0 : backfill.getFilledCount() / elapsedSeconds)
+                .startedAt(backfill.getStartedAt())
+                .finishedAt(backfill.getFinishedAt())
+                .build();
+    }
+}
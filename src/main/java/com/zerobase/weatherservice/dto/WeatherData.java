@@ -0,0 +1,14 @@
+package com.zerobase.weatherservice.dto;
+
+/**
+ * openweathermap API 응답 중 사용하는 값
+ * @param weather weather[0].main
+ * @param icon weather[0].icon
+ * @param temperature main.temp
+ */
+public record WeatherData (
+        String weather,
+        String icon,
+        double temperature
+) {
+}
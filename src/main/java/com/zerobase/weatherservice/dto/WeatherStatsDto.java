@@ -0,0 +1,21 @@
+package com.zerobase.weatherservice.dto;
+
+import com.zerobase.weatherservice.domain.StatsPeriod;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @param city 도시를 지정하지 않았다면 null (모든 도시)
+ * @param total 조회 기간 전체의 통계
+ * @param buckets 집계 단위별 통계 (날짜 순서)
+ */
+public record WeatherStatsDto (
+        LocalDate startDate,
+        LocalDate endDate,
+        StatsPeriod unit,
+        String city,
+        StatsBucket total,
+        List<StatsBucket> buckets
+) {
+}
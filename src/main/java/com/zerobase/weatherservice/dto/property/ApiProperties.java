@@ -1,8 +1,33 @@
 package com.zerobase.weatherservice.dto.property;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
+
+/**
+ * @param maxConcurrentRequests API 호스트로 동시에 보낼 수 있는 최대 요청 수
+ * @param requestsPerSecond API 호스트로 초당 보낼 수 있는 최대 요청 수
+ */
 @ConfigurationProperties(prefix = "openweathermap")
 public record ApiProperties (
-    String key
-) {}
\ No newline at end of file
+    String key,
+    @DefaultValue("https://api.openweathermap.org/data/2.5") String baseUrl,
+    @DefaultValue("https://history.openweathermap.org/data/2.5") String historyBaseUrl,
+    @DefaultValue("2s") Duration connectTimeout,
+    @DefaultValue("5s") Duration readTimeout,
+    @DefaultValue("8s") Duration totalTimeout,
+    @DefaultValue("16") int maxConcurrentRequests,
+    @DefaultValue("50") int requestsPerSecond
+) {
+    public ApiProperties {
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException(
+                    "openweathermap.max-concurrent-requests must be positive: " + maxConcurrentRequests);
+        }
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "openweathermap.requests-per-second must be positive: " + requestsPerSecond);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 다이어리 API의 동시 처리 요청 수 상한을 응답 시간에 따라 조정하는 설정
+ * @param enabled false라면 동시 처리 요청 수를 제한하지 않음
+ * @param initialLimit 시작 상한
+ * @param minLimit 상한의 최솟값 (응답 시간이 계속 늘어나더라도 이만큼은 처리)
+ * @param maxLimit 상한의 최댓값 (DB 커넥션 풀, 톰캣 스레드 수보다 작게)
+ * @param tolerance 최근 응답 시간이 평소 응답 시간의 몇 배까지 늘어나도 상한을 줄이지 않을지
+ * @param smoothing 새로 계산한 상한을 반영하는 비율 (0~1, 클수록 빠르게 변함)
+ * @param window 상한을 다시 계산하는 주기
+ * @param minWindowSamples 상한을 다시 계산하기 위한 최소 응답 수 (적다면 다음 주기까지 모음)
+ * @param retryAfter 거절한 요청의 Retry-After
+ */
+@ConfigurationProperties(prefix = "diary.concurrency-limit")
+public record ConcurrencyLimitProperties (
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("100") int maxLimit,
+        @DefaultValue("1.5") double tolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("100ms") Duration window,
+        @DefaultValue("10") int minWindowSamples,
+        @DefaultValue("1s") Duration retryAfter
+) {
+}
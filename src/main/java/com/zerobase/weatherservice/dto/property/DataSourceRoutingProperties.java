@@ -0,0 +1,26 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled true라면 읽기 전용 트랜잭션을 replicas로 보냄 (false라면 spring.datasource 하나만 사용)
+ * @param replicas 읽기 전용 복제 DB 목록 (spring.datasource와 같은 드라이버 사용)
+ * @param stickyWindow 쓰기가 커밋된 후 같은 클라이언트의 읽기를 primary로 보내는 시간 (복제 지연보다 길게)
+ * @param healthCheckInterval 복제 DB 상태 확인 주기
+ * @param healthCheckTimeout 복제 DB 상태 확인 제한 시간
+ */
+@ConfigurationProperties(prefix = "datasource.routing")
+public record DataSourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration stickyWindow,
+        @DefaultValue("10s") Duration healthCheckInterval,
+        @DefaultValue("1s") Duration healthCheckTimeout
+) {
+    public record Replica(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @param maximumSize 캐시된 다이어리의 추정 메모리 크기 상한
+ * @param ttl 무효화 메시지를 받지 못한 경우를 대비한 최대 보관 시간
+ * @param maxRangeDays 기간 조회를 날짜별 캐시로 조립하는 최대 일수 (더 길다면 DB에서 바로 조회)
+ */
+@ConfigurationProperties(prefix = "diary.cache")
+public record DiaryCacheProperties (
+    @DefaultValue("32MB") DataSize maximumSize,
+    @DefaultValue("1h") Duration ttl,
+    @DefaultValue("31") int maxRangeDays
+) {}
@@ -0,0 +1,16 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param indexPath 검색 색인을 저장할 디렉터리 (비어있다면 메모리에 색인하고 서버 시작 시 다시 색인)
+ * @param commitInterval 색인 변경 사항을 디스크에 커밋하는 주기 (검색에는 커밋 전에도 바로 반영)
+ */
+@ConfigurationProperties(prefix = "diary.search")
+public record DiarySearchProperties (
+    @DefaultValue("") String indexPath,
+    @DefaultValue("1m") Duration commitInterval
+) {}
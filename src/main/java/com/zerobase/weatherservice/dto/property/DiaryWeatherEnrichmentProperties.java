@@ -0,0 +1,31 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 추가된 다이어리의 날씨를 비동기로 채우는 작업 설정
+ * @param workers 날씨를 조회하는 작업 스레드 수
+ * @param queueCapacity 대기 중이거나 재시도를 기다리는 다이어리의 최대 수 (넘치면 주기적인 날씨 채우기로 미룸)
+ * @param maxAttempts 다이어리를 FAILED(dead letter)로 표시하기 전까지의 최대 시도 횟수
+ * @param initialBackoff 첫 재시도까지의 대기 시간 (재시도마다 2배)
+ * @param maxBackoff 재시도 대기 시간의 상한
+ */
+@ConfigurationProperties(prefix = "weather.enrichment")
+public record DiaryWeatherEnrichmentProperties (
+    @DefaultValue("4") int workers,
+    @DefaultValue("1000") int queueCapacity,
+    @DefaultValue("5") int maxAttempts,
+    @DefaultValue("1s") Duration initialBackoff,
+    @DefaultValue("1m") Duration maxBackoff
+) {
+    /**
+     * @param attempt 실패한 시도 횟수 (1부터)
+     */
+    public Duration backoff(int attempt) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
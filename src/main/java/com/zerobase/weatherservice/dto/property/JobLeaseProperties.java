@@ -0,0 +1,18 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param duration 연장하지 않으면 리스가 만료되는 시간 (노드 간 시계 차이보다 충분히 길게)
+ * @param renewInterval 작업 중 리스를 연장하는 주기 (duration보다 짧게)
+ * @param takeOverCheckInterval 다른 노드가 끝내지 못한 작업을 이어서 실행할지 확인하는 주기
+ */
+@ConfigurationProperties(prefix = "job.lease")
+public record JobLeaseProperties (
+    @DefaultValue("2m") Duration duration,
+    @DefaultValue("30s") Duration renewInterval,
+    @DefaultValue("1m") Duration takeOverCheckInterval
+) {}
@@ -0,0 +1,49 @@
+package com.zerobase.weatherservice.dto.property;
+
+import com.zerobase.weatherservice.ratelimit.RequestBudget;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 다이어리 API의 클라이언트(IP)별 토큰 버킷 설정
+ * 버킷은 burst개의 요청까지 한 번에 허용하고, 초당 perSecond개씩 다시 채워짐
+ * @param enabled false라면 요청 수를 제한하지 않음
+ * @param readBurst 조회 요청의 버킷 크기
+ * @param readPerSecond 조회 요청의 초당 허용 수
+ * @param writeBurst 날씨 API를 호출하지 않는 수정, 삭제 요청의 버킷 크기
+ * @param writePerSecond 수정, 삭제 요청의 초당 허용 수
+ * @param weatherWriteBurst 날씨 API를 호출하는 추가 요청의 버킷 크기
+ * @param weatherWritePerSecond 날씨 API를 호출하는 추가 요청의 초당 허용 수
+ * @param maxClients 버킷을 유지하는 최대 클라이언트 수 (넘치면 오래 사용하지 않은 버킷부터 제거)
+ * @param clientIdleTimeout 이 시간 동안 요청이 없던 클라이언트의 버킷은 제거 (다시 가득 찬 버킷으로 시작)
+ */
+@ConfigurationProperties(prefix = "diary.rate-limit")
+public record RateLimitProperties (
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int readBurst,
+        @DefaultValue("50") double readPerSecond,
+        @DefaultValue("20") int writeBurst,
+        @DefaultValue("10") double writePerSecond,
+        @DefaultValue("5") int weatherWriteBurst,
+        @DefaultValue("1") double weatherWritePerSecond,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("10m") Duration clientIdleTimeout
+) {
+    public int burst(RequestBudget budget) {
+        return switch (budget) {
+            case READ -> readBurst;
+            case WRITE -> writeBurst;
+            case WEATHER_WRITE -> weatherWriteBurst;
+        };
+    }
+
+    public double perSecond(RequestBudget budget) {
+        return switch (budget) {
+            case READ -> readPerSecond;
+            case WRITE -> writePerSecond;
+            case WEATHER_WRITE -> weatherWritePerSecond;
+        };
+    }
+}
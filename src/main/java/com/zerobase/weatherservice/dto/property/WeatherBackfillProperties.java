@@ -0,0 +1,16 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param batchDays 한 번에 요청하고 체크포인트를 남기는 날짜 수
+ * @param lookbackDays 매일 빈 날씨 정보를 찾아 채우는 기간 (오늘 포함 지난 N일)
+ * @param maxRetries 배치 저장이 충돌했을 때 다시 시도하는 횟수
+ */
+@ConfigurationProperties(prefix = "weather.backfill")
+public record WeatherBackfillProperties (
+    @DefaultValue("7") int batchDays,
+    @DefaultValue("7") int lookbackDays,
+    @DefaultValue("3") int maxRetries
+) {}
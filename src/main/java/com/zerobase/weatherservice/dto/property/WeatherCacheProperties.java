@@ -0,0 +1,12 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "weather.cache")
+public record WeatherCacheProperties (
+    @DefaultValue("1000") long maximumSize,
+    @DefaultValue("6h") Duration ttl
+) {}
@@ -0,0 +1,19 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 날씨 API를 사용할 수 없을 때의 다이어리 날씨 대체 정책
+ * @param maxStaleDays 대신 사용할 수 있는 가장 가까운 날씨 정보의 최대 날짜 차이
+ * @param sweepInterval PENDING, STALE 다이어리의 날씨를 다시 채우는 주기
+ * @param maxSweepAttempts 다시 채우기에 이 횟수만큼 실패한 (도시, 날짜)의 다이어리는 FAILED로 표시
+ */
+@ConfigurationProperties(prefix = "weather.fallback")
+public record WeatherFallbackProperties (
+    @DefaultValue("3") int maxStaleDays,
+    @DefaultValue("5m") Duration sweepInterval,
+    @DefaultValue("3") int maxSweepAttempts
+) {}
@@ -0,0 +1,22 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * @param cities 매일 날씨 정보를 수집하는 도시 목록
+ * @param defaultCity 도시를 지정하지 않은 다이어리에 사용할 도시
+ * @param workers 날씨 정보를 수집하는 작업 스레드 수
+ */
+@ConfigurationProperties(prefix = "weather.ingest")
+public record WeatherIngestProperties (
+    @DefaultValue("seoul") List<String> cities,
+    @DefaultValue("seoul") String defaultCity,
+    @DefaultValue("16") int workers
+) {
+    public boolean supports(String city) {
+        return defaultCity.equals(city) || cities.contains(city);
+    }
+}
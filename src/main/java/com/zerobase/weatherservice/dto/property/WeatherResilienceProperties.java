@@ -0,0 +1,29 @@
+package com.zerobase.weatherservice.dto.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 날씨 API 호출의 서킷 브레이커, 벌크헤드 설정
+ * @param failureRateThreshold 실패 비율이 이 값(%) 이상이면 서킷을 엶
+ * @param slowCallRateThreshold 느린 호출 비율이 이 값(%) 이상이면 서킷을 엶
+ * @param slowCallDurationThreshold 이 시간보다 오래 걸린 호출은 느린 호출로 집계
+ * @param slidingWindowSize 실패 비율을 계산하는 최근 호출 수
+ * @param minimumNumberOfCalls 실패 비율을 계산하기 위한 최소 호출 수
+ * @param waitDurationInOpenState 서킷이 열린 뒤 half-open으로 바뀌기까지의 시간
+ * @param permittedCallsInHalfOpenState half-open 상태에서 시험 삼아 보내는 호출 수
+ * @param maxConcurrentCalls 날씨 API를 동시에 호출할 수 있는 최대 스레드 수 (초과 시 대기 없이 거절)
+ */
+@ConfigurationProperties(prefix = "weather.resilience")
+public record WeatherResilienceProperties (
+    @DefaultValue("50") float failureRateThreshold,
+    @DefaultValue("50") float slowCallRateThreshold,
+    @DefaultValue("3s") Duration slowCallDurationThreshold,
+    @DefaultValue("20") int slidingWindowSize,
+    @DefaultValue("10") int minimumNumberOfCalls,
+    @DefaultValue("30s") Duration waitDurationInOpenState,
+    @DefaultValue("3") int permittedCallsInHalfOpenState,
+    @DefaultValue("20") int maxConcurrentCalls
+) {}
@@ -0,0 +1,15 @@
+package com.zerobase.weatherservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+
+/**
+ * @param city 날씨 정보를 가져올 도시 (null이라면 기본 도시)
+ */
+public record DiaryCreateRequest (
+        String city,
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate date,
+        String text
+) {
+}
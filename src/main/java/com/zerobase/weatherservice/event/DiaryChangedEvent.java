@@ -0,0 +1,20 @@
+package com.zerobase.weatherservice.event;
+
+import java.time.LocalDate;
+
+/**
+ * startDate ~ endDate 기간 내의 다이어리가 추가, 수정, 삭제됨
+ * 트랜잭션 안에서 발행하며, 커밋된 후에만 캐시 무효화 등에 사용
+ */
+public record DiaryChangedEvent (
+        LocalDate startDate,
+        LocalDate endDate
+) {
+    public static DiaryChangedEvent of(LocalDate date) {
+        return new DiaryChangedEvent(date, date);
+    }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
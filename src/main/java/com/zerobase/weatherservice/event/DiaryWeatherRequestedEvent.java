@@ -0,0 +1,14 @@
+package com.zerobase.weatherservice.event;
+
+import java.time.LocalDate;
+
+/**
+ * 날씨 없이(PENDING) 저장된 다이어리의 날씨 채우기 요청
+ * 트랜잭션 안에서 발행하며, 커밋된 후에만 날씨 채우기 작업에 전달
+ */
+public record DiaryWeatherRequestedEvent (
+        int id,
+        String city,
+        LocalDate date
+) {
+}
@@ -2,19 +2,49 @@ package com.zerobase.weatherservice.exception;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.PRECONDITION_REQUIRED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 
 @Getter
 @AllArgsConstructor
 public enum ErrorCode {
-    INTERNAL_SERVER_ERROR_CODE("내부 서버 오류가 발생했습니다."),
-    INVALID_REQUEST("잘못된 요청입니다."),
-    NOT_FOUND_DIARY("다이어리가 존재하지 않습니다."),
-    NOT_EXIST_DATA("날씨 정보가 존재하지 않습니다."),
-    FAILED_GET_FROM_API("API로부터 데이터를 가져오는데 실패했습니다."),
-    FAILED_PARSING_JSON("JSON 객체로 파싱하는데 실패했습니다."),
-    FAILED_SAVE_WEATHER("날씨 정보를 DB에 저장하는데 실패했습니다."),
-    FAILED_SAVE_DIARY("Diary를 DB에 저장하는데 실패했습니다."),
-    FAILED_DELETE_DIARY("Diary를 DB에 삭제하는데 실패했습니다.")
+    INTERNAL_SERVER_ERROR_CODE(INTERNAL_SERVER_ERROR, "내부 서버 오류가 발생했습니다."),
+    INVALID_REQUEST(BAD_REQUEST, "잘못된 요청입니다."),
+    INVALID_CURSOR(BAD_REQUEST, "잘못된 커서입니다."),
+    TOO_MANY_DIARIES(BAD_REQUEST, "한 번에 추가할 수 있는 다이어리 수를 넘었습니다."),
+    NOT_SUPPORTED_CITY(BAD_REQUEST, "지원하지 않는 도시입니다."),
+    INVALID_DATE_RANGE(BAD_REQUEST, "잘못된 기간입니다."),
+    NOT_ARRIVED_DATE(BAD_REQUEST, "아직 오지 않은 날짜의 날씨는 조회할 수 없습니다."),
+    INVALID_SEARCH_QUERY(BAD_REQUEST, "검색할 수 있는 단어가 없습니다."),
+    INVALID_DIARY_EXPORT(BAD_REQUEST, "손상되었거나 형식이 잘못된 다이어리 내보내기 파일입니다."),
+    NOT_FOUND_BACKFILL(NOT_FOUND, "backfill 작업이 존재하지 않습니다."),
+    NOT_FOUND_DIARY(NOT_FOUND, "다이어리가 존재하지 않습니다."),
+    NOT_FOUND_DIARY_IMPORT(NOT_FOUND, "다이어리 가져오기 작업이 존재하지 않습니다."),
+    ALREADY_RUNNING_BACKFILL(CONFLICT, "이미 진행 중인 backfill 작업이 있습니다."),
+    REQUIRED_DIARY_VERSION(PRECONDITION_REQUIRED, "If-Match 헤더로 다이어리 버전(ETag)을 전달해야 합니다."),
+    MISMATCH_DIARY_VERSION(PRECONDITION_FAILED, "다이어리가 다른 요청으로 변경되었습니다. 다시 조회한 후 시도해주세요."),
+    CONFLICT_DIARY_UPDATE(CONFLICT, "다른 요청이 같은 다이어리를 동시에 변경하여 실패했습니다."),
+    NOT_FAILED_DIARY_WEATHER(CONFLICT, "날씨 채우기에 실패한 다이어리가 아닙니다."),
+    LOST_JOB_LEASE(CONFLICT, "작업 리스를 다른 노드가 가져가 저장하지 않았습니다."),
+    NOT_EXIST_DATA(INTERNAL_SERVER_ERROR, "날씨 정보가 존재하지 않습니다."),
+    FAILED_GET_FROM_API(INTERNAL_SERVER_ERROR, "API로부터 데이터를 가져오는데 실패했습니다."),
+    WEATHER_API_UNAVAILABLE(SERVICE_UNAVAILABLE, "날씨 API를 일시적으로 사용할 수 없습니다."),
+    RATE_LIMITED(TOO_MANY_REQUESTS, "요청이 너무 많습니다. Retry-After 이후에 다시 시도해 주세요."),
+    SERVER_OVERLOADED(SERVICE_UNAVAILABLE, "서버가 처리할 수 있는 요청보다 많아 거절했습니다. Retry-After 이후에 다시 시도해 주세요."),
+    FAILED_PARSING_JSON(INTERNAL_SERVER_ERROR, "JSON 객체로 파싱하는데 실패했습니다."),
+    FAILED_SAVE_WEATHER(INTERNAL_SERVER_ERROR, "날씨 정보를 DB에 저장하는데 실패했습니다."),
+    FAILED_SAVE_DIARY(INTERNAL_SERVER_ERROR, "Diary를 DB에 저장하는데 실패했습니다."),
+    FAILED_DELETE_DIARY(INTERNAL_SERVER_ERROR, "Diary를 DB에 삭제하는데 실패했습니다."),
+    FAILED_INDEX_DIARY(INTERNAL_SERVER_ERROR, "Diary 검색 색인에 실패했습니다.")
     ;
+    private final HttpStatus httpStatus;
     private final String description;
 }
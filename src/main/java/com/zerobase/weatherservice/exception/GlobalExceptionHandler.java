@@ -2,10 +2,13 @@ package com.zerobase.weatherservice.exception;
 
 import com.zerobase.weatherservice.WeatherServiceApplication;
 import com.zerobase.weatherservice.dto.response.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -16,15 +19,21 @@ import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_REQUEST;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 
+/**
+ * 응답한 에러는 diary.errors{code, status} 메트릭으로 ErrorCode별로 집계
+ */
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
     private final static Logger logger = LoggerFactory.getLogger(WeatherServiceApplication.class);
+    private final MeterRegistry meterRegistry;
 
     @ResponseStatus(BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public Response<String> handleMethodArgsException(MethodArgumentNotValidException e) {
         logger.error("MethodArgumentNotValidException is occurred.", e);
+        countError(INVALID_REQUEST);
         return Response.error(INVALID_REQUEST.getDescription());
     }
 
@@ -32,6 +41,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DataIntegrityViolationException.class)
     public Response<String> handleDataViolationException(DataIntegrityViolationException e) {
         logger.error("DataIntegrityViolationException is occurred.", e);
+        countError(INVALID_REQUEST);
         return Response.error(INVALID_REQUEST.getDescription());
     }
 
@@ -39,12 +49,20 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public Response<String> handleAllException(Exception e) {
         logger.error("Exception is occurred.", e);
+        countError(INTERNAL_SERVER_ERROR_CODE);
         return Response.error(INTERNAL_SERVER_ERROR_CODE.getDescription());
     }
 
-    @ResponseStatus(INTERNAL_SERVER_ERROR)
     @ExceptionHandler(DiaryException.class)
-    public Response<String> handleDiaryException(DiaryException e) {
-        return Response.error(e.getErrorMessage());
+    public ResponseEntity<Response<String>> handleDiaryException(DiaryException e) {
+        countError(e.getErrorCode());
+        return ResponseEntity.status(e.getErrorCode().getHttpStatus())
+                .body(Response.error(e.getErrorMessage()));
+    }
+
+    private void countError(ErrorCode errorCode) {
+        meterRegistry.counter("diary.errors",
+                "code", errorCode.name(),
+                "status", String.valueOf(errorCode.getHttpStatus().value())).increment();
     }
 }
@@ -0,0 +1,43 @@
+package com.zerobase.weatherservice.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 스레드를 막지 않도록 큐가 가득 차면 로그를 버리고, 버린 로그 수를 세는 AsyncAppender
+ * - 큐가 discardingThreshold 아래로 남으면 INFO 이하 로그를 버림
+ * - 큐가 가득 차면 모든 로그를 버림 (neverBlock)
+ * - 버린 로그 수: logback.async.dropped 메트릭
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+    private static final LongAdder DROPPED = new LongAdder();
+
+    public CountingAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    public static long droppedCount() {
+        return DROPPED.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // neverBlock이면 큐가 가득 찼을 때 offer가 조용히 실패하므로 먼저 확인
+        if (isStarted() && getRemainingCapacity() == 0) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DROPPED.increment();
+        }
+        return discardable;
+    }
+}
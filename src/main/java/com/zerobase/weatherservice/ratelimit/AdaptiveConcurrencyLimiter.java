@@ -0,0 +1,108 @@
+package com.zerobase.weatherservice.ratelimit;
+
+import com.zerobase.weatherservice.dto.property.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답 시간에 따라 동시 처리 요청 수의 상한을 조정 (gradient 방식)
+ * - 평소 응답 시간(longRtt, 여러 주기의 지수 이동 평균)과 최근 주기의 평균 응답 시간(shortRtt)을 비교하여
+ *   최근 응답 시간이 tolerance배를 넘게 늘어났다면 그 비율만큼 상한을 줄이고, 그렇지 않다면 sqrt(상한)만큼 늘림
+ * - 상한을 넘는 요청은 기다리게 하지 않고 바로 거절하여 DB 커넥션, 스레드를 기다리는 대기열이 쌓이지 않도록 함
+ * - 처리 중인 요청 수는 CAS로, 응답 시간은 LongAdder로 모으고 주기마다 CAS에 성공한 스레드 하나만 상한을 다시 계산하므로 락이 없음
+ */
+class AdaptiveConcurrencyLimiter {
+    /** 평소 응답 시간의 지수 이동 평균에 반영하는 주기 수 */
+    private static final double LONG_RTT_WINDOWS = 20;
+
+    private final ConcurrencyLimitProperties properties;
+    private final long windowNanos;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAccumulator maxInflight = new LongAccumulator(Math::max, 0);
+    private final LongAdder rttSumNanos = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final AtomicLong nextUpdateAt;
+    private volatile double limit;
+    private volatile double longRttNanos;
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, long nowNanos) {
+        this.properties = properties;
+        this.windowNanos = properties.window().toNanos();
+        this.nextUpdateAt = new AtomicLong(nowNanos + windowNanos);
+        this.limit = properties.initialLimit();
+    }
+
+    /**
+     * @return 상한에 도달했다면 false, 허용했다면 요청이 끝난 후 반드시 release를 호출해야 함
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                maxInflight.accumulate(current + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 응답 시간을 기록하지 않고 반환 (비동기 응답처럼 요청 스레드 밖에서 계속 처리하는 경우)
+     */
+    void release() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * @param rttNanos 요청을 허용한 후 응답할 때까지의 시간
+     */
+    void release(long rttNanos, long nowNanos) {
+        inflight.decrementAndGet();
+        rttSumNanos.add(rttNanos);
+        rttCount.increment();
+        long updateAt = nextUpdateAt.get();
+        if (nowNanos - updateAt >= 0 && nextUpdateAt.compareAndSet(updateAt, nowNanos + windowNanos)) {
+            update();
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInflight() {
+        return inflight.get();
+    }
+
+    private void update() {
+        if (rttCount.sum() < properties.minWindowSamples()) {
+            // 응답이 적다면 다음 주기까지 모아서 계산
+            return;
+        }
+        long count = rttCount.sumThenReset();
+        double shortRtt = (double) rttSumNanos.sumThenReset() / count;
+        double longRtt = longRttNanos == 0
+                ? shortRtt
+                : longRttNanos + (shortRtt - longRttNanos) / LONG_RTT_WINDOWS;
+        if (longRtt > shortRtt * 2) {
+            // 부하가 줄어 응답이 빨라졌다면 평소 응답 시간도 빠르게 따라감
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        double current = limit;
+        if (maxInflight.getThenReset() < current / 2) {
+            // 상한의 절반도 사용하지 않았다면 응답 시간이 상한 때문이 아니므로 그대로 둠
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.tolerance() * longRtt / shortRtt));
+        double next = current * gradient + Math.sqrt(current);
+        next = current * (1 - properties.smoothing()) + next * properties.smoothing();
+        limit = Math.max(properties.minLimit(), Math.min(properties.maxLimit(), next));
+    }
+}
@@ -0,0 +1,37 @@
+package com.zerobase.weatherservice.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zerobase.weatherservice.dto.property.RateLimitProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 클라이언트별, 요청 종류별 토큰 버킷
+ * 버킷은 요청 종류별 Caffeine 캐시(내부적으로 분할된 ConcurrentHashMap)에 두어 클라이언트 간에 락을 공유하지 않으며,
+ * 오래 사용하지 않은 클라이언트의 버킷은 제거하여 메모리를 제한
+ */
+class ClientRateLimiter {
+    private final RateLimitProperties properties;
+    private final Map<RequestBudget, Cache<String, TokenBucket>> buckets = new EnumMap<>(RequestBudget.class);
+
+    ClientRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        for (RequestBudget budget : RequestBudget.values()) {
+            buckets.put(budget, Caffeine.newBuilder()
+                    .maximumSize(properties.maxClients())
+                    .expireAfterAccess(properties.clientIdleTimeout())
+                    .build());
+        }
+    }
+
+    /**
+     * @return 허용했다면 0, 거절했다면 다시 요청할 수 있을 때까지의 시간(ns)
+     */
+    long tryAcquire(String client, RequestBudget budget, long nowNanos) {
+        return buckets.get(budget)
+                .get(client, key -> new TokenBucket(properties.burst(budget), properties.perSecond(budget), nowNanos))
+                .tryAcquire(nowNanos);
+    }
+}
@@ -0,0 +1,15 @@
+package com.zerobase.weatherservice.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드의 요청을 HTTP 메서드로 정한 종류(GET이라면 READ, 그 외에는 WRITE) 대신 value의 버킷으로 제한
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimitBudget {
+    RequestBudget value();
+}
@@ -0,0 +1,133 @@
+package com.zerobase.weatherservice.ratelimit;
+
+import com.zerobase.weatherservice.dto.property.ConcurrencyLimitProperties;
+import com.zerobase.weatherservice.dto.property.RateLimitProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.RATE_LIMITED;
+import static com.zerobase.weatherservice.exception.ErrorCode.SERVER_OVERLOADED;
+
+/**
+ * 요청을 컨트롤러에 전달하기 전에 클라이언트별 요청 수와 서버 전체의 동시 처리 요청 수를 제한
+ * - 클라이언트(IP)의 요청 종류별 토큰 버킷이 비었다면 429, 동시 처리 요청 수가 상한에 도달했다면 503으로 바로 거절하고
+ *   Retry-After로 다시 요청할 수 있는 시간(초)을 전달
+ * - 프록시 뒤에서 실행한다면 server.forward-headers-strategy로 클라이언트 IP를 전달받아야 함
+ * - 비동기 응답(StreamingResponseBody)은 요청 스레드가 반환될 때 동시 처리 수에서 빼고 응답 시간은 기록하지 않음
+ * 거절한 요청 수는 diary.requests.rejected{budget, reason} 메트릭으로 확인
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+    private static final String STARTED_AT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".STARTED_AT";
+    /** 허용한 요청이지만 동시 처리 수를 차지하지 않는 경우 */
+    private static final Long NOT_HOLDING = Long.MIN_VALUE;
+
+    private final ClientRateLimiter clientRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Duration overloadRetryAfter;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitInterceptor(RateLimitProperties rateLimitProperties,
+                                ConcurrencyLimitProperties concurrencyLimitProperties,
+                                MeterRegistry meterRegistry) {
+        this.clientRateLimiter = rateLimitProperties.enabled() ? new ClientRateLimiter(rateLimitProperties) : null;
+        this.concurrencyLimiter = concurrencyLimitProperties.enabled()
+                ? new AdaptiveConcurrencyLimiter(concurrencyLimitProperties, System.nanoTime())
+                : null;
+        this.overloadRetryAfter = concurrencyLimitProperties.retryAfter();
+        this.meterRegistry = meterRegistry;
+        if (concurrencyLimiter != null) {
+            meterRegistry.gauge("diary.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit);
+            meterRegistry.gauge("diary.concurrency.inflight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInflight);
+        }
+    }
+
+    /**
+     * @throws DiaryException 토큰 버킷이 비었다면 RATE_LIMITED, 동시 처리 요청 수가 상한에 도달했다면 SERVER_OVERLOADED
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(STARTED_AT_ATTRIBUTE) != null) {
+            // 비동기 응답을 쓰기 위한 재디스패치는 이미 허용한 요청
+            return true;
+        }
+        RequestBudget budget = budget(request, handler);
+        long now = System.nanoTime();
+        if (clientRateLimiter != null) {
+            long waitNanos = clientRateLimiter.tryAcquire(request.getRemoteAddr(), budget, now);
+            if (waitNanos > 0) {
+                throw reject(response, budget, RATE_LIMITED, Duration.ofNanos(waitNanos));
+            }
+        }
+        if (concurrencyLimiter == null) {
+            request.setAttribute(STARTED_AT_ATTRIBUTE, NOT_HOLDING);
+            return true;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            throw reject(response, budget, SERVER_OVERLOADED, overloadRetryAfter);
+        }
+        request.setAttribute(STARTED_AT_ATTRIBUTE, now);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (holdsPermit(request)) {
+            request.setAttribute(STARTED_AT_ATTRIBUTE, NOT_HOLDING);
+            concurrencyLimiter.release();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (holdsPermit(request)) {
+            long startedAt = (Long) request.getAttribute(STARTED_AT_ATTRIBUTE);
+            request.setAttribute(STARTED_AT_ATTRIBUTE, NOT_HOLDING);
+            if (ex == null && response.getStatus() < 500) {
+                long now = System.nanoTime();
+                concurrencyLimiter.release(now - startedAt, now);
+            } else {
+                // 실패한 요청의 응답 시간은 처리 시간을 나타내지 않으므로 기록하지 않음
+                concurrencyLimiter.release();
+            }
+        }
+    }
+
+    private boolean holdsPermit(HttpServletRequest request) {
+        Object startedAt = request.getAttribute(STARTED_AT_ATTRIBUTE);
+        return startedAt != null && !NOT_HOLDING.equals(startedAt);
+    }
+
+    private DiaryException reject(HttpServletResponse response, RequestBudget budget, ErrorCode errorCode,
+                                  Duration retryAfter) {
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfter.toNanos() + 999_999_999))));
+        meterRegistry.counter("diary.requests.rejected",
+                "budget", budget.name(),
+                "reason", errorCode == RATE_LIMITED ? "rate" : "concurrency").increment();
+        return new DiaryException(errorCode);
+    }
+
+    private static RequestBudget budget(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            RateLimitBudget rateLimitBudget = handlerMethod.getMethodAnnotation(RateLimitBudget.class);
+            if (rateLimitBudget != null) {
+                return rateLimitBudget.value();
+            }
+        }
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? RequestBudget.READ
+                : RequestBudget.WRITE;
+    }
+}
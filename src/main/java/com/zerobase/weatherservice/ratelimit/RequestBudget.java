@@ -0,0 +1,11 @@
+package com.zerobase.weatherservice.ratelimit;
+
+/**
+ * 클라이언트마다 따로 제한하는 요청 종류
+ * - READ: 조회 (GET)
+ * - WRITE: 날씨 API를 호출하지 않는 추가, 수정, 삭제
+ * - WEATHER_WRITE: 날씨 API를 호출하는 추가 (@RateLimitBudget(WEATHER_WRITE)으로 지정)
+ */
+public enum RequestBudget {
+    READ, WRITE, WEATHER_WRITE
+}
@@ -0,0 +1,43 @@
+package com.zerobase.weatherservice.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 토큰 버킷을 GCRA(Generic Cell Rate Algorithm)로 구현
+ * 남은 토큰 수 대신 버킷이 가득 차는 시각(theoreticalArrival) 하나만 저장하므로 락 없이 CAS 한 번으로 갱신
+ * - 요청마다 theoreticalArrival을 interval만큼 뒤로 미루고, 현재 시각보다 burst * interval 넘게 앞서면 거절
+ */
+final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param burst 한 번에 허용하는 최대 요청 수
+     * @param perSecond 초당 다시 채워지는 토큰 수
+     * @param nowNanos 생성 시각 (가득 찬 버킷으로 시작)
+     */
+    TokenBucket(int burst, double perSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 허용했다면 0, 거절했다면 토큰이 하나 채워질 때까지 기다려야 하는 시간(ns)
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,11 +1,28 @@
 package com.zerobase.weatherservice.repository;
 
 import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.DateWeatherId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
-public interface DateWeatherRepository extends JpaRepository<DateWeather, LocalDate> {
-    List<DateWeather> findAllByDate(LocalDate date);
+public interface DateWeatherRepository extends JpaRepository<DateWeather, DateWeatherId> {
+    Optional<DateWeather> findByCityAndDate(String city, LocalDate date);
+
+    Optional<DateWeather> findFirstByCityAndDateLessThanOrderByDateDesc(String city, LocalDate date);
+
+    Optional<DateWeather> findFirstByCityAndDateGreaterThanOrderByDateAsc(String city, LocalDate date);
+
+    List<DateWeather> findAllByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 특정 기간 내에 저장된 날씨 정보의 키만 조회
+     */
+    @Query("select new com.zerobase.weatherservice.domain.DateWeatherId(w.city, w.date) from DateWeather w"
+            + " where w.date between :startDate and :endDate")
+    List<DateWeatherId> findIdsByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
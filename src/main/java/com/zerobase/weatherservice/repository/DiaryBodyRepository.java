@@ -0,0 +1,32 @@
+package com.zerobase.weatherservice.repository;
+
+import com.zerobase.weatherservice.domain.DiaryBody;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface DiaryBodyRepository extends JpaRepository<DiaryBody, Integer> {
+    /**
+     * 본문을 조회하지 않고 하나의 UPDATE 문으로 수정 (text는 CompressedTextConverter로 변환되어 저장)
+     * @return 갱신된 행 수 (본문이 없다면 0)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update DiaryBody b set b.text = :text where b.id = :id")
+    int updateText(@Param("id") int id, @Param("text") String text);
+
+    /**
+     * 해당 날짜의 다이어리 본문을 삭제 (diary를 참조하므로 다이어리보다 먼저 삭제)
+     * @return 삭제된 행 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from DiaryBody b where b.id in (select d.id from Diary d where d.date = :date)")
+    int deleteInBulkByDiaryDate(@Param("date") LocalDate date);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from DiaryBody b where b.id in :ids")
+    int deleteInBulkByIdIn(@Param("ids") Collection<Integer> ids);
+}
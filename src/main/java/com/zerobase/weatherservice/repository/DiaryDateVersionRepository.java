@@ -0,0 +1,46 @@
+package com.zerobase.weatherservice.repository;
+
+import com.zerobase.weatherservice.domain.DiaryDateVersion;
+import com.zerobase.weatherservice.dto.DiaryVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DiaryDateVersionRepository extends JpaRepository<DiaryDateVersion, LocalDate> {
+    List<DiaryDateVersion> findAllByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 기간 내 날짜별 버전의 합과 마지막 변경 시각
+     * 버전은 감소하지 않으므로 기간 내 어느 날짜라도 변경되면 합이 달라짐
+     */
+    @Query("select new com.zerobase.weatherservice.dto.DiaryVersion(coalesce(sum(v.version), 0L), max(v.modifiedAt))"
+            + " from DiaryDateVersion v where v.date between :startDate and :endDate")
+    DiaryVersion sumVersionByDateBetween(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * 해당 날짜의 버전을 1 증가 (행이 없다면 버전 1로 추가)
+     * 하나의 문으로 증가시키므로 동시에 변경되더라도 버전이 같아지지 않음
+     */
+    @Modifying
+    @Query(value = "insert into diary_date_version (date, version, modified_at) values (:date, 1, :now)"
+            + " on duplicate key update version = version + 1, modified_at = :now", nativeQuery = true)
+    void increaseVersion(@Param("date") LocalDate date, @Param("now") LocalDateTime now);
+
+    /**
+     * 기간 내 다이어리가 있는 모든 날짜의 버전을 1 증가 (다이어리 삭제 전에 같은 트랜잭션에서 호출)
+     */
+    @Modifying
+    @Query(value = "insert into diary_date_version (date, version, modified_at)"
+            + " select distinct d.date, 1, :now from diary d where d.date between :startDate and :endDate"
+            + " on duplicate key update version = diary_date_version.version + 1, modified_at = :now",
+            nativeQuery = true)
+    void increaseVersionByDiaryDateBetween(@Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate,
+                                           @Param("now") LocalDateTime now);
+}
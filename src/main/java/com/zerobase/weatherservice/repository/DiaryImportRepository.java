@@ -0,0 +1,7 @@
+package com.zerobase.weatherservice.repository;
+
+import com.zerobase.weatherservice.domain.DiaryImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DiaryImportRepository extends JpaRepository<DiaryImport, String> {
+}
@@ -1,18 +1,208 @@
 package com.zerobase.weatherservice.repository;
 
+import com.zerobase.weatherservice.domain.DateWeatherId;
 import com.zerobase.weatherservice.domain.Diary;
+import com.zerobase.weatherservice.domain.WeatherStatus;
+import com.zerobase.weatherservice.dto.DiaryCount;
+import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.DiaryText;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface DiaryRepository extends JpaRepository<Diary, Integer> {
-    List<Diary> findAllByDate(LocalDate date);
+    /**
+     * MySQL은 DB_URL에 useCursorFetch=true 옵션이 있어야 fetch size 단위로 읽어옴
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * 조회 결과를 Entity로 만들지 않고 바로 DiaryDto로 생성 (영속성 컨텍스트, 스냅샷 없음)
+     * 본문(diary_body)은 조인하지 않으므로 text는 null
+     */
+    String SELECT_DIARY_DTO = "select new com.zerobase.weatherservice.dto.DiaryDto("
+            + "d.id, d.city, d.weather, d.icon, d.temperature, d.weatherStatus, d.date, d.version) from Diary d";
+
+    /**
+     * 본문을 포함한 다이어리 상세 조회
+     */
+    @Query("select new com.zerobase.weatherservice.dto.DiaryDto("
+            + "d.id, d.city, d.weather, d.icon, d.temperature, d.weatherStatus, b.text, d.date, d.version)"
+            + " from Diary d left join DiaryBody b on b.id = d.id where d.id = :id")
+    Optional<DiaryDto> findDetailById(@Param("id") int id);
+
+    @Query(SELECT_DIARY_DTO + " where d.date in :dates order by d.date, d.id")
+    List<DiaryDto> findDtoByDateIn(@Param("dates") Collection<LocalDate> dates);
+
+    @Query(SELECT_DIARY_DTO + " where d.id in :ids order by d.date, d.id")
+    List<DiaryDto> findDtoByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(SELECT_DIARY_DTO + " where d.date between :startDate and :endDate order by d.date, d.id")
+    List<DiaryDto> findDtoByDateBetween(@Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    @Query(SELECT_DIARY_DTO + " where d.date between :startDate and :endDate order by d.date, d.id")
+    List<DiaryDto> findDtoPageByDateBetween(@Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate,
+                                            Pageable pageable);
+
+    /**
+     * (date, id)가 커서 위치보다 뒤에 있는 다이어리를 조회 (keyset 페이지네이션)
+     */
+    @Query(SELECT_DIARY_DTO + " where d.date between :startDate and :endDate"
+            + " and (d.date > :cursorDate or (d.date = :cursorDate and d.id > :cursorId))"
+            + " order by d.date, d.id")
+    List<DiaryDto> findDtoPageByDateBetweenAfter(@Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate,
+                                                 @Param("cursorDate") LocalDate cursorDate,
+                                                 @Param("cursorId") int cursorId,
+                                                 Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SELECT_DIARY_DTO + " where d.date between :startDate and :endDate order by d.date, d.id")
+    Stream<DiaryDto> streamDtoByDateBetween(@Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    /**
+     * 내보내기용 본문을 포함한 다이어리를 id 순서로 조회 (afterId 다음부터 이어서 내보낼 수 있음)
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.zerobase.weatherservice.dto.DiaryDto("
+            + "d.id, d.city, d.weather, d.icon, d.temperature, d.weatherStatus, b.text, d.date, d.version)"
+            + " from Diary d left join DiaryBody b on b.id = d.id where d.id > :afterId order by d.id")
+    Stream<DiaryDto> streamDetailByIdGreaterThan(@Param("afterId") int afterId);
+
+    /**
+     * 검색 색인용 본문 조회
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.zerobase.weatherservice.dto.DiaryText(d.id, d.date, b.text)"
+            + " from Diary d left join DiaryBody b on b.id = d.id where d.date between :startDate and :endDate")
+    Stream<DiaryText> streamTextByDateBetween(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
 
-    List<Diary> findAllByDateBetween(LocalDate startDate, LocalDate endDate);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.zerobase.weatherservice.dto.DiaryText(d.id, d.date, b.text)"
+            + " from Diary d left join DiaryBody b on b.id = d.id")
+    Stream<DiaryText> streamAllText();
 
     Optional<Diary> getFirstByDate(LocalDate date);
 
-    void deleteAllByDate(LocalDate date);
+    @Query("select d.date from Diary d where d.id = :id")
+    Optional<LocalDate> findDateById(@Param("id") int id);
+
+    /**
+     * 버전이 같을 때만 버전을 증가 (다이어리를 조회하지 않는 하나의 조건부 UPDATE 문)
+     * 갱신한 행은 트랜잭션이 끝날 때까지 잠기므로 같은 다이어리를 동시에 수정하면 하나만 성공
+     * @return 갱신된 행 수 (다이어리가 없거나 다른 요청이 먼저 변경했다면 0)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Diary d set d.version = d.version + 1 where d.id = :id and d.version = :version")
+    int increaseVersion(@Param("id") int id, @Param("version") long version);
+
+    /**
+     * Entity를 조회하지 않고 하나의 DELETE 문으로 삭제
+     * @return 삭제된 행 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Diary d where d.date = :date")
+    int deleteInBulkByDate(@Param("date") LocalDate date);
+
+    /**
+     * 기간 내 다이어리의 id를 (date, id) 순서로 조회 (나누어 삭제할 때 사용)
+     */
+    @Query("select d.id from Diary d where d.date between :startDate and :endDate order by d.date, d.id")
+    List<Integer> findIdsByDateBetween(@Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate,
+                                       Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Diary d where d.id in :ids")
+    int deleteInBulkByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * (날짜, 도시)별 다이어리 수 (통계 롤업 반영용)
+     */
+    @Query("select new com.zerobase.weatherservice.dto.DiaryCount(d.date, d.city, count(d)) from Diary d"
+            + " where d.date between :startDate and :endDate group by d.date, d.city")
+    List<DiaryCount> countByDateBetweenGroupByDateAndCity(@Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
+
+    @Query("select new com.zerobase.weatherservice.dto.DiaryCount(d.date, d.city, count(d)) from Diary d"
+            + " where d.id in :ids group by d.date, d.city")
+    List<DiaryCount> countByIdInGroupByDateAndCity(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * 날씨가 채워지지 않은 (PENDING, STALE) 다이어리의 (도시, 날짜)
+     */
+    @Query("select distinct new com.zerobase.weatherservice.domain.DateWeatherId(d.city, d.date) from Diary d"
+            + " where d.weatherStatus in :statuses order by d.date, d.city")
+    List<DateWeatherId> findWeatherIdsByWeatherStatusIn(@Param("statuses") Collection<WeatherStatus> statuses,
+                                                        Pageable pageable);
+
+    /**
+     * 특정 (도시, 날짜)의 날씨가 채워지지 않은 다이어리에 날씨를 채움
+     * @return 갱신된 다이어리 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Diary d set d.weather = :weather, d.icon = :icon, d.temperature = :temperature,"
+            + " d.version = d.version + 1,"
+            + " d.weatherStatus = com.zerobase.weatherservice.domain.WeatherStatus.FILLED"
+            + " where d.city = :city and d.date = :date and d.weatherStatus in :statuses")
+    int fillWeather(@Param("city") String city,
+                    @Param("date") LocalDate date,
+                    @Param("weather") String weather,
+                    @Param("icon") String icon,
+                    @Param("temperature") double temperature,
+                    @Param("statuses") Collection<WeatherStatus> statuses);
+
+    /**
+     * 특정 (도시, 날짜)의 날씨가 채워지지 않은 다이어리를 FAILED(dead letter)로 표시
+     * @return 갱신된 다이어리 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Diary d set d.weatherStatus = com.zerobase.weatherservice.domain.WeatherStatus.FAILED,"
+            + " d.version = d.version + 1"
+            + " where d.city = :city and d.date = :date and d.weatherStatus in :statuses")
+    int failWeather(@Param("city") String city,
+                    @Param("date") LocalDate date,
+                    @Param("statuses") Collection<WeatherStatus> statuses);
+
+    /**
+     * 날씨 채우기 작업이 조회한 날씨를 id로 채움 (그 사이 다른 작업이 먼저 채웠다면 갱신하지 않음)
+     * @param weatherStatus 채운 뒤의 상태 (FILLED 또는 STALE)
+     * @return 갱신된 다이어리 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Diary d set d.weather = :weather, d.icon = :icon, d.temperature = :temperature,"
+            + " d.version = d.version + 1, d.weatherStatus = :weatherStatus"
+            + " where d.id = :id and d.weatherStatus = com.zerobase.weatherservice.domain.WeatherStatus.PENDING")
+    int fillWeatherById(@Param("id") int id,
+                        @Param("weather") String weather,
+                        @Param("icon") String icon,
+                        @Param("temperature") double temperature,
+                        @Param("weatherStatus") WeatherStatus weatherStatus);
+
+    /**
+     * 날씨 상태가 from인 다이어리만 to로 변경
+     * @return 갱신된 다이어리 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Diary d set d.weatherStatus = :to, d.version = d.version + 1"
+            + " where d.id = :id and d.weatherStatus = :from")
+    int updateWeatherStatus(@Param("id") int id,
+                            @Param("from") WeatherStatus from,
+                            @Param("to") WeatherStatus to);
 }
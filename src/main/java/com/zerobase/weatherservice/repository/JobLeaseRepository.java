@@ -0,0 +1,58 @@
+package com.zerobase.weatherservice.repository;
+
+import com.zerobase.weatherservice.domain.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+    /**
+     * 작업의 리스 행이 없다면 만료된 리스로 추가 (여러 노드가 동시에 추가하더라도 실패하지 않음)
+     */
+    @Modifying
+    @Query(value = "insert into job_lease (name, token, expires_at) values (:name, 0, :now)"
+            + " on duplicate key update name = name", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name, @Param("now") LocalDateTime now);
+
+    /**
+     * 리스가 만료되었고 run이 아직 끝나지 않았다면 리스를 얻고 token을 증가
+     * 하나의 조건부 UPDATE 문이므로 여러 노드가 동시에 시도하더라도 하나만 성공
+     * @param takeOver true라면 다른 노드가 시작했지만 끝내지 못한 run만 이어서 실행
+     * @return 리스를 얻었다면 1
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update JobLease l set l.owner = :owner, l.token = l.token + 1, l.expiresAt = :expiresAt,"
+            + " l.startedRun = :run"
+            + " where l.name = :name and l.expiresAt <= :now"
+            + " and (l.finishedRun is null or l.finishedRun <> :run)"
+            + " and (:takeOver = false or l.startedRun = :run)")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("run") String run,
+                @Param("takeOver") boolean takeOver,
+                @Param("now") LocalDateTime now,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * token이 같을 때만 리스를 연장 (다른 노드가 리스를 얻었다면 0)
+     * 갱신한 행은 트랜잭션이 끝날 때까지 잠기므로 저장과 같은 트랜잭션에서 호출하면 커밋 전에 다른 노드가 리스를 얻지 못함
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update JobLease l set l.expiresAt = :expiresAt where l.name = :name and l.token = :token")
+    int renew(@Param("name") String name,
+              @Param("token") long token,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * token이 같을 때만 run을 끝난 것으로 기록하고 리스를 반납
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update JobLease l set l.finishedRun = :run, l.expiresAt = :now where l.name = :name and l.token = :token")
+    int release(@Param("name") String name,
+                @Param("token") long token,
+                @Param("run") String run,
+                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,125 @@
+package com.zerobase.weatherservice.repository;
+
+import com.zerobase.weatherservice.domain.StatsPeriod;
+import com.zerobase.weatherservice.domain.StatsRollup;
+import com.zerobase.weatherservice.domain.StatsRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface StatsRollupRepository extends JpaRepository<StatsRollup, StatsRollupId> {
+    List<StatsRollup> findAllByPeriodTypeAndPeriodStartBetween(StatsPeriod periodType,
+                                                              LocalDate startDate,
+                                                              LocalDate endDate);
+
+    List<StatsRollup> findAllByPeriodTypeAndPeriodStartBetweenAndCity(StatsPeriod periodType,
+                                                                     LocalDate startDate,
+                                                                     LocalDate endDate,
+                                                                     String city);
+
+    /**
+     * (도시, 날짜)의 날씨는 하나뿐이므로 DAY 롤업의 날씨 통계를 해당 날씨로 덮어씀
+     */
+    @Modifying
+    @Query(value = "insert into stats_rollup (period_type, period_start, city, weather_days, temperature_sum,"
+            + " temperature_min, temperature_max, diary_count)"
+            + " values ('DAY', :date, :city, 1, :temperature, :temperature, :temperature, 0)"
+            + " on duplicate key update weather_days = 1, temperature_sum = :temperature,"
+            + " temperature_min = :temperature, temperature_max = :temperature", nativeQuery = true)
+    void upsertDayWeather(@Param("date") LocalDate date,
+                          @Param("city") String city,
+                          @Param("temperature") double temperature);
+
+    /**
+     * (월, 도시)의 MONTH 롤업 행을 (없다면 빈 행으로 추가하고) 트랜잭션이 끝날 때까지 잠금
+     * 해당 월의 DAY 롤업을 쓰기 전에 호출하여 월 단위로 쓰기를 직렬화
+     */
+    @Modifying
+    @Query(value = "insert into stats_rollup (period_type, period_start, city, weather_days, temperature_sum,"
+            + " temperature_min, temperature_max, diary_count)"
+            + " values ('MONTH', :monthStart, :city, 0, 0, null, null, 0)"
+            + " on duplicate key update diary_count = diary_count", nativeQuery = true)
+    void lockMonth(@Param("monthStart") LocalDate monthStart,
+                   @Param("city") String city);
+
+    /**
+     * 다이어리 수를 delta만큼 증감 (행이 없다면 추가)
+     */
+    @Modifying
+    @Query(value = "insert into stats_rollup (period_type, period_start, city, weather_days, temperature_sum,"
+            + " temperature_min, temperature_max, diary_count)"
+            + " values (:periodType, :periodStart, :city, 0, 0, null, null, :delta)"
+            + " on duplicate key update diary_count = diary_count + :delta", nativeQuery = true)
+    void addDiaryCount(@Param("periodType") String periodType,
+                       @Param("periodStart") LocalDate periodStart,
+                       @Param("city") String city,
+                       @Param("delta") long delta);
+
+    /**
+     * 해당 월의 DAY 롤업을 합산하여 MONTH 롤업의 날씨 통계를 제자리에서 갱신 (lockMonth 이후에 실행)
+     * 다이어리 수는 addDiaryCount의 증감으로 관리하므로 바꾸지 않음
+     */
+    @Modifying
+    @Query(value = "insert into stats_rollup (period_type, period_start, city, weather_days, temperature_sum,"
+            + " temperature_min, temperature_max, diary_count)"
+            + " select 'MONTH', :monthStart, :city, coalesce(sum(s.weather_days), 0),"
+            + " coalesce(sum(s.temperature_sum), 0), min(s.temperature_min), max(s.temperature_max), 0"
+            + " from stats_rollup s"
+            + " where s.period_type = 'DAY' and s.city = :city and s.period_start between :monthStart and :monthEnd"
+            + " on duplicate key update weather_days = values(weather_days), temperature_sum = values(temperature_sum),"
+            + " temperature_min = values(temperature_min), temperature_max = values(temperature_max)",
+            nativeQuery = true)
+    void updateMonthWeatherFromDays(@Param("monthStart") LocalDate monthStart,
+                                    @Param("monthEnd") LocalDate monthEnd,
+                                    @Param("city") String city);
+
+    /**
+     * 재집계용: 해당 월의 DAY 롤업을 합산하여 모든 도시의 MONTH 롤업을 추가 (기존 롤업은 먼저 삭제)
+     */
+    @Modifying
+    @Query(value = "insert into stats_rollup (period_type, period_start, city, weather_days, temperature_sum,"
+            + " temperature_min, temperature_max, diary_count)"
+            + " select 'MONTH', :monthStart, s.city, sum(s.weather_days), sum(s.temperature_sum),"
+            + " min(s.temperature_min), max(s.temperature_max), sum(s.diary_count) from stats_rollup s"
+            + " where s.period_type = 'DAY' and s.period_start between :monthStart and :monthEnd"
+            + " group by s.city", nativeQuery = true)
+    void insertMonthFromDays(@Param("monthStart") LocalDate monthStart,
+                             @Param("monthEnd") LocalDate monthEnd);
+
+    /**
+     * 재집계용: 기간 내 다이어리 수로 DAY 롤업을 추가 (기존 롤업은 먼저 삭제)
+     */
+    @Modifying
+    @Query(value = "insert into stats_rollup (period_type, period_start, city, weather_days, temperature_sum,"
+            + " temperature_min, temperature_max, diary_count)"
+            + " select 'DAY', d.date, d.city, 0, 0, null, null, count(*) from diary d"
+            + " where d.date between :startDate and :endDate group by d.date, d.city", nativeQuery = true)
+    void insertDaysFromDiaries(@Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate);
+
+    /**
+     * 재집계용: 기간 내 날씨 정보로 DAY 롤업의 날씨 통계를 채움 (insertDaysFromDiaries 이후에 실행)
+     */
+    @Modifying
+    @Query(value = "insert into stats_rollup (period_type, period_start, city, weather_days, temperature_sum,"
+            + " temperature_min, temperature_max, diary_count)"
+            + " select 'DAY', w.date, w.city, 1, w.temperature, w.temperature, w.temperature, 0 from date_weather w"
+            + " where w.date between :startDate and :endDate"
+            + " on duplicate key update weather_days = 1, temperature_sum = values(temperature_sum),"
+            + " temperature_min = values(temperature_min), temperature_max = values(temperature_max)",
+            nativeQuery = true)
+    void upsertDaysFromWeathers(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate);
+
+    /**
+     * 기간 내에 시작하는 모든 단위의 롤업을 삭제 (재집계용)
+     */
+    @Modifying
+    @Query("delete from StatsRollup s where s.periodStart between :startDate and :endDate")
+    void deleteByPeriodStartBetween(@Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+}
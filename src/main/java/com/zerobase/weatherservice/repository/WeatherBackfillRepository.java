@@ -0,0 +1,11 @@
+package com.zerobase.weatherservice.repository;
+
+import com.zerobase.weatherservice.domain.BackfillStatus;
+import com.zerobase.weatherservice.domain.WeatherBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface WeatherBackfillRepository extends JpaRepository<WeatherBackfill, Long> {
+    List<WeatherBackfill> findAllByStatus(BackfillStatus status);
+}
@@ -0,0 +1,78 @@
+package com.zerobase.weatherservice.repository;
+
+import com.zerobase.weatherservice.domain.StatsPeriod;
+import com.zerobase.weatherservice.domain.WeatherTypeRollup;
+import com.zerobase.weatherservice.domain.WeatherTypeRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface WeatherTypeRollupRepository extends JpaRepository<WeatherTypeRollup, WeatherTypeRollupId> {
+    List<WeatherTypeRollup> findAllByPeriodTypeAndPeriodStartBetween(StatsPeriod periodType,
+                                                                     LocalDate startDate,
+                                                                     LocalDate endDate);
+
+    List<WeatherTypeRollup> findAllByPeriodTypeAndPeriodStartBetweenAndCity(StatsPeriod periodType,
+                                                                            LocalDate startDate,
+                                                                            LocalDate endDate,
+                                                                            String city);
+
+    @Modifying
+    @Query(value = "insert into weather_type_rollup (period_type, period_start, city, weather, day_count)"
+            + " values ('DAY', :date, :city, :weather, 1)", nativeQuery = true)
+    void insertDay(@Param("date") LocalDate date,
+                   @Param("city") String city,
+                   @Param("weather") String weather);
+
+    /**
+     * 해당 월의 DAY 롤업을 날씨별로 합산하여 MONTH 롤업을 추가 (기존 MONTH 롤업은 먼저 삭제)
+     */
+    @Modifying
+    @Query(value = "insert into weather_type_rollup (period_type, period_start, city, weather, day_count)"
+            + " select 'MONTH', :monthStart, w.city, w.weather, sum(w.day_count) from weather_type_rollup w"
+            + " where w.period_type = 'DAY' and w.city = :city and w.period_start between :monthStart and :monthEnd"
+            + " group by w.city, w.weather", nativeQuery = true)
+    void insertMonthFromDays(@Param("monthStart") LocalDate monthStart,
+                             @Param("monthEnd") LocalDate monthEnd,
+                             @Param("city") String city);
+
+    /**
+     * 재집계용 (insertMonthFromDays와 같지만 모든 도시의 MONTH 롤업을 추가)
+     */
+    @Modifying
+    @Query(value = "insert into weather_type_rollup (period_type, period_start, city, weather, day_count)"
+            + " select 'MONTH', :monthStart, w.city, w.weather, sum(w.day_count) from weather_type_rollup w"
+            + " where w.period_type = 'DAY' and w.period_start between :monthStart and :monthEnd"
+            + " group by w.city, w.weather", nativeQuery = true)
+    void insertMonthFromDays(@Param("monthStart") LocalDate monthStart,
+                             @Param("monthEnd") LocalDate monthEnd);
+
+    /**
+     * 재집계용: 기간 내 날씨 정보로 DAY 롤업을 추가 (기존 롤업은 먼저 삭제)
+     */
+    @Modifying
+    @Query(value = "insert into weather_type_rollup (period_type, period_start, city, weather, day_count)"
+            + " select 'DAY', w.date, w.city, w.weather, 1 from date_weather w"
+            + " where w.date between :startDate and :endDate and w.weather is not null", nativeQuery = true)
+    void insertDaysFromWeathers(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("delete from WeatherTypeRollup w where w.periodType = :periodType and w.periodStart = :periodStart"
+            + " and w.city = :city")
+    void deleteRollup(@Param("periodType") StatsPeriod periodType,
+                      @Param("periodStart") LocalDate periodStart,
+                      @Param("city") String city);
+
+    /**
+     * 기간 내에 시작하는 모든 단위의 롤업을 삭제 (재집계용)
+     */
+    @Modifying
+    @Query("delete from WeatherTypeRollup w where w.periodStart between :startDate and :endDate")
+    void deleteByPeriodStartBetween(@Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,316 @@
+package com.zerobase.weatherservice.search;
+
+import com.zerobase.weatherservice.cache.DiaryCacheInvalidationChannel;
+import com.zerobase.weatherservice.dto.DiaryCursor;
+import com.zerobase.weatherservice.dto.DiaryText;
+import com.zerobase.weatherservice.dto.property.DiarySearchProperties;
+import com.zerobase.weatherservice.event.DiaryChangedEvent;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.DiaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.FAILED_INDEX_DIARY;
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_SEARCH_QUERY;
+
+/**
+ * 다이어리 본문의 전문 검색 색인 (Lucene)
+ * - 본문은 Nori 형태소 분석기로 토큰화하여 조사, 어미를 제외한 단어로 검색
+ * - (date, id) 순서로 정렬해 두므로 기간 조회와 keyset 페이지네이션은 필요한 만큼만 읽고 종료
+ * - 다이어리가 변경된 트랜잭션이 커밋된 후 DiaryCacheInvalidationChannel로 받은 날짜를 DB에서 다시 읽어 색인하므로
+ *   모든 인스턴스의 색인이 갱신되며, 이벤트 순서와 관계없이 마지막으로 커밋된 내용으로 수렴
+ * - 색인 작업은 하나의 작업 스레드에서 순서대로 처리하고, 밀린 날짜 범위는 합쳐서 한 번에 처리
+ */
+@Slf4j
+@Component
+public class DiarySearchIndex {
+    private static final String ID = "id";
+    private static final String DATE = "date";
+    private static final String TEXT = "text";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final Sort SORT = new Sort(new SortField(DATE, SortField.Type.LONG), new SortField(ID, SortField.Type.INT));
+
+    private final DiaryRepository diaryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final Analyzer analyzer = new KoreanAnalyzer();
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final Queue<DiaryChangedEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    // 색인 변경은 한 번에 하나씩만 진행
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "diary-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DiarySearchIndex(DiarySearchProperties properties, DiaryRepository diaryRepository,
+                            PlatformTransactionManager transactionManager,
+                            DiaryCacheInvalidationChannel invalidationChannel) throws IOException {
+        this.diaryRepository = diaryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 읽기 전용 트랜잭션은 복제 DB로 라우팅되므로, 커밋 직후의 조회는 primary를 사용하도록 readOnly로 두지 않음
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.directory = properties.indexPath().isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(properties.indexPath()));
+        this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer).setIndexSort(SORT));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+        invalidationChannel.subscribe(this::onDiaryChanged);
+    }
+
+    /**
+     * 색인이 비어있다면 (메모리 색인이거나 처음 실행) DB의 모든 다이어리를 색인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (indexWriter.getDocStats().numDocs == 0) {
+            indexExecutor.execute(this::rebuildIndex);
+        }
+    }
+
+    /**
+     * 검색어의 모든 단어를 포함하는 다이어리를 (date, id) 순서로 조회
+     * @param startDate 첫 날 (null이라면 제한 없음)
+     * @param endDate 마지막 날 (null이라면 제한 없음)
+     * @param after 이전 페이지의 마지막 다이어리 (첫 페이지라면 null)
+     * @return 검색된 다이어리의 (date, id)
+     * @throws DiaryException 검색어에 색인된 단어가 없는 경우 INVALID_SEARCH_QUERY
+     */
+    public List<DiaryCursor> search(String query, LocalDate startDate, LocalDate endDate,
+                                    DiaryCursor after, int limit) {
+        Set<String> terms = analyze(query);
+        if (terms.isEmpty()) {
+            throw new DiaryException(INVALID_SEARCH_QUERY);
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        terms.forEach(term -> builder.add(new TermQuery(new Term(TEXT, term)), BooleanClause.Occur.MUST));
+        builder.add(LongPoint.newRangeQuery(DATE,
+                startDate == null ? Long.MIN_VALUE : startDate.toEpochDay(),
+                endDate == null ? Long.MAX_VALUE : endDate.toEpochDay()), BooleanClause.Occur.FILTER);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // (date, id)가 같은 문서는 하나뿐이므로 doc은 마지막 문서로 두어 커서 위치의 문서를 제외
+                FieldDoc afterDoc = after == null ? null
+                        : new FieldDoc(searcher.getIndexReader().maxDoc() - 1, Float.NaN,
+                        new Object[]{after.date().toEpochDay(), after.id()});
+                ScoreDoc[] scoreDocs = searcher.searchAfter(afterDoc, builder.build(), limit, SORT, false).scoreDocs;
+                List<DiaryCursor> hits = new ArrayList<>(scoreDocs.length);
+                for (ScoreDoc scoreDoc : scoreDocs) {
+                    Object[] fields = ((FieldDoc) scoreDoc).fields;
+                    hits.add(new DiaryCursor(LocalDate.ofEpochDay((Long) fields[0]), (Integer) fields[1]));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new DiaryException(FAILED_INDEX_DIARY, e);
+        }
+    }
+
+    /**
+     * 색인을 비우고 DB의 모든 다이어리를 다시 색인 (밀려있는 변경 사항을 처리한 뒤 실행)
+     * @return 색인된 다이어리 수
+     * @throws DiaryException
+     */
+    public long rebuild() {
+        try {
+            return CompletableFuture.supplyAsync(this::rebuildIndex, indexExecutor).join();
+        } catch (CompletionException e) {
+            throw new DiaryException(FAILED_INDEX_DIARY, e.getCause() instanceof Exception cause ? cause : e);
+        }
+    }
+
+    /**
+     * 검색에는 바로 반영되지만 디스크에는 커밋해야 서버 재시작 후에도 남음
+     */
+    @Scheduled(fixedDelayString = "${diary.search.commit-interval:PT1M}")
+    public void commit() {
+        indexExecutor.execute(() -> {
+            try {
+                if (indexWriter.hasUncommittedChanges()) {
+                    indexWriter.commit();
+                }
+            } catch (IOException e) {
+                log.error("다이어리 검색 색인 커밋 실패", e);
+            }
+        });
+    }
+
+    /**
+     * 작업 스레드를 인터럽트하면 FSDirectory의 파일 채널이 닫히므로 진행 중인 작업이 끝날 때까지 대기
+     */
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        indexExecutor.shutdown();
+        indexExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    /**
+     * 밀려있는 색인 작업이 끝날 때까지 대기
+     */
+    void awaitIndexed() {
+        CompletableFuture.runAsync(() -> {
+        }, indexExecutor).join();
+    }
+
+    private void onDiaryChanged(DiaryChangedEvent event) {
+        pendingEvents.add(event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            indexExecutor.execute(this::drainPendingEvents);
+        }
+    }
+
+    /**
+     * 밀려있는 날짜 범위를 겹치거나 이어지는 것끼리 합쳐서 다시 색인
+     */
+    private void drainPendingEvents() {
+        drainScheduled.set(false);
+        List<DiaryChangedEvent> events = new ArrayList<>();
+        DiaryChangedEvent event;
+        while ((event = pendingEvents.poll()) != null) {
+            events.add(event);
+        }
+        events.sort(Comparator.comparing(DiaryChangedEvent::startDate));
+        List<DiaryChangedEvent> ranges = new ArrayList<>();
+        for (DiaryChangedEvent next : events) {
+            DiaryChangedEvent last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && !next.startDate().isAfter(last.endDate().plusDays(1))) {
+                if (next.endDate().isAfter(last.endDate())) {
+                    ranges.set(ranges.size() - 1, new DiaryChangedEvent(last.startDate(), next.endDate()));
+                }
+            } else {
+                ranges.add(next);
+            }
+        }
+        for (DiaryChangedEvent range : ranges) {
+            try {
+                reindex(range.startDate(), range.endDate());
+            } catch (IOException | RuntimeException e) {
+                log.error("[{} ~ {}] 다이어리 검색 색인 실패", range.startDate(), range.endDate(), e);
+            }
+        }
+    }
+
+    /**
+     * 변경이 커밋된 직후에 실행되므로 primary에서 읽음
+     * (복제 DB가 지연되어 있다면 문서를 지운 뒤 변경 전의 본문을 다시 색인하게 됨)
+     * 다이어리를 모두 읽은 뒤에 문서를 지우므로, 읽기에 실패하면 기존 문서가 그대로 남음
+     */
+    private void reindex(LocalDate startDate, LocalDate endDate) throws IOException {
+        List<DiaryText> diaryTexts = Objects.requireNonNull(primaryTransaction.execute(status -> {
+            try (Stream<DiaryText> stream = diaryRepository.streamTextByDateBetween(startDate, endDate)) {
+                return stream.toList();
+            }
+        }));
+        indexWriter.deleteDocuments(LongPoint.newRangeQuery(DATE, startDate.toEpochDay(), endDate.toEpochDay()));
+        diaryTexts.forEach(this::addDocument);
+        searcherManager.maybeRefresh();
+    }
+
+    private long rebuildIndex() {
+        try {
+            indexWriter.deleteAll();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<DiaryText> diaryTexts = diaryRepository.streamAllText()) {
+                    diaryTexts.forEach(this::addDocument);
+                }
+            });
+            indexWriter.commit();
+            long indexedCount = indexWriter.getDocStats().numDocs;
+            searcherManager.maybeRefresh();
+            log.info("다이어리 검색 색인 완료 ({}건)", indexedCount);
+            return indexedCount;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void addDocument(DiaryText diaryText) {
+        Document document = new Document();
+        document.add(new NumericDocValuesField(ID, diaryText.id()));
+        document.add(new LongPoint(DATE, diaryText.date().toEpochDay()));
+        document.add(new NumericDocValuesField(DATE, diaryText.date().toEpochDay()));
+        if (diaryText.text() != null) {
+            document.add(new TextField(TEXT, diaryText.text(), Field.Store.NO));
+        }
+        try {
+            indexWriter.addDocument(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Set<String> analyze(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream tokenStream = analyzer.tokenStream(TEXT, query)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokenStream.end();
+        } catch (IOException e) {
+            throw new DiaryException(FAILED_INDEX_DIARY, e);
+        }
+        return terms;
+    }
+}
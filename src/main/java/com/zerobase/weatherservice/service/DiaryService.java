@@ -1,21 +1,67 @@
 package com.zerobase.weatherservice.service;
 
+import com.zerobase.weatherservice.cache.DiaryCache;
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.DateWeatherId;
 import com.zerobase.weatherservice.domain.Diary;
+import com.zerobase.weatherservice.domain.DiaryBody;
+import com.zerobase.weatherservice.domain.DiaryDateVersion;
+import com.zerobase.weatherservice.domain.WeatherStatus;
+import com.zerobase.weatherservice.dto.DiaryBulkCreateResult;
+import com.zerobase.weatherservice.dto.DiaryBulkItemResult;
+import com.zerobase.weatherservice.dto.DiaryCount;
+import com.zerobase.weatherservice.dto.DiaryCreateResult;
+import com.zerobase.weatherservice.dto.DiaryCursor;
+import com.zerobase.weatherservice.dto.DiaryDeleteResult;
 import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.DiaryIndexResult;
+import com.zerobase.weatherservice.dto.DiaryPage;
+import com.zerobase.weatherservice.dto.DiaryVersion;
+import com.zerobase.weatherservice.dto.VersionedDiaries;
+import com.zerobase.weatherservice.dto.property.WeatherFallbackProperties;
+import com.zerobase.weatherservice.dto.request.DiaryCreateRequest;
+import com.zerobase.weatherservice.event.DiaryChangedEvent;
+import com.zerobase.weatherservice.event.DiaryWeatherRequestedEvent;
 import com.zerobase.weatherservice.exception.DiaryException;
-import com.zerobase.weatherservice.repository.DateWeatherRepository;
+import com.zerobase.weatherservice.repository.DiaryBodyRepository;
+import com.zerobase.weatherservice.repository.DiaryDateVersionRepository;
 import com.zerobase.weatherservice.repository.DiaryRepository;
+import com.zerobase.weatherservice.search.DiarySearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.zerobase.weatherservice.exception.ErrorCode.*;
 
@@ -25,53 +71,620 @@ import static com.zerobase.weatherservice.exception.ErrorCode.*;
 @Transactional(readOnly = true)
 public class DiaryService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DELETE_CHUNK_SIZE = 1000;
+    private static final int BULK_INSERT_CHUNK_SIZE = 500;
+    private static final int MAX_BULK_CREATE_SIZE = 1000;
+    private static final int WEATHER_SWEEP_SIZE = 100;
+    private static final String WEATHER_INGEST_JOB = "weather-ingest";
+    private static final LocalTime WEATHER_INGEST_TIME = LocalTime.of(1, 0);
+    private static final int SWEEP_DEFERRED = -1;
+    private static final Set<WeatherStatus> UNFILLED_WEATHER_STATUSES = EnumSet.of(
+            WeatherStatus.PENDING, WeatherStatus.STALE);
+
     private final DiaryRepository diaryRepository;
+    private final DiaryBodyRepository diaryBodyRepository;
+    private final DiaryDateVersionRepository diaryDateVersionRepository;
+    private final DiaryCache diaryCache;
+    private final DiarySearchIndex diarySearchIndex;
     private final WeatherService weatherService;
+    private final StatsService statsService;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final WeatherFallbackProperties fallbackProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<DateWeatherId, Integer> sweepFailures = new ConcurrentHashMap<>();
+    private final AtomicReference<CompletableFuture<Integer>> weatherSweep = new AtomicReference<>();
 
     /**
      * 매일 01시마다 날씨 정보를 DB에 저장
+     * 여러 인스턴스 중 작업 리스를 얻은 한 노드만 실행하고, 나머지 노드는 건너뜀
      * @throws DiaryException
      */
     @Scheduled(cron = "0 0 1 * * * ")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void saveWeatherDate() {
-        weatherService.saveWeatherDate();
+        jobLeaseService.runOnce(WEATHER_INGEST_JOB, LocalDate.now().toString(), weatherService::saveWeatherDate);
+    }
+
+    /**
+     * 오늘 날씨 수집을 시작한 노드가 끝내지 못하고 죽었다면 리스가 만료된 뒤 이어서 실행
+     * @throws DiaryException
+     */
+    @Scheduled(fixedDelayString = "${job.lease.take-over-check-interval:PT1M}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void takeOverWeatherDate() {
+        if (LocalTime.now().isBefore(WEATHER_INGEST_TIME)) {
+            return;
+        }
+        jobLeaseService.takeOver(WEATHER_INGEST_JOB, LocalDate.now().toString(), weatherService::saveWeatherDate);
     }
 
+    /**
+     * 본문과 함께 날씨 없이(PENDING) 다이어리를 저장하고, 커밋된 후 날씨 채우기 작업에 전달
+     * 트랜잭션 안에서 날씨 API를 호출하지 않으므로 커넥션을 잡는 시간이 API 응답 시간과 관계없음
+     * @param city 날씨 정보를 가져올 도시 (null이라면 기본 도시)
+     * @throws DiaryException
+     */
     @Transactional
-    public void createDiary(LocalDate date, String text) {
-        Diary diary = Diary.setDateWeather(weatherService.getDateWeather(date));
-        diary.setText(text);
+    public DiaryCreateResult createDiary(String city, LocalDate date, String text) {
+        String diaryCity = city == null ? weatherService.getDefaultCity() : city;
+        if (!weatherService.supports(diaryCity)) {
+            throw new DiaryException(NOT_SUPPORTED_CITY);
+        }
+        Diary diary = Diary.pendingDateWeather(diaryCity, date);
         try {
             diaryRepository.save(diary);
-        } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
-            log.error("[{}] Diary 저장 실패 \n [TEXT]\n {}", date.toString(), text);
+            diaryBodyRepository.save(DiaryBody.of(diary, text));
+            markChanged(date);
+            statsService.addDiaryCounts(List.of(new DiaryCount(date, diaryCity, 1)));
+        } catch (IllegalArgumentException e) {
+            log.error("[{}, {}] Diary 저장 실패 \n [TEXT]\n {}", diaryCity, date.toString(), text);
             throw new DiaryException(FAILED_SAVE_DIARY);
         }
+        eventPublisher.publishEvent(new DiaryWeatherRequestedEvent(diary.getId(), diaryCity, date));
+        return new DiaryCreateResult(diary.getId(), diary.getWeatherStatus());
+    }
+
+    /**
+     * 날씨 채우기 작업이 조회한 날씨로 아직 PENDING인 다이어리를 채움
+     * @return 채웠다면 true (그 사이 삭제되었거나 다른 작업이 먼저 채웠다면 false)
+     */
+    @Transactional
+    public boolean fillDiaryWeather(int id, DateWeather dateWeather) {
+        if (diaryRepository.fillWeatherById(id, dateWeather.getWeather(), dateWeather.getIcon(),
+                dateWeather.getTemperature(), WeatherStatus.FILLED) == 0) {
+            return false;
+        }
+        markChanged(dateWeather.getDate());
+        return true;
+    }
+
+    /**
+     * 날씨 API를 사용할 수 없을 때 maxStaleDays 이내의 가장 가까운 날씨로 PENDING인 다이어리를 채움
+     * @return 채운 뒤의 상태 (대신할 날씨가 없거나 채우지 못했다면 PENDING)
+     */
+    @Transactional
+    public WeatherStatus fillStaleDiaryWeather(int id, String city, LocalDate date) {
+        Optional<DateWeather> staleWeather = findStaleWeather(city, date);
+        if (staleWeather.isEmpty() || diaryRepository.fillWeatherById(id, staleWeather.get().getWeather(),
+                staleWeather.get().getIcon(), staleWeather.get().getTemperature(), WeatherStatus.STALE) == 0) {
+            return WeatherStatus.PENDING;
+        }
+        markChanged(date);
+        return WeatherStatus.STALE;
+    }
+
+    /**
+     * 재시도 횟수 안에 날씨를 채우지 못한 다이어리를 FAILED(dead letter)로 표시
+     * FAILED 다이어리는 주기적인 날씨 채우기에서도 제외하며, retryDiaryWeather로 다시 시도
+     * @return 표시했다면 true
+     */
+    @Transactional
+    public boolean failDiaryWeather(int id, LocalDate date) {
+        if (diaryRepository.updateWeatherStatus(id, WeatherStatus.PENDING, WeatherStatus.FAILED) == 0) {
+            return false;
+        }
+        markChanged(date);
+        return true;
+    }
+
+    /**
+     * FAILED 다이어리를 다시 PENDING으로 돌리고, 커밋된 후 날씨 채우기 작업에 전달
+     * @throws DiaryException 다이어리가 없다면 NOT_FOUND_DIARY, FAILED가 아니라면 NOT_FAILED_DIARY_WEATHER
+     */
+    @Transactional
+    public void retryDiaryWeather(int id) {
+        if (diaryRepository.updateWeatherStatus(id, WeatherStatus.FAILED, WeatherStatus.PENDING) == 0) {
+            if (!diaryRepository.existsById(id)) {
+                throw new DiaryException(NOT_FOUND_DIARY, new EntityNotFoundException(String.valueOf(id)));
+            }
+            throw new DiaryException(NOT_FAILED_DIARY_WEATHER);
+        }
+        Diary diary = diaryRepository.findById(id).orElseThrow();
+        markChanged(diary.getDate());
+        eventPublisher.publishEvent(new DiaryWeatherRequestedEvent(id, diary.getCity(), diary.getDate()));
+    }
+
+    /**
+     * 주기적으로 날씨가 채워지지 않은 (PENDING, STALE) 다이어리에 해당 날짜의 날씨를 (날짜, 도시) 순서로 채움
+     * 날씨 API를 여전히 사용할 수 없거나 오늘 이후의 날짜에 이르면 다음 주기에 다시 시도하고,
+     * 다른 이유로 maxSweepAttempts번 실패한 (도시, 날짜)의 다이어리는 FAILED로 표시
+     * 날씨 조회를 하나씩 이어서 처리하므로 API 응답을 기다리는 동안 스케줄러 스레드를 잡지 않으며,
+     * 이전 주기의 채우기가 아직 끝나지 않았다면 새로 시작하지 않음
+     * @return 날씨가 채워진 다이어리 수
+     */
+    @Scheduled(fixedDelayString = "${weather.fallback.sweep-interval:PT5M}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Integer> fillUnfilledWeathers() {
+        CompletableFuture<Integer> running = weatherSweep.get();
+        if (running != null && !running.isDone()) {
+            return running;
+        }
+        List<DateWeatherId> weatherIds = diaryRepository.findWeatherIdsByWeatherStatusIn(
+                UNFILLED_WEATHER_STATUSES, PageRequest.of(0, WEATHER_SWEEP_SIZE));
+        CompletableFuture<Integer> sweep = fillUnfilledWeathers(weatherIds.iterator(), 0)
+                .whenComplete((filledCount, throwable) -> {
+                    if (throwable != null) {
+                        log.error("다이어리 날씨 채우기 실패", throwable);
+                    } else if (filledCount > 0) {
+                        log.info("다이어리 {}건의 날씨를 채웠습니다.", filledCount);
+                    }
+                });
+        weatherSweep.set(sweep);
+        return sweep;
+    }
+
+    /**
+     * 남은 (도시, 날짜)의 날씨를 하나씩 이어서 채움 (날씨 조회가 완료된 작업 스레드에서 짧은 트랜잭션으로 채움)
+     * 날씨 API를 사용할 수 없다면 나머지는 다음 주기로 미룸
+     */
+    private CompletableFuture<Integer> fillUnfilledWeathers(Iterator<DateWeatherId> weatherIds, int filledCount) {
+        if (!weatherIds.hasNext()) {
+            return CompletableFuture.completedFuture(filledCount);
+        }
+        DateWeatherId weatherId = weatherIds.next();
+        return weatherService.getDateWeatherAsync(weatherId.getCity(), weatherId.getDate())
+                .handle((dateWeather, throwable) -> {
+                    if (throwable == null) {
+                        sweepFailures.remove(weatherId);
+                        return fillWeather(dateWeather);
+                    }
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                    if (!(cause instanceof DiaryException e)) {
+                        throw new CompletionException(cause);
+                    }
+                    if (e.getErrorCode() == WEATHER_API_UNAVAILABLE) {
+                        log.info("날씨 API를 사용할 수 없어 다이어리 날씨 채우기를 다음으로 미룹니다.");
+                        return SWEEP_DEFERRED;
+                    }
+                    if (e.getErrorCode() == NOT_ARRIVED_DATE) {
+                        // 날짜순으로 조회하므로 나머지도 오늘 이후의 날짜
+                        return SWEEP_DEFERRED;
+                    }
+                    recordSweepFailure(weatherId, e);
+                    return 0;
+                })
+                .thenCompose(filled -> filled == SWEEP_DEFERRED ? CompletableFuture.completedFuture(filledCount)
+                        : fillUnfilledWeathers(weatherIds, filledCount + filled));
+    }
+
+    private int fillWeather(DateWeather dateWeather) {
+        return Objects.requireNonNull(transactionTemplate.execute(status -> {
+            int filled = diaryRepository.fillWeather(
+                    dateWeather.getCity(), dateWeather.getDate(), dateWeather.getWeather(), dateWeather.getIcon(),
+                    dateWeather.getTemperature(), UNFILLED_WEATHER_STATUSES);
+            if (filled > 0) {
+                markChanged(dateWeather.getDate());
+            }
+            return filled;
+        }));
+    }
+
+    /**
+     * 주기적인 날씨 채우기에 실패한 횟수를 세어 maxSweepAttempts번 실패한 (도시, 날짜)의 다이어리를 FAILED로 표시
+     * 계속 실패하는 (도시, 날짜)가 매 주기 앞쪽에 남아 다른 다이어리의 날씨 채우기를 막지 않도록 함
+     * (실패 횟수는 노드의 메모리에만 기록하므로 재시작되면 처음부터 다시 셈)
+     */
+    private void recordSweepFailure(DateWeatherId weatherId, DiaryException cause) {
+        int attempts = sweepFailures.merge(weatherId, 1, Integer::sum);
+        if (attempts < fallbackProperties.maxSweepAttempts()) {
+            log.warn("[{}, {}] 다이어리 날씨 채우기 실패 ({}/{}) ({})", weatherId.getCity(), weatherId.getDate(),
+                    attempts, fallbackProperties.maxSweepAttempts(), cause.getErrorMessage());
+            return;
+        }
+        sweepFailures.remove(weatherId);
+        int failedCount = Objects.requireNonNull(transactionTemplate.execute(status -> {
+            int failed = diaryRepository.failWeather(weatherId.getCity(), weatherId.getDate(), UNFILLED_WEATHER_STATUSES);
+            if (failed > 0) {
+                markChanged(weatherId.getDate());
+            }
+            return failed;
+        }));
+        log.error("[{}, {}] 다이어리 날씨 채우기에 {}번 실패하여 {}건을 FAILED로 표시합니다.",
+                weatherId.getCity(), weatherId.getDate(), attempts, failedCount, cause);
     }
 
-    public List<DiaryDto> readDiary(LocalDate date) {
-        return diaryRepository.findAllByDate(date).stream()
-                .map(DiaryDto::fromEntity).collect(Collectors.toList());
+    /**
+     * 여러 다이어리를 날씨 없이(PENDING) 한 번에 추가하고, 청크가 커밋된 후 날씨 채우기 작업에 전달
+     * 요청 스레드에서 날씨 API를 호출하지 않으므로 응답 시간이 항목 수나 날씨 API 응답 시간과 관계없음
+     * BULK_INSERT_CHUNK_SIZE개씩 JDBC batch INSERT로 저장하며, 청크 저장에 실패하면 해당 청크를 한 건씩 다시 저장하여 실패한 항목만 골라냄
+     * @return 요청 순서대로의 항목별 결과
+     * @throws DiaryException 항목이 MAX_BULK_CREATE_SIZE개를 넘는 경우 TOO_MANY_DIARIES
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DiaryBulkCreateResult createDiaries(List<DiaryCreateRequest> requests) {
+        if (requests.size() > MAX_BULK_CREATE_SIZE) {
+            throw new DiaryException(TOO_MANY_DIARIES);
+        }
+        DiaryBulkItemResult[] results = new DiaryBulkItemResult[requests.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<Diary> diaries = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            DiaryCreateRequest request = requests.get(i);
+            if (request == null || request.date() == null || request.text() == null) {
+                results[i] = DiaryBulkItemResult.error(i, INVALID_REQUEST.getDescription());
+                continue;
+            }
+            String city = request.city() == null ? weatherService.getDefaultCity() : request.city();
+            if (!weatherService.supports(city)) {
+                results[i] = DiaryBulkItemResult.error(i, NOT_SUPPORTED_CITY.getDescription());
+                continue;
+            }
+            indexes.add(i);
+            diaries.add(Diary.pendingDateWeather(city, request.date()));
+            texts.add(request.text());
+        }
+        for (int from = 0; from < diaries.size(); from += BULK_INSERT_CHUNK_SIZE) {
+            int to = Math.min(from + BULK_INSERT_CHUNK_SIZE, diaries.size());
+            saveChunk(indexes.subList(from, to), diaries.subList(from, to), texts.subList(from, to), results);
+        }
+        return DiaryBulkCreateResult.from(Arrays.asList(results));
     }
 
-    public List<DiaryDto> readDiaries(LocalDate startDate, LocalDate endDate) {
-        return diaryRepository.findAllByDateBetween(startDate, endDate).stream()
-                .map(DiaryDto::fromEntity).collect(Collectors.toList());
+    private void saveChunk(List<Integer> indexes, List<Diary> diaries, List<String> texts,
+                           DiaryBulkItemResult[] results) {
+        try {
+            List<Diary> savedDiaries = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                List<Diary> saved = insertDiaries(diaries, texts);
+                requestWeathers(saved);
+                return saved;
+            }));
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = DiaryBulkItemResult.success(indexes.get(i), savedDiaries.get(i).getId());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Diary {}건 일괄 저장 실패, 한 건씩 다시 저장합니다.", diaries.size(), e);
+            for (int i = 0; i < indexes.size(); i++) {
+                Diary diary = diaries.get(i);
+                String text = texts.get(i);
+                int index = indexes.get(i);
+                try {
+                    Diary savedDiary = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                        Diary saved = diaryRepository.save(diary);
+                        diaryBodyRepository.save(DiaryBody.of(saved, text));
+                        markChanged(diary.getDate());
+                        statsService.addDiaryCounts(countByDateAndCity(List.of(diary)));
+                        requestWeathers(List.of(saved));
+                        return saved;
+                    }));
+                    results[index] = DiaryBulkItemResult.success(index, savedDiary.getId());
+                } catch (DataAccessException ex) {
+                    log.error("[{}] Diary 저장 실패 \n [TEXT]\n {}", diary.getDate(), text);
+                    results[index] = DiaryBulkItemResult.error(index, FAILED_SAVE_DIARY.getDescription());
+                }
+            }
+        }
     }
 
+    /**
+     * 다이어리와 본문을 JDBC batch INSERT로 저장하고 날짜별 버전, 통계 롤업을 함께 갱신
+     * @param texts diaries와 같은 순서의 본문 (null이라면 본문 없이 저장)
+     * @return 저장된 다이어리
+     */
+    @Transactional
+    public List<Diary> insertDiaries(List<Diary> diaries, List<String> texts) {
+        // 네이티브 쿼리는 실행 전에 영속성 컨텍스트 전체를 flush하므로 다이어리를 영속화하기 전에 먼저 실행
+        // (날짜가 많은 청크에서 쿼리마다 청크의 모든 엔티티를 다시 확인하지 않음)
+        // 날짜가 겹치는 청크가 동시에 저장될 때 교착 상태가 생기지 않도록 날짜 순서로 버전 행을 잠금
+        diaries.stream().map(Diary::getDate).distinct().sorted().forEach(this::markChanged);
+        statsService.addDiaryCounts(countByDateAndCity(diaries));
+        List<Diary> saved = diaryRepository.saveAll(diaries);
+        List<DiaryBody> bodies = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            if (texts.get(i) != null) {
+                bodies.add(DiaryBody.of(saved.get(i), texts.get(i)));
+            }
+        }
+        diaryBodyRepository.saveAll(bodies);
+        return saved;
+    }
+
+    /**
+     * 특정 날짜의 다이어리 버전과 다이어리를 조회
+     * @see #readDiaries(LocalDate, LocalDate, Predicate)
+     */
+    public VersionedDiaries readDiary(LocalDate date, Predicate<DiaryVersion> notModified) {
+        return readDiaries(date, date, notModified);
+    }
+
+    /**
+     * 날짜별 버전을 먼저 읽은 뒤, notModified가 버전으로 변경되었다고 판단할 때만 다이어리를 조회
+     * - 하나의 읽기 전용 트랜잭션에서 조회하므로 버전과 다이어리를 같은 복제 DB의 같은 시점에서 읽음
+     *   (따로 조회하면 서로 다른 복제 DB로 라우팅되어 지연된 복제 DB의 다이어리를 새 버전으로 캐시하거나 응답할 수 있음)
+     * - maxRangeDays 이내의 기간이라면 날짜별 캐시로 조립하고 (캐시에 없거나 버전이 다른 날짜만 조회), 더 긴 기간은 DB에서 바로 조회
+     * @param notModified 버전으로 조건부 GET을 판단하는 함수 (true라면 다이어리를 조회하지 않음)
+     */
+    public VersionedDiaries readDiaries(LocalDate startDate, LocalDate endDate,
+                                        Predicate<DiaryVersion> notModified) {
+        if (!diaryCache.covers(startDate, endDate)) {
+            DiaryVersion version = diaryDateVersionRepository.sumVersionByDateBetween(startDate, endDate);
+            if (notModified.test(version)) {
+                return VersionedDiaries.notModified(version);
+            }
+            return new VersionedDiaries(version, diaryRepository.findDtoByDateBetween(startDate, endDate));
+        }
+        List<DiaryDateVersion> diaryDateVersions = diaryDateVersionRepository.findAllByDateBetween(startDate, endDate);
+        DiaryVersion version = DiaryVersion.sum(diaryDateVersions);
+        if (notModified.test(version)) {
+            return VersionedDiaries.notModified(version);
+        }
+        Map<LocalDate, Long> versions = diaryDateVersions.stream()
+                .collect(Collectors.toMap(DiaryDateVersion::getDate, DiaryDateVersion::getVersion));
+        return new VersionedDiaries(version,
+                diaryCache.getAll(startDate, endDate, versions, this::findDiariesByDate));
+    }
+
+    private Map<LocalDate, List<DiaryDto>> findDiariesByDate(Collection<LocalDate> dates) {
+        return diaryRepository.findDtoByDateIn(dates).stream()
+                .collect(Collectors.groupingBy(DiaryDto::date));
+    }
+
+    /**
+     * 본문을 포함한 다이어리 상세 조회 (목록 조회는 본문을 포함하지 않음)
+     * @throws DiaryException
+     */
+    public DiaryDto readDiaryDetail(int id) {
+        return diaryRepository.findDetailById(id)
+                .orElseThrow(() -> new DiaryException(NOT_FOUND_DIARY, new EntityNotFoundException(String.valueOf(id))));
+    }
+
+    /**
+     * 특정 기간 내의 다이어리를 (date, id) 순서로 한 페이지씩 조회
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지라면 null)
+     * @param size 페이지 크기 (최대 100)
+     * @throws DiaryException
+     */
+    public DiaryPage readDiaryPage(LocalDate startDate, LocalDate endDate, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        // 다음 페이지 존재 여부를 알기 위해 하나 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<DiaryDto> diaryDtos;
+        if (cursor == null) {
+            diaryDtos = diaryRepository.findDtoPageByDateBetween(startDate, endDate, limit);
+        } else {
+            DiaryCursor diaryCursor = DiaryCursor.decode(cursor);
+            diaryDtos = diaryRepository.findDtoPageByDateBetweenAfter(
+                    startDate, endDate, diaryCursor.date(), diaryCursor.id(), limit);
+        }
+        if (diaryDtos.size() <= pageSize) {
+            return new DiaryPage(diaryDtos, null);
+        }
+        List<DiaryDto> currentPage = diaryDtos.subList(0, pageSize);
+        return new DiaryPage(currentPage, DiaryCursor.from(currentPage.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * 본문에 검색어의 모든 단어가 포함된 다이어리를 (date, id) 순서로 한 페이지씩 조회
+     * 검색 색인에서 (date, id)만 찾고 다이어리는 id로 조회하므로, 색인에 반영되기 전에 삭제된 다이어리는 제외됨
+     * @param startDate 첫 날 (null이라면 제한 없음)
+     * @param endDate 마지막 날 (null이라면 제한 없음)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지라면 null)
+     * @param size 페이지 크기 (최대 100)
+     * @throws DiaryException
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED, readOnly = true)
+    public DiaryPage searchDiaries(String query, LocalDate startDate, LocalDate endDate, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        // 다음 페이지 존재 여부를 알기 위해 하나 더 조회
+        List<DiaryCursor> hits = diarySearchIndex.search(query, startDate, endDate,
+                cursor == null ? null : DiaryCursor.decode(cursor), pageSize + 1);
+        List<DiaryCursor> currentHits = hits.subList(0, Math.min(hits.size(), pageSize));
+        List<DiaryDto> diaryDtos = currentHits.isEmpty() ? List.of()
+                : diaryRepository.findDtoByIdIn(currentHits.stream().map(DiaryCursor::id).toList());
+        return new DiaryPage(diaryDtos, hits.size() > pageSize ? currentHits.get(pageSize - 1).encode() : null);
+    }
+
+    /**
+     * 검색 색인을 비우고 DB의 모든 다이어리를 다시 색인
+     * @throws DiaryException
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DiaryIndexResult rebuildSearchIndex() {
+        return new DiaryIndexResult(diarySearchIndex.rebuild());
+    }
+
+    /**
+     * 특정 기간 내의 다이어리를 DB 커서로 읽으면서 한 건씩 전달
+     * Entity를 만들지 않으므로 기간과 관계없이 메모리 사용량이 일정하게 유지됨
+     * @param consumer 조회된 다이어리를 처리하는 함수
+     */
+    public void streamDiaries(LocalDate startDate, LocalDate endDate, Consumer<DiaryDto> consumer) {
+        try (Stream<DiaryDto> diaryDtos = diaryRepository.streamDtoByDateBetween(startDate, endDate)) {
+            diaryDtos.forEach(consumer);
+        }
+    }
+
+    /**
+     * 특정 날짜의 첫번째 다이어리 본문을 수정 (본문이 없다면 추가)
+     * 조회한 뒤 다른 요청이 먼저 변경했다면 덮어쓰지 않고 실패
+     * @throws DiaryException
+     */
     @Transactional
     public void updateDiary(LocalDate date, String text) {
         Diary nowDiary = diaryRepository.getFirstByDate(date)
                 .orElseThrow(() -> new DiaryException(NOT_FOUND_DIARY, new EntityNotFoundException(date.toString())));
-        nowDiary.setText(text);
+        if (diaryRepository.increaseVersion(nowDiary.getId(), nowDiary.getVersion()) == 0) {
+            throw new DiaryException(CONFLICT_DIARY_UPDATE);
+        }
+        writeText(nowDiary.getId(), text);
+        markChanged(date);
+    }
+
+    /**
+     * 버전이 현재 버전과 같을 때만 본문을 수정 (다이어리를 조회하지 않고 조건부 UPDATE)
+     * @param version If-Match로 받은 버전
+     * @return 수정된 다이어리의 새 버전
+     * @throws DiaryException 다이어리가 없다면 NOT_FOUND_DIARY, 버전이 다르다면 MISMATCH_DIARY_VERSION
+     */
+    @Transactional
+    public long updateDiary(int id, long version, String text) {
+        if (diaryRepository.increaseVersion(id, version) == 0) {
+            throw versionFailure(id);
+        }
+        LocalDate date = diaryRepository.findDateById(id).orElseThrow();
+        writeText(id, text);
+        markChanged(date);
+        return version + 1;
     }
 
+    /**
+     * 버전이 현재 버전과 같을 때만 다이어리를 삭제
+     * 조건부 UPDATE로 먼저 버전을 확인하고 행을 잠근 뒤 본문, 다이어리 순서로 삭제
+     * @param version If-Match로 받은 버전
+     * @throws DiaryException 다이어리가 없다면 NOT_FOUND_DIARY, 버전이 다르다면 MISMATCH_DIARY_VERSION
+     */
     @Transactional
-    public void deleteDiary(LocalDate date) {
+    public DiaryDeleteResult deleteDiary(int id, long version) {
+        if (diaryRepository.increaseVersion(id, version) == 0) {
+            throw versionFailure(id);
+        }
+        List<DiaryCount> diaryCounts = diaryRepository.countByIdInGroupByDateAndCity(List.of(id));
+        diaryBodyRepository.deleteInBulkByIdIn(List.of(id));
+        int deletedCount = diaryRepository.deleteInBulkByIdIn(List.of(id));
+        diaryCounts.stream().map(DiaryCount::date).distinct().sorted().forEach(this::markChanged);
+        statsService.addDiaryCounts(diaryCounts.stream().map(DiaryCount::negate).toList());
+        return new DiaryDeleteResult(deletedCount);
+    }
+
+    /**
+     * 조건부 UPDATE가 실패한 이유 (다이어리가 없거나 버전이 다름)
+     */
+    private DiaryException versionFailure(int id) {
+        if (!diaryRepository.existsById(id)) {
+            return new DiaryException(NOT_FOUND_DIARY, new EntityNotFoundException(String.valueOf(id)));
+        }
+        return new DiaryException(MISMATCH_DIARY_VERSION);
+    }
+
+    /**
+     * 본문을 조회하지 않고 수정하며, 본문이 없는 다이어리라면 추가
+     */
+    private void writeText(int id, String text) {
+        if (diaryBodyRepository.updateText(id, text) == 0) {
+            diaryBodyRepository.save(DiaryBody.of(diaryRepository.getReferenceById(id), text));
+        }
+    }
+
+    /**
+     * 삭제 전에 (날짜, 도시)별 다이어리 수를 세어 삭제와 함께 통계 롤업에서 뺌
+     * @return 삭제된 다이어리 수
+     * @throws DiaryException
+     */
+    @Transactional
+    public DiaryDeleteResult deleteDiary(LocalDate date) {
         try {
-            diaryRepository.deleteAllByDate(date);
-        } catch (IllegalArgumentException e) {
+            List<DiaryCount> diaryCounts = diaryRepository.countByDateBetweenGroupByDateAndCity(date, date);
+            diaryBodyRepository.deleteInBulkByDiaryDate(date);
+            int deletedCount = diaryRepository.deleteInBulkByDate(date);
+            if (deletedCount > 0) {
+                markChanged(date);
+                statsService.addDiaryCounts(diaryCounts.stream().map(DiaryCount::negate).toList());
+            }
+            return new DiaryDeleteResult(deletedCount);
+        } catch (IllegalArgumentException | DataAccessException e) {
             throw new DiaryException(FAILED_DELETE_DIARY, e);
         }
     }
+
+    /**
+     * 특정 기간 내의 다이어리를 DELETE_CHUNK_SIZE개씩 나누어 삭제
+     * 청크마다 별도의 트랜잭션으로 커밋하여 긴 시간 동안 테이블 락을 잡지 않음
+     * 삭제할 id를 먼저 조회하여 청크의 (날짜, 도시)별 다이어리 수를 통계 롤업에서 함께 뺌
+     * @return 삭제된 다이어리 수
+     * @throws DiaryException
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DiaryDeleteResult deleteDiaries(LocalDate startDate, LocalDate endDate) {
+        int deletedCount = 0;
+        int deletedChunk;
+        try {
+            do {
+                deletedChunk = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                    List<Integer> ids = diaryRepository.findIdsByDateBetween(
+                            startDate, endDate, PageRequest.of(0, DELETE_CHUNK_SIZE));
+                    if (ids.isEmpty()) {
+                        return 0;
+                    }
+                    // 삭제할 다이어리가 남아있는 날짜를 알 수 있도록 삭제 전에 버전 증가
+                    diaryDateVersionRepository.increaseVersionByDiaryDateBetween(
+                            startDate, endDate, LocalDateTime.now());
+                    eventPublisher.publishEvent(new DiaryChangedEvent(startDate, endDate));
+                    statsService.addDiaryCounts(diaryRepository.countByIdInGroupByDateAndCity(ids).stream()
+                            .map(DiaryCount::negate)
+                            .toList());
+                    diaryBodyRepository.deleteInBulkByIdIn(ids);
+                    return diaryRepository.deleteInBulkByIdIn(ids);
+                }));
+                deletedCount += deletedChunk;
+            } while (deletedChunk == DELETE_CHUNK_SIZE);
+        } catch (DataAccessException e) {
+            log.error("[{} ~ {}] Diary 삭제 실패 (삭제된 수: {})", startDate, endDate, deletedCount);
+            throw new DiaryException(FAILED_DELETE_DIARY, e);
+        }
+        return new DiaryDeleteResult(deletedCount);
+    }
+
+    /**
+     * 다이어리가 변경된 트랜잭션에서 해당 날짜의 버전을 증가시켜 함께 커밋하고,
+     * 커밋된 후에 해당 날짜의 캐시를 무효화하도록 이벤트 발행
+     */
+    private void markChanged(LocalDate date) {
+        diaryDateVersionRepository.increaseVersion(date, LocalDateTime.now());
+        eventPublisher.publishEvent(DiaryChangedEvent.of(date));
+    }
+
+    private static int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * 트랜잭션이 커밋된 후 다이어리들을 날씨 채우기 작업에 전달
+     * 작업의 대기열이 가득 찬 다이어리는 PENDING으로 남아 fillUnfilledWeathers에서 채움
+     */
+    private void requestWeathers(Collection<Diary> diaries) {
+        diaries.forEach(diary -> eventPublisher.publishEvent(
+                new DiaryWeatherRequestedEvent(diary.getId(), diary.getCity(), diary.getDate())));
+    }
+
+    private static List<DiaryCount> countByDateAndCity(Collection<Diary> diaries) {
+        return diaries.stream()
+                .collect(Collectors.groupingBy(diary -> new DateWeatherId(diary.getCity(), diary.getDate()),
+                        Collectors.counting()))
+                .entrySet().stream()
+                .map(entry -> new DiaryCount(entry.getKey().getDate(), entry.getKey().getCity(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * DB에 저장된 날씨 중 maxStaleDays 이내의 가장 가까운 날씨 (API를 호출하지 않음)
+     */
+    private Optional<DateWeather> findStaleWeather(String city, LocalDate date) {
+        return weatherService.findNearestDateWeather(city, date)
+                .filter(dateWeather -> Math.abs(ChronoUnit.DAYS.between(dateWeather.getDate(), date))
+                        <= fallbackProperties.maxStaleDays());
+    }
 }
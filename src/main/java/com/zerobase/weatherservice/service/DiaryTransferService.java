@@ -0,0 +1,290 @@
+package com.zerobase.weatherservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.weatherservice.domain.Diary;
+import com.zerobase.weatherservice.domain.DiaryImport;
+import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.DiaryImportResult;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.DiaryImportRepository;
+import com.zerobase.weatherservice.repository.DiaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_DIARY_EXPORT;
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_FOUND_DIARY_IMPORT;
+
+/**
+ * 모든 다이어리를 GZIP으로 압축한 NDJSON으로 내보내고 가져옴
+ * - 한 줄에 본문을 포함한 다이어리(DiaryDto) 하나씩, CHUNK_SIZE줄마다 앞 청크의 줄 수와 CRC32C를 담은 체크섬 줄,
+ *   마지막에 전체 줄 수를 담은 끝 줄을 씀
+ *   <pre>
+ *   {"id":1,"city":"seoul",...,"text":"..."}
+ *   {"checksum":{"records":1000,"crc32c":123456789,"lastId":1000}}
+ *   {"end":{"records":1000,"lastId":1000}}
+ *   </pre>
+ * - 내보내기는 DB 커서로 id 순서로 읽으며 바로 압축하여 쓰므로 다이어리 수와 관계없이 메모리 사용량이 일정하며,
+ *   중단되었다면 마지막 체크섬 줄의 lastId를 afterId로 전달하여 이어서 받음
+ * - 가져오기는 한 줄씩 읽으며 체크섬을 확인한 청크만 새 id로 batch INSERT하고, 저장과 진행 상황을 한 트랜잭션으로 커밋하므로
+ *   중단되었다면 같은 파일을 같은 importId로 다시 보내 저장한 다이어리 다음부터 이어서 가져옴
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class DiaryTransferService {
+    static final int CHUNK_SIZE = 1000;
+    /** 가져올 때 한 청크로 받는 최대 줄 수 (다른 크기로 내보낸 파일도 메모리를 제한하여 받음) */
+    private static final int MAX_CHUNK_SIZE = 10_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CHECKSUM = "checksum";
+    private static final String END = "end";
+    private static final String CHECKSUM_PREFIX = "{\"" + CHECKSUM + "\":";
+    private static final String END_PREFIX = "{\"" + END + "\":";
+
+    private final DiaryRepository diaryRepository;
+    private final DiaryImportRepository diaryImportRepository;
+    private final DiaryService diaryService;
+    private final WeatherService weatherService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Counter exportedCounter;
+    private final Counter importedCounter;
+
+    public DiaryTransferService(DiaryRepository diaryRepository,
+                                DiaryImportRepository diaryImportRepository,
+                                DiaryService diaryService,
+                                WeatherService weatherService,
+                                TransactionTemplate transactionTemplate,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.diaryRepository = diaryRepository;
+        this.diaryImportRepository = diaryImportRepository;
+        this.diaryService = diaryService;
+        this.weatherService = weatherService;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.exportedCounter = meterRegistry.counter("diary.transfer.records", "direction", "export");
+        this.importedCounter = meterRegistry.counter("diary.transfer.records", "direction", "import");
+    }
+
+    /**
+     * afterId보다 큰 id의 다이어리를 id 순서로 내보냄 (outputStream은 닫지 않음)
+     * @param afterId 이전 내보내기의 마지막 체크섬 줄의 lastId (처음이라면 0)
+     * @return 내보낸 다이어리 수
+     */
+    public long exportDiaries(int afterId, OutputStream outputStream) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(outputStream, BUFFER_SIZE) {
+            {
+                // 압축률보다 처리량을 우선 (NDJSON은 가장 빠른 수준에서도 충분히 줄어듦)
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+        OutputStream out = new BufferedOutputStream(gzip, BUFFER_SIZE);
+        CRC32C crc = new CRC32C();
+        int chunkRecords = 0;
+        long records = 0;
+        int lastId = afterId;
+        try (Stream<DiaryDto> diaryDtos = diaryRepository.streamDetailByIdGreaterThan(afterId)) {
+            Iterator<DiaryDto> iterator = diaryDtos.iterator();
+            while (iterator.hasNext()) {
+                DiaryDto diaryDto = iterator.next();
+                byte[] line = objectMapper.writeValueAsBytes(diaryDto);
+                out.write(line);
+                out.write('\n');
+                crc.update(line);
+                lastId = diaryDto.id();
+                records++;
+                if (++chunkRecords == CHUNK_SIZE) {
+                    writeControl(out, CHECKSUM, new Checksum(chunkRecords, crc.getValue(), lastId));
+                    exportedCounter.increment(chunkRecords);
+                    crc.reset();
+                    chunkRecords = 0;
+                }
+            }
+        }
+        if (chunkRecords > 0) {
+            writeControl(out, CHECKSUM, new Checksum(chunkRecords, crc.getValue(), lastId));
+            exportedCounter.increment(chunkRecords);
+        }
+        writeControl(out, END, new End(records, lastId));
+        out.flush();
+        gzip.finish();
+        outputStream.flush();
+        log.info("다이어리 {}건을 내보냈습니다. (afterId={}, lastId={})", records, afterId, lastId);
+        return records;
+    }
+
+    /**
+     * 내보낸 파일을 한 줄씩 읽으며 체크섬을 확인한 청크마다 저장 (다이어리는 새 id로 저장)
+     * 파일이 중간에 끊겼다면 마지막으로 확인한 청크까지 저장하고 completed=false를 반환
+     * @param importId 같은 파일을 다시 보낼 때 이어서 가져오기 위한 id
+     * @throws DiaryException 체크섬이 맞지 않거나 형식이 잘못된 경우 INVALID_DIARY_EXPORT (앞의 청크는 저장됨)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DiaryImportResult importDiaries(String importId, InputStream inputStream) {
+        DiaryImport diaryImport = Objects.requireNonNull(transactionTemplate.execute(status ->
+                diaryImportRepository.findById(importId)
+                        .orElseGet(() -> diaryImportRepository.save(DiaryImport.start(importId)))));
+        if (diaryImport.isCompleted()) {
+            return DiaryImportResult.from(diaryImport);
+        }
+        long importedCount = diaryImport.getImportedCount();
+        long position = 0;
+        CRC32C crc = new CRC32C();
+        int chunkRecords = 0;
+        // 체크섬을 확인하기 전까지는 파싱하지 않음 (끊긴 마지막 줄은 오류가 아니라 다음 요청에서 이어서 가져옴)
+        List<byte[]> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(inputStream, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(CHECKSUM_PREFIX)) {
+                    Checksum checksum = readControl(line, CHECKSUM, Checksum.class);
+                    if (checksum.records() != chunkRecords || checksum.crc32c() != crc.getValue()) {
+                        throw new DiaryException(INVALID_DIARY_EXPORT);
+                    }
+                    if (!chunk.isEmpty()) {
+                        saveChunk(diaryImport, chunk, position, checksum.lastId());
+                        chunk.clear();
+                    }
+                    crc.reset();
+                    chunkRecords = 0;
+                } else if (line.startsWith(END_PREFIX)) {
+                    End end = readControl(line, END, End.class);
+                    if (chunkRecords > 0 || end.records() != position) {
+                        throw new DiaryException(INVALID_DIARY_EXPORT);
+                    }
+                    complete(diaryImport);
+                    break;
+                } else if (!line.isEmpty()) {
+                    if (++chunkRecords > MAX_CHUNK_SIZE) {
+                        throw new DiaryException(INVALID_DIARY_EXPORT);
+                    }
+                    byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+                    crc.update(bytes);
+                    // 이전 요청에서 저장한 다이어리는 건너뜀
+                    if (++position > importedCount) {
+                        chunk.add(bytes);
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            log.warn("[{}] 파일이 중간에 끊겨 {}건까지 가져왔습니다.", importId, diaryImport.getImportedCount());
+        } catch (IOException e) {
+            throw new DiaryException(INVALID_DIARY_EXPORT, e);
+        }
+        return DiaryImportResult.from(diaryImport);
+    }
+
+    /**
+     * @throws DiaryException
+     */
+    public DiaryImportResult getDiaryImport(String importId) {
+        return diaryImportRepository.findById(importId)
+                .map(DiaryImportResult::from)
+                .orElseThrow(() -> new DiaryException(NOT_FOUND_DIARY_IMPORT));
+    }
+
+    /**
+     * 청크의 다이어리와 진행 상황을 한 트랜잭션으로 커밋
+     * 요청이 끝날 때까지 열려있는 영속성 컨텍스트에 저장한 다이어리가 쌓이지 않도록 커밋 전에 비움
+     */
+    private void saveChunk(DiaryImport diaryImport, List<byte[]> lines, long position, int lastId) throws IOException {
+        List<DiaryDto> chunk = new ArrayList<>(lines.size());
+        for (byte[] line : lines) {
+            chunk.add(readDiary(line));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            diaryService.insertDiaries(chunk.stream().map(this::toDiary).toList(),
+                    chunk.stream().map(DiaryDto::text).toList());
+            diaryImport.checkpoint(position, lastId);
+            diaryImportRepository.save(diaryImport);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        importedCounter.increment(chunk.size());
+    }
+
+    private void complete(DiaryImport diaryImport) {
+        transactionTemplate.executeWithoutResult(status -> {
+            diaryImport.complete();
+            diaryImportRepository.save(diaryImport);
+        });
+        log.info("[{}] 다이어리 {}건을 가져왔습니다.", diaryImport.getId(), diaryImport.getImportedCount());
+    }
+
+    private DiaryDto readDiary(byte[] line) throws IOException {
+        DiaryDto diaryDto = objectMapper.readValue(line, DiaryDto.class);
+        if (diaryDto.date() == null) {
+            throw new DiaryException(INVALID_DIARY_EXPORT);
+        }
+        return diaryDto;
+    }
+
+    private void writeControl(OutputStream out, String name, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(Map.of(name, value)));
+        out.write('\n');
+    }
+
+    private <T> T readControl(String line, String name, Class<T> type) throws JsonProcessingException {
+        return objectMapper.treeToValue(objectMapper.readTree(line).get(name), type);
+    }
+
+    /**
+     * 도시가 없는 다이어리(도시가 추가되기 전에 저장된 다이어리)는 기본 도시로 저장
+     */
+    private Diary toDiary(DiaryDto diaryDto) {
+        return Diary.builder()
+                .city(diaryDto.city() == null ? weatherService.getDefaultCity() : diaryDto.city())
+                .weather(diaryDto.weather())
+                .icon(diaryDto.icon())
+                .temperature(diaryDto.temperature())
+                .weatherStatus(diaryDto.weatherStatus())
+                .date(diaryDto.date())
+                .build();
+    }
+
+    /**
+     * @param records 청크의 다이어리 줄 수
+     * @param crc32c 청크의 다이어리 줄(줄바꿈 제외)의 CRC32C
+     * @param lastId 청크의 마지막 다이어리 id
+     */
+    private record Checksum(int records, long crc32c, int lastId) {
+    }
+
+    /**
+     * @param records 파일의 전체 다이어리 줄 수
+     * @param lastId 파일의 마지막 다이어리 id
+     */
+    private record End(long records, int lastId) {
+    }
+}
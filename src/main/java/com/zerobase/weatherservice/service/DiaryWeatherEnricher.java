@@ -0,0 +1,175 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.WeatherStatus;
+import com.zerobase.weatherservice.dto.property.DiaryWeatherEnrichmentProperties;
+import com.zerobase.weatherservice.event.DiaryWeatherRequestedEvent;
+import com.zerobase.weatherservice.exception.DiaryException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_ARRIVED_DATE;
+import static com.zerobase.weatherservice.exception.ErrorCode.WEATHER_API_UNAVAILABLE;
+
+/**
+ * 날씨 없이(PENDING) 저장된 다이어리의 날씨를 작업 스레드에서 채움
+ * - 날씨 API는 트랜잭션 밖에서 호출하고, 조회한 날씨는 짧은 트랜잭션으로 아직 PENDING인 다이어리에만 채움
+ * - 날씨 조회는 WeatherService.getDateWeatherAsync로 이어서 처리하므로 API 응답을 기다리는 동안 작업 스레드를 잡지 않음
+ * - 실패하면 지수 백오프로 maxAttempts번까지 재시도하고, 그래도 실패하면 FAILED(dead letter)로 표시
+ * - 날씨 API를 사용할 수 없다면(서킷 열림, 벌크헤드 가득 참) 재시도하지 않고 가까운 날씨(STALE)로 채우거나
+ *   PENDING으로 두어 DiaryService.fillUnfilledWeathers에서 나중에 채움
+ * - 오늘 이후 날짜의 다이어리는 재시도하지 않고 PENDING으로 두어 그 날짜가 된 후 채움
+ * - 대기 중인 다이어리가 queueCapacity개를 넘으면 받지 않고 PENDING으로 두며, 서버가 재시작되어 잃은 작업도 마찬가지
+ */
+@Slf4j
+@Service
+public class DiaryWeatherEnricher {
+    private final DiaryService diaryService;
+    private final WeatherService weatherService;
+    private final DiaryWeatherEnrichmentProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService executor;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public DiaryWeatherEnricher(DiaryService diaryService,
+                                WeatherService weatherService,
+                                DiaryWeatherEnrichmentProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.diaryService = diaryService;
+        this.weatherService = weatherService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(properties.workers(), runnable -> {
+            Thread thread = new Thread(runnable, "diary-weather-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("diary.weather.enrichment.queued", queued);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 다이어리를 저장한 트랜잭션이 커밋된 후에 날씨 채우기 작업에 추가 (롤백되었다면 추가하지 않음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDiaryWeatherRequested(DiaryWeatherRequestedEvent request) {
+        if (queued.incrementAndGet() > properties.queueCapacity()) {
+            queued.decrementAndGet();
+            record("rejected");
+            log.warn("[{}] 날씨 채우기 대기열이 가득 차 나중에 채웁니다.", request.id());
+            return;
+        }
+        schedule(request, 1, Duration.ZERO);
+    }
+
+    private void schedule(DiaryWeatherRequestedEvent request, int attempt, Duration delay) {
+        try {
+            executor.schedule(() -> enrich(request, attempt), delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중이라면 PENDING으로 두어 다음 실행에서 채움
+            queued.decrementAndGet();
+        }
+    }
+
+    private void enrich(DiaryWeatherRequestedEvent request, int attempt) {
+        CompletableFuture<DateWeather> dateWeather;
+        try {
+            dateWeather = weatherService.getDateWeatherAsync(request.city(), request.date());
+        } catch (RuntimeException e) {
+            retryOrFail(request, attempt, e);
+            return;
+        }
+        // 날씨 조회가 끝난 WeatherService의 작업 스레드(이미 끝났다면 이 스레드)에서 이어서 짧은 트랜잭션으로 채움
+        dateWeather.whenComplete((weather, throwable) -> {
+            if (throwable == null) {
+                fill(request, attempt, weather);
+                return;
+            }
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            if (cause instanceof DiaryException e && e.getErrorCode() == WEATHER_API_UNAVAILABLE) {
+                fillStale(request);
+                return;
+            }
+            if (cause instanceof DiaryException e && e.getErrorCode() == NOT_ARRIVED_DATE) {
+                // 날짜가 된 후 DiaryService.fillUnfilledWeathers에서 채움
+                queued.decrementAndGet();
+                record("deferred");
+                return;
+            }
+            retryOrFail(request, attempt, cause instanceof RuntimeException e ? e : new CompletionException(cause));
+        });
+    }
+
+    private void fill(DiaryWeatherRequestedEvent request, int attempt, DateWeather dateWeather) {
+        try {
+            record(diaryService.fillDiaryWeather(request.id(), dateWeather) ? "filled" : "skipped");
+        } catch (RuntimeException e) {
+            retryOrFail(request, attempt, e);
+            return;
+        }
+        queued.decrementAndGet();
+    }
+
+    private void fillStale(DiaryWeatherRequestedEvent request) {
+        try {
+            WeatherStatus weatherStatus = diaryService.fillStaleDiaryWeather(request.id(), request.city(), request.date());
+            record(weatherStatus == WeatherStatus.STALE ? "stale" : "deferred");
+            log.info("[{}] 날씨 API를 사용할 수 없어 {} 상태로 두고 나중에 채웁니다.", request.id(), weatherStatus);
+        } catch (RuntimeException e) {
+            record("deferred");
+            log.warn("[{}] 날씨 API를 사용할 수 없어 나중에 채웁니다.", request.id(), e);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private void retryOrFail(DiaryWeatherRequestedEvent request, int attempt, RuntimeException cause) {
+        if (attempt < properties.maxAttempts()) {
+            Duration backoff = properties.backoff(attempt);
+            log.info("[{}] 날씨 채우기 실패 ({}/{}), {} 후 다시 시도합니다. ({})",
+                    request.id(), attempt, properties.maxAttempts(), backoff, cause.toString());
+            schedule(request, attempt + 1, backoff);
+            return;
+        }
+        try {
+            if (diaryService.failDiaryWeather(request.id(), request.date())) {
+                record("failed");
+                log.error("[{}, {}, {}] 날씨 채우기에 {}번 실패하여 FAILED로 표시합니다.",
+                        request.id(), request.city(), request.date(), attempt, cause);
+            } else {
+                record("skipped");
+            }
+        } catch (RuntimeException e) {
+            record("deferred");
+            log.error("[{}] 날씨 채우기 실패를 기록하지 못해 PENDING으로 둡니다.", request.id(), e);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * diary.weather.enrichment{outcome} 메트릭으로 결과별 다이어리 수를 기록
+     */
+    private void record(String outcome) {
+        meterRegistry.counter("diary.weather.enrichment", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,155 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.domain.JobLease;
+import com.zerobase.weatherservice.dto.LeaseToken;
+import com.zerobase.weatherservice.dto.property.JobLeaseProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.JobLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.LOST_JOB_LEASE;
+
+/**
+ * DB의 job_lease 테이블로 여러 인스턴스 중 한 노드만 예약 작업을 실행하도록 하는 리스
+ * - 같은 run(예: 날짜)은 한 번만 실행하며, 실행 중에는 renewInterval마다 리스를 연장
+ * - 실행하던 노드가 죽으면 duration이 지난 뒤 다른 노드가 takeOver로 이어서 실행
+ * - 리스를 잃은 노드의 저장은 fence에서 token이 달라 롤백되므로 두 노드가 같은 run을 함께 저장하지 않음
+ * - 만료 시각은 각 노드의 시계로 비교하므로 duration은 노드 간 시계 차이보다 충분히 길어야 함
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class JobLeaseService {
+    private final JobLeaseRepository jobLeaseRepository;
+    private final JobLeaseProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "-"
+            + UUID.randomUUID().toString().substring(0, 8);
+    private final ScheduledExecutorService renewalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-lease-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JobLeaseService(JobLeaseRepository jobLeaseRepository,
+                           JobLeaseProperties properties,
+                           TransactionTemplate transactionTemplate) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewalExecutor.shutdownNow();
+    }
+
+    /**
+     * 아직 아무 노드도 끝내지 않은 run이고 리스가 비어있다면 리스를 얻어 job을 실행
+     * job이 실패하더라도 run은 끝난 것으로 기록 (예외는 그대로 던짐)
+     * @return 이 노드에서 실행했다면 true
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean runOnce(String name, String run, Consumer<LeaseToken> job) {
+        return run(name, run, false, job);
+    }
+
+    /**
+     * 다른 노드가 시작했지만 끝내지 못하고 리스가 만료된 run을 이어서 실행
+     * @return 이 노드에서 실행했다면 true
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean takeOver(String name, String run, Consumer<LeaseToken> job) {
+        return run(name, run, true, job);
+    }
+
+    /**
+     * 저장 트랜잭션에서 호출하여 리스를 아직 가지고 있는지 확인하고 연장
+     * 커밋할 때까지 리스 행을 잠그므로 그 사이에 다른 노드가 리스를 얻지 못함
+     * @throws DiaryException 다른 노드가 리스를 얻은 경우 LOST_JOB_LEASE
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void fence(LeaseToken lease) {
+        if (jobLeaseRepository.renew(lease.name(), lease.token(), expiresAt()) == 0) {
+            throw new DiaryException(LOST_JOB_LEASE);
+        }
+    }
+
+    private boolean run(String name, String run, boolean takeOver, Consumer<LeaseToken> job) {
+        Optional<LeaseToken> acquired = acquire(name, run, takeOver);
+        if (acquired.isEmpty()) {
+            log.debug("[{}, {}] 다른 노드가 실행 중이거나 이미 끝난 작업입니다.", name, run);
+            return false;
+        }
+        LeaseToken lease = acquired.get();
+        log.info("[{}, {}] 작업 리스를 얻었습니다. (token={}{})", name, run, lease.token(), takeOver ? ", 이어서 실행" : "");
+        long renewIntervalMillis = properties.renewInterval().toMillis();
+        ScheduledFuture<?> renewal = renewalExecutor.scheduleWithFixedDelay(
+                () -> renew(lease), renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+        try {
+            job.accept(lease);
+            return true;
+        } finally {
+            renewal.cancel(false);
+            release(lease, run);
+        }
+    }
+
+    private Optional<LeaseToken> acquire(String name, String run, boolean takeOver) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            jobLeaseRepository.insertIfAbsent(name, now);
+            if (jobLeaseRepository.acquire(name, owner, run, takeOver, now, expiresAt()) == 0) {
+                return Optional.empty();
+            }
+            return jobLeaseRepository.findById(name)
+                    .map(JobLease::getToken)
+                    .map(token -> new LeaseToken(name, owner, token));
+        });
+    }
+
+    private void renew(LeaseToken lease) {
+        try {
+            Integer renewed = transactionTemplate.execute(status ->
+                    jobLeaseRepository.renew(lease.name(), lease.token(), expiresAt()));
+            if (renewed == null || renewed == 0) {
+                log.warn("[{}] 다른 노드가 작업 리스를 얻었습니다. (token={})", lease.name(), lease.token());
+            }
+        } catch (DataAccessException e) {
+            log.warn("[{}] 작업 리스를 연장하지 못했습니다. (token={})", lease.name(), lease.token(), e);
+        }
+    }
+
+    private void release(LeaseToken lease, String run) {
+        try {
+            Integer released = transactionTemplate.execute(status ->
+                    jobLeaseRepository.release(lease.name(), lease.token(), run, LocalDateTime.now()));
+            if (released == null || released == 0) {
+                log.warn("[{}, {}] 작업 리스를 잃어 끝난 것으로 기록하지 못했습니다. (token={})",
+                        lease.name(), run, lease.token());
+            }
+        } catch (DataAccessException e) {
+            log.error("[{}, {}] 작업 리스를 반납하지 못했습니다. (token={})", lease.name(), run, lease.token(), e);
+        }
+    }
+
+    private LocalDateTime expiresAt() {
+        return LocalDateTime.now().plus(properties.duration());
+    }
+}
@@ -0,0 +1,264 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.StatsPeriod;
+import com.zerobase.weatherservice.domain.StatsRollup;
+import com.zerobase.weatherservice.domain.StatsRollupId;
+import com.zerobase.weatherservice.domain.WeatherTypeRollup;
+import com.zerobase.weatherservice.dto.DiaryCount;
+import com.zerobase.weatherservice.dto.StatsBucket;
+import com.zerobase.weatherservice.dto.StatsRebuildResult;
+import com.zerobase.weatherservice.dto.WeatherStatsDto;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.StatsRollupRepository;
+import com.zerobase.weatherservice.repository.WeatherTypeRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.zerobase.weatherservice.domain.StatsPeriod.DAY;
+import static com.zerobase.weatherservice.domain.StatsPeriod.MONTH;
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_DATE_RANGE;
+
+/**
+ * 날씨, 다이어리 통계 롤업 (stats_rollup, weather_type_rollup)
+ * - 날씨 정보, 다이어리를 저장하거나 삭제하는 트랜잭션에서 (도시, 일/월) 롤업을 함께 갱신
+ * - 롤업을 갱신하는 트랜잭션은 먼저 (월, 도시) 순서로 MONTH 행을 잠근 뒤 DAY 행을 쓰므로
+ *   같은 달의 쓰기는 MONTH 행에서 차례로 대기하고 서로 교착되지 않음
+ * - 조회는 기간에 완전히 포함된 달은 MONTH 롤업으로, 나머지 날짜는 DAY 롤업으로 합산하므로
+ *   기간의 길이와 관계없이 (월 수 + 최대 60일) × 도시 수 행만 읽음
+ * - 롤업이 어긋났거나 기존 데이터로 처음 채울 때는 rebuild로 원본 테이블에서 다시 집계
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StatsService {
+    /**
+     * DAY 단위로 조회할 수 있는 최대 일수
+     */
+    private static final int MAX_DAY_BUCKETS = 366;
+    /**
+     * MONTH 행을 잠그는 순서
+     */
+    private static final Comparator<StatsRollupId> MONTH_LOCK_ORDER =
+            Comparator.comparing(StatsRollupId::getPeriodStart).thenComparing(StatsRollupId::getCity);
+
+    private final StatsRollupRepository statsRollupRepository;
+    private final WeatherTypeRollupRepository weatherTypeRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 저장된 날씨 정보를 DAY 롤업에 덮어쓰고 해당 (월, 도시)의 MONTH 롤업을 다시 합산
+     * 최저, 최고 기온은 증감으로 갱신할 수 없으므로 MONTH 롤업의 날씨 통계는 최대 31개의 DAY 롤업으로 제자리에서 다시 계산
+     * 날씨 종류별 MONTH 롤업은 종류가 바뀔 수 있어 다시 추가하지만, MONTH 행을 잠근 동안이므로 다른 쓰기와 겹치지 않음
+     */
+    @Transactional
+    public void applyWeathers(Collection<DateWeather> dateWeathers) {
+        Set<StatsRollupId> months = new TreeSet<>(MONTH_LOCK_ORDER);
+        for (DateWeather dateWeather : dateWeathers) {
+            months.add(new StatsRollupId(MONTH, MONTH.start(dateWeather.getDate()), dateWeather.getCity()));
+        }
+        for (StatsRollupId month : months) {
+            statsRollupRepository.lockMonth(month.getPeriodStart(), month.getCity());
+        }
+        for (DateWeather dateWeather : dateWeathers) {
+            LocalDate date = dateWeather.getDate();
+            String city = dateWeather.getCity();
+            statsRollupRepository.upsertDayWeather(date, city, dateWeather.getTemperature());
+            weatherTypeRollupRepository.deleteRollup(DAY, date, city);
+            if (dateWeather.getWeather() != null) {
+                weatherTypeRollupRepository.insertDay(date, city, dateWeather.getWeather());
+            }
+        }
+        for (StatsRollupId month : months) {
+            LocalDate monthEnd = MONTH.end(month.getPeriodStart());
+            statsRollupRepository.updateMonthWeatherFromDays(month.getPeriodStart(), monthEnd, month.getCity());
+            weatherTypeRollupRepository.deleteRollup(MONTH, month.getPeriodStart(), month.getCity());
+            weatherTypeRollupRepository.insertMonthFromDays(month.getPeriodStart(), monthEnd, month.getCity());
+        }
+    }
+
+    /**
+     * (날짜, 도시)별 다이어리 증감량을 MONTH, DAY 롤업 순서로 더함
+     * 같은 달의 증감량이 상쇄되어 MONTH 롤업을 바꾸지 않더라도 DAY 롤업을 쓰기 전에 MONTH 행을 잠금
+     * @param diaryCounts 추가된 다이어리는 양수, 삭제된 다이어리는 음수
+     */
+    @Transactional
+    public void addDiaryCounts(Collection<DiaryCount> diaryCounts) {
+        Map<StatsRollupId, Long> monthDeltas = new TreeMap<>(MONTH_LOCK_ORDER);
+        Map<StatsRollupId, Long> dayDeltas = new LinkedHashMap<>();
+        for (DiaryCount diaryCount : diaryCounts) {
+            monthDeltas.merge(new StatsRollupId(MONTH, MONTH.start(diaryCount.date()), diaryCount.city()),
+                    diaryCount.count(), Long::sum);
+            dayDeltas.merge(new StatsRollupId(DAY, diaryCount.date(), diaryCount.city()), diaryCount.count(), Long::sum);
+        }
+        monthDeltas.forEach((id, delta) -> {
+            if (delta != 0) {
+                statsRollupRepository.addDiaryCount(MONTH.name(), id.getPeriodStart(), id.getCity(), delta);
+            } else {
+                statsRollupRepository.lockMonth(id.getPeriodStart(), id.getCity());
+            }
+        });
+        dayDeltas.forEach((id, delta) -> {
+            if (delta != 0) {
+                statsRollupRepository.addDiaryCount(DAY.name(), id.getPeriodStart(), id.getCity(), delta);
+            }
+        });
+    }
+
+    /**
+     * 기간에 걸친 모든 달의 롤업을 date_weather, diary 테이블에서 다시 집계
+     * 한 달씩 별도의 트랜잭션으로 커밋하여 긴 기간이라도 락을 오래 잡지 않음
+     * @throws DiaryException 잘못된 기간인 경우
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StatsRebuildResult rebuild(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new DiaryException(INVALID_DATE_RANGE);
+        }
+        LocalDate firstMonth = MONTH.start(startDate);
+        LocalDate lastMonthEnd = MONTH.end(endDate);
+        int rebuiltMonths = 0;
+        for (LocalDate month = firstMonth; month.isBefore(lastMonthEnd); month = month.plusMonths(1)) {
+            LocalDate monthStart = month;
+            LocalDate monthEnd = MONTH.end(month);
+            transactionTemplate.executeWithoutResult(status -> {
+                statsRollupRepository.deleteByPeriodStartBetween(monthStart, monthEnd);
+                weatherTypeRollupRepository.deleteByPeriodStartBetween(monthStart, monthEnd);
+                statsRollupRepository.insertDaysFromDiaries(monthStart, monthEnd);
+                statsRollupRepository.upsertDaysFromWeathers(monthStart, monthEnd);
+                weatherTypeRollupRepository.insertDaysFromWeathers(monthStart, monthEnd);
+                statsRollupRepository.insertMonthFromDays(monthStart, monthEnd);
+                weatherTypeRollupRepository.insertMonthFromDays(monthStart, monthEnd);
+            });
+            rebuiltMonths++;
+        }
+        log.info("[{} ~ {}] 통계 롤업 재집계 완료 ({}개월)", firstMonth, lastMonthEnd, rebuiltMonths);
+        return new StatsRebuildResult(firstMonth, lastMonthEnd, rebuiltMonths);
+    }
+
+    /**
+     * 기간 내의 날씨, 다이어리 통계를 unit 단위로 합산
+     * @param city null이라면 모든 도시
+     * @throws DiaryException 잘못된 기간이거나 DAY 단위로 366일을 넘는 경우
+     */
+    public WeatherStatsDto getStats(LocalDate startDate, LocalDate endDate, StatsPeriod unit, String city) {
+        if (startDate.isAfter(endDate)
+                || (unit == DAY && ChronoUnit.DAYS.between(startDate, endDate) >= MAX_DAY_BUCKETS)) {
+            throw new DiaryException(INVALID_DATE_RANGE);
+        }
+        Map<LocalDate, StatsAccumulator> accumulators = new HashMap<>();
+        LocalDate firstMonth = startDate.equals(MONTH.start(startDate))
+                ? startDate : MONTH.start(startDate).plusMonths(1);
+        LocalDate lastMonthEnd = endDate.equals(MONTH.end(endDate))
+                ? endDate : MONTH.start(endDate).minusDays(1);
+        if (unit == DAY || firstMonth.isAfter(lastMonthEnd)) {
+            accumulate(DAY, startDate, endDate, city, unit, accumulators);
+        } else {
+            accumulate(MONTH, firstMonth, lastMonthEnd, city, unit, accumulators);
+            if (startDate.isBefore(firstMonth)) {
+                accumulate(DAY, startDate, firstMonth.minusDays(1), city, unit, accumulators);
+            }
+            if (endDate.isAfter(lastMonthEnd)) {
+                accumulate(DAY, lastMonthEnd.plusDays(1), endDate, city, unit, accumulators);
+            }
+        }
+        StatsAccumulator total = new StatsAccumulator();
+        List<StatsBucket> buckets = new ArrayList<>();
+        for (LocalDate key = unit.start(startDate); !key.isAfter(endDate); key = unit.end(key).plusDays(1)) {
+            StatsAccumulator accumulator = accumulators.getOrDefault(key, new StatsAccumulator());
+            total.add(accumulator);
+            buckets.add(accumulator.toBucket(key.isBefore(startDate) ? startDate : key,
+                    unit.end(key).isAfter(endDate) ? endDate : unit.end(key)));
+        }
+        return new WeatherStatsDto(startDate, endDate, unit, city, total.toBucket(startDate, endDate), buckets);
+    }
+
+    /**
+     * periodType 롤업 중 기간 내에 시작하는 행을 unit 단위 (첫 날 기준)로 합산
+     */
+    private void accumulate(StatsPeriod periodType, LocalDate startDate, LocalDate endDate, String city,
+                            StatsPeriod unit, Map<LocalDate, StatsAccumulator> accumulators) {
+        List<StatsRollup> rollups = city == null
+                ? statsRollupRepository.findAllByPeriodTypeAndPeriodStartBetween(periodType, startDate, endDate)
+                : statsRollupRepository.findAllByPeriodTypeAndPeriodStartBetweenAndCity(
+                        periodType, startDate, endDate, city);
+        List<WeatherTypeRollup> weatherTypes = city == null
+                ? weatherTypeRollupRepository.findAllByPeriodTypeAndPeriodStartBetween(periodType, startDate, endDate)
+                : weatherTypeRollupRepository.findAllByPeriodTypeAndPeriodStartBetweenAndCity(
+                        periodType, startDate, endDate, city);
+        for (StatsRollup rollup : rollups) {
+            accumulators.computeIfAbsent(unit.start(rollup.getPeriodStart()), key -> new StatsAccumulator())
+                    .add(rollup);
+        }
+        for (WeatherTypeRollup weatherType : weatherTypes) {
+            accumulators.computeIfAbsent(unit.start(weatherType.getPeriodStart()), key -> new StatsAccumulator())
+                    .add(weatherType);
+        }
+    }
+
+    private static class StatsAccumulator {
+        private int weatherDays;
+        private double temperatureSum;
+        private Double minTemperature;
+        private Double maxTemperature;
+        private long diaryCount;
+        private final Map<String, Long> weatherTypes = new TreeMap<>();
+
+        void add(StatsRollup rollup) {
+            add(rollup.getWeatherDays(), rollup.getTemperatureSum(),
+                    rollup.getTemperatureMin(), rollup.getTemperatureMax(), rollup.getDiaryCount());
+        }
+
+        void add(WeatherTypeRollup weatherType) {
+            weatherTypes.merge(weatherType.getWeather(), weatherType.getDayCount(), Long::sum);
+        }
+
+        void add(StatsAccumulator other) {
+            add(other.weatherDays, other.temperatureSum, other.minTemperature, other.maxTemperature, other.diaryCount);
+            other.weatherTypes.forEach((weather, days) -> weatherTypes.merge(weather, days, Long::sum));
+        }
+
+        private void add(int weatherDays, double temperatureSum, Double min, Double max, long diaryCount) {
+            this.weatherDays += weatherDays;
+            this.temperatureSum += temperatureSum;
+            if (min != null && (minTemperature == null || min < minTemperature)) {
+                minTemperature = min;
+            }
+            if (max != null && (maxTemperature == null || max > maxTemperature)) {
+                maxTemperature = max;
+            }
+            this.diaryCount += diaryCount;
+        }
+
+        StatsBucket toBucket(LocalDate startDate, LocalDate endDate) {
+            return StatsBucket.builder()
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .weatherDays(weatherDays)
+                    .averageTemperature(weatherDays == 0 ? null : temperatureSum / weatherDays)
+                    .minTemperature(minTemperature)
+                    .maxTemperature(maxTemperature)
+                    .weatherTypes(weatherTypes)
+                    .diaryCount(diaryCount)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.domain.BackfillStatus;
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.DateWeatherId;
+import com.zerobase.weatherservice.domain.WeatherBackfill;
+import com.zerobase.weatherservice.dto.LeaseToken;
+import com.zerobase.weatherservice.dto.WeatherBackfillDto;
+import com.zerobase.weatherservice.dto.property.WeatherBackfillProperties;
+import com.zerobase.weatherservice.dto.property.WeatherIngestProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.DateWeatherRepository;
+import com.zerobase.weatherservice.repository.WeatherBackfillRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.*;
+
+/**
+ * 비어있는 (도시, 날짜)의 날씨 정보를 찾아 history API로 채우는 backfill 작업
+ * - batchDays개 날짜씩 병렬로 요청하고, 저장과 체크포인트를 한 트랜잭션으로 커밋
+ * - 서버가 재시작되면 RUNNING 상태의 작업을 체크포인트 다음 날짜부터 이어서 진행
+ * - 작업마다 리스(weather-backfill, run=작업 id)를 얻은 한 노드만 진행하며, 모든 배치 저장은 리스를 확인(fence)한 뒤 커밋
+ * - 진행 상황은 조회 API, 처리량은 weather.backfill.items 메트릭으로 확인
+ */
+@Slf4j
+@Service
+public class WeatherBackfillService {
+    private static final String BACKFILL_JOB = "weather-backfill";
+    private static final String BACKFILL_SCHEDULE_JOB = "weather-backfill-schedule";
+    private final WeatherBackfillRepository weatherBackfillRepository;
+    private final DateWeatherRepository dateWeatherRepository;
+    private final WeatherService weatherService;
+    private final StatsService statsService;
+    private final WeatherIngestProperties ingestProperties;
+    private final WeatherBackfillProperties backfillProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseService jobLeaseService;
+    private final Counter filledCounter;
+    private final Counter failedCounter;
+    // 작업은 한 번에 하나씩만 진행
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "weather-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 이 노드에서 진행 중이거나 대기 중인 작업 (같은 작업을 다시 넣지 않기 위함)
+    private final Set<Long> submittedBackfills = ConcurrentHashMap.newKeySet();
+
+    public WeatherBackfillService(
+            WeatherBackfillRepository weatherBackfillRepository,
+            DateWeatherRepository dateWeatherRepository,
+            WeatherService weatherService,
+            StatsService statsService,
+            WeatherIngestProperties ingestProperties,
+            WeatherBackfillProperties backfillProperties,
+            TransactionTemplate transactionTemplate,
+            JobLeaseService jobLeaseService,
+            MeterRegistry meterRegistry
+    ) {
+        this.weatherBackfillRepository = weatherBackfillRepository;
+        this.dateWeatherRepository = dateWeatherRepository;
+        this.weatherService = weatherService;
+        this.statsService = statsService;
+        this.ingestProperties = ingestProperties;
+        this.backfillProperties = backfillProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLeaseService = jobLeaseService;
+        this.filledCounter = meterRegistry.counter("weather.backfill.items", "result", "filled");
+        this.failedCounter = meterRegistry.counter("weather.backfill.items", "result", "failed");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    /**
+     * 매일 01시 30분에 지난 lookbackDays일 동안 비어있는 날씨 정보를 채움
+     * 01시 수집이 실패했거나 서버가 내려가 있던 날짜를 다시 채우기 위함
+     * 여러 인스턴스 중 날짜별 시작 리스를 얻은 한 노드만 작업을 시작
+     */
+    @Scheduled(cron = "0 30 1 * * *")
+    public void backfillRecentDates() {
+        LocalDate today = LocalDate.now();
+        jobLeaseService.runOnce(BACKFILL_SCHEDULE_JOB, today.toString(), lease -> {
+            try {
+                startBackfill(today.minusDays(backfillProperties.lookbackDays() - 1L), today);
+            } catch (DiaryException e) {
+                log.warn("최근 날씨 정보 backfill을 시작하지 못했습니다. ({})", e.getErrorMessage());
+            }
+        });
+    }
+
+    /**
+     * 서버 시작 시, 그리고 takeOverCheckInterval마다 중단된 작업을 체크포인트부터 이어서 진행
+     * 작업 리스를 얻은 한 노드만 진행하므로, 진행하던 노드가 죽었다면 리스가 만료된 뒤 다른 노드가 이어서 진행
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${job.lease.take-over-check-interval:PT1M}")
+    public void resumeBackfills() {
+        for (WeatherBackfill backfill : weatherBackfillRepository.findAllByStatus(BackfillStatus.RUNNING)) {
+            submit(backfill.getId());
+        }
+    }
+
+    /**
+     * 기간 내 비어있는 날씨 정보를 채우는 작업을 시작하고 바로 반환
+     * 진행 중인 작업이 있는지는 active의 unique 제약으로 확인하므로 여러 노드가 동시에 시작하더라도 하나만 저장됨
+     * @throws DiaryException 잘못된 기간이거나 진행 중인 작업이 있는 경우
+     */
+    public WeatherBackfillDto startBackfill(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate) || endDate.isAfter(LocalDate.now())) {
+            throw new DiaryException(INVALID_DATE_RANGE);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        WeatherBackfill backfill;
+        try {
+            backfill = weatherBackfillRepository.save(WeatherBackfill.builder()
+                    .status(BackfillStatus.RUNNING)
+                    .active(true)
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .missingCount(findMissingWeathers(startDate, endDate).size())
+                    .startedAt(now)
+                    .updatedAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new DiaryException(ALREADY_RUNNING_BACKFILL, e);
+        }
+        submit(backfill.getId());
+        return WeatherBackfillDto.fromEntity(backfill);
+    }
+
+    /**
+     * @throws DiaryException
+     */
+    public WeatherBackfillDto getBackfill(long id) {
+        return weatherBackfillRepository.findById(id)
+                .map(WeatherBackfillDto::fromEntity)
+                .orElseThrow(() -> new DiaryException(NOT_FOUND_BACKFILL));
+    }
+
+    /**
+     * 작업 리스를 얻어 backfill을 진행하며, 리스는 모든 배치를 마칠 때까지 연장
+     * 다른 노드가 진행 중이라면 리스를 얻지 못하고 건너뜀
+     */
+    private void submit(long id) {
+        if (!submittedBackfills.add(id)) {
+            return;
+        }
+        try {
+            backfillExecutor.execute(() -> {
+                try {
+                    jobLeaseService.runOnce(BACKFILL_JOB, String.valueOf(id), lease -> runBackfill(id, lease));
+                } catch (RuntimeException e) {
+                    log.warn("[{}] 날씨 정보 backfill 작업 리스를 얻지 못했습니다.", id, e);
+                } finally {
+                    submittedBackfills.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            submittedBackfills.remove(id);
+            log.warn("[{}] 종료 중이므로 날씨 정보 backfill을 진행하지 않습니다.", id);
+        }
+    }
+
+    /**
+     * 체크포인트 다음 날짜부터 batchDays개 날짜씩 채우고 체크포인트를 남김
+     * 저장 중 다른 곳(당일 수집, 다이어리 작성)에서 같은 날씨를 먼저 저장했다면 빈 항목을 다시 찾아 재시도
+     * 리스를 잃었다면 다른 노드가 이어서 진행하므로 작업 상태를 바꾸지 않고 멈춤
+     * @param lease 이 작업의 리스 (배치 저장과 완료 기록마다 fence로 확인)
+     */
+    void runBackfill(long id, LeaseToken lease) {
+        WeatherBackfill backfill = weatherBackfillRepository.findById(id).orElseThrow();
+        if (backfill.getStatus() != BackfillStatus.RUNNING) {
+            // 리스를 얻기 전에 다른 노드가 끝낸 작업
+            return;
+        }
+        log.info("[{}] 날씨 정보 backfill 진행 ({}부터, token={})", id, backfill.nextDate(), lease.token());
+        int retries = 0;
+        try {
+            LocalDate from;
+            while (!(from = backfill.nextDate()).isAfter(backfill.getEndDate())) {
+                LocalDate to = min(from.plusDays(backfillProperties.batchDays() - 1L), backfill.getEndDate());
+                try {
+                    backfill = fillBatch(id, from, to, lease);
+                    retries = 0;
+                } catch (DataIntegrityViolationException e) {
+                    if (++retries > backfillProperties.maxRetries()) {
+                        throw e;
+                    }
+                    log.warn("[{}] {} ~ {} 날씨 정보 저장 충돌, 다시 시도합니다. ({}/{})",
+                            id, from, to, retries, backfillProperties.maxRetries());
+                }
+            }
+            backfill = finish(id, BackfillStatus.COMPLETED, lease);
+            log.info("[{}] 날씨 정보 backfill 완료 (채움: {}, 실패: {})",
+                    id, backfill.getFilledCount(), backfill.getFailedCount());
+        } catch (RuntimeException e) {
+            if (e instanceof DiaryException diaryException && diaryException.getErrorCode() == LOST_JOB_LEASE) {
+                log.warn("[{}] 작업 리스를 잃어 날씨 정보 backfill을 멈춥니다. (체크포인트: {})",
+                        id, backfill.getCheckpointDate());
+                return;
+            }
+            log.error("[{}] 날씨 정보 backfill 실패 (체크포인트: {})", id, backfill.getCheckpointDate(), e);
+            try {
+                finish(id, BackfillStatus.FAILED, lease);
+            } catch (RuntimeException finishFailure) {
+                log.warn("[{}] 날씨 정보 backfill 실패를 기록하지 못했습니다.", id, finishFailure);
+            }
+        }
+    }
+
+    /**
+     * 배치의 날씨 정보, 통계 롤업 저장과 체크포인트를 한 트랜잭션으로 커밋
+     * 커밋 전에 리스를 확인하고, 롤백되어도 메모리의 진행 상황이 어긋나지 않도록 트랜잭션 안에서 작업을 다시 읽어 갱신
+     * @throws DiaryException 리스를 잃은 경우 LOST_JOB_LEASE
+     */
+    private WeatherBackfill fillBatch(long id, LocalDate from, LocalDate to, LeaseToken lease) {
+        List<DateWeatherId> missingWeathers = findMissingWeathers(from, to);
+        // API 요청 중에는 트랜잭션을 열지 않음
+        List<DateWeather> dateWeathers = weatherService.fetchWeathers(missingWeathers);
+        int failed = missingWeathers.size() - dateWeathers.size();
+        WeatherBackfill saved = transactionTemplate.execute(status -> {
+            jobLeaseService.fence(lease);
+            statsService.applyWeathers(dateWeatherRepository.saveAll(dateWeathers));
+            WeatherBackfill backfill = weatherBackfillRepository.findById(id).orElseThrow();
+            backfill.checkpoint(to, dateWeathers.size(), failed);
+            return weatherBackfillRepository.save(backfill);
+        });
+        filledCounter.increment(dateWeathers.size());
+        failedCounter.increment(failed);
+        return saved;
+    }
+
+    /**
+     * 리스를 확인한 뒤 작업의 완료 상태를 기록
+     * @throws DiaryException 리스를 잃은 경우 LOST_JOB_LEASE
+     */
+    private WeatherBackfill finish(long id, BackfillStatus status, LeaseToken lease) {
+        return transactionTemplate.execute(transaction -> {
+            jobLeaseService.fence(lease);
+            WeatherBackfill backfill = weatherBackfillRepository.findById(id).orElseThrow();
+            backfill.finish(status);
+            return weatherBackfillRepository.save(backfill);
+        });
+    }
+
+    /**
+     * 설정된 도시 중 기간 내 날씨 정보가 없는 (도시, 날짜)를 날짜 순서로 반환
+     */
+    List<DateWeatherId> findMissingWeathers(LocalDate startDate, LocalDate endDate) {
+        Set<DateWeatherId> savedWeathers = new HashSet<>(dateWeatherRepository.findIdsByDateBetween(startDate, endDate));
+        List<DateWeatherId> missingWeathers = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            for (String city : ingestProperties.cities()) {
+                DateWeatherId weatherId = new DateWeatherId(city, date);
+                if (!savedWeathers.contains(weatherId)) {
+                    missingWeathers.add(weatherId);
+                }
+            }
+        }
+        return missingWeathers;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -1,124 +1,315 @@
 package com.zerobase.weatherservice.service;
 
+import com.zerobase.weatherservice.cache.WeatherCache;
+import com.zerobase.weatherservice.client.WeatherApiClient;
+import com.zerobase.weatherservice.client.WeatherResponseParser;
 import com.zerobase.weatherservice.domain.DateWeather;
-import com.zerobase.weatherservice.dto.property.ApiProperties;
+import com.zerobase.weatherservice.domain.DateWeatherId;
+import com.zerobase.weatherservice.dto.LeaseToken;
+import com.zerobase.weatherservice.dto.WeatherData;
+import com.zerobase.weatherservice.dto.property.WeatherIngestProperties;
 import com.zerobase.weatherservice.exception.DiaryException;
 import com.zerobase.weatherservice.repository.DateWeatherRepository;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import javax.annotation.PreDestroy;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.zerobase.weatherservice.exception.ErrorCode.*;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class WeatherService {
-    private static final String apiUrl = "https://api.openweathermap.org/data/2.5/weather?q=seoul&appid=";
     private final DateWeatherRepository dateWeatherRepository;
-    private final ApiProperties apiProperties;
+    private final WeatherApiClient weatherApiClient;
+    private final WeatherCache weatherCache;
+    private final WeatherIngestProperties ingestProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final StatsService statsService;
+    private final JobLeaseService jobLeaseService;
+    private final ExecutorService ingestExecutor;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter circuitOpenCounter;
+    private final Counter bulkheadFullCounter;
+    private final MeterRegistry meterRegistry;
 
-    public void saveWeatherDate() {
+    public WeatherService(
+            DateWeatherRepository dateWeatherRepository,
+            WeatherApiClient weatherApiClient,
+            WeatherCache weatherCache,
+            WeatherIngestProperties ingestProperties,
+            TransactionTemplate transactionTemplate,
+            StatsService statsService,
+            JobLeaseService jobLeaseService,
+            CircuitBreaker weatherApiCircuitBreaker,
+            Bulkhead weatherApiBulkhead,
+            MeterRegistry meterRegistry
+    ) {
+        this.dateWeatherRepository = dateWeatherRepository;
+        this.weatherApiClient = weatherApiClient;
+        this.weatherCache = weatherCache;
+        this.ingestProperties = ingestProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.statsService = statsService;
+        this.jobLeaseService = jobLeaseService;
+        this.circuitBreaker = weatherApiCircuitBreaker;
+        this.bulkhead = weatherApiBulkhead;
+        this.circuitOpenCounter = meterRegistry.counter("weather.api.rejected", "reason", "circuit_open");
+        this.bulkheadFullCounter = meterRegistry.counter("weather.api.rejected", "reason", "bulkhead_full");
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.ingestExecutor = Executors.newFixedThreadPool(ingestProperties.workers(), runnable -> {
+            Thread thread = new Thread(runnable, "weather-ingest-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ingestExecutor.shutdownNow();
+    }
+
+    /**
+     * 설정된 모든 도시의 날씨 정보를 작업 스레드에서 병렬로 받아와 한 번에 저장
+     * 일부 도시의 요청이 실패하더라도 나머지 도시는 저장하며, API 요청 중에는 DB 커넥션을 잡지 않음
+     * 날씨 정보와 통계 롤업은 한 트랜잭션으로 커밋하며, 커밋 전에 작업 리스를 아직 가지고 있는지 확인
+     * @param lease 날씨 수집 작업의 리스
+     * @throws DiaryException 모든 도시의 요청이 실패했거나 DB 저장에 실패한 경우, 리스를 잃은 경우 LOST_JOB_LEASE
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void saveWeatherDate(LeaseToken lease) {
+        LocalDate today = LocalDate.now();
+        List<String> cities = ingestProperties.cities();
+        List<DateWeather> dateWeathers = fetchWeathers(cities.stream()
+                .map(city -> new DateWeatherId(city, today))
+                .toList());
+        if (dateWeathers.isEmpty()) {
+            throw new DiaryException(FAILED_GET_FROM_API);
+        }
         try {
-            dateWeatherRepository.save(getWeatherFromApi());
-        } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
-            log.error("[{}] 날씨 저장 실패", LocalDate.now().toString());
-            throw new DiaryException(FAILED_SAVE_WEATHER);
+            Objects.requireNonNull(transactionTemplate.execute(status -> {
+                jobLeaseService.fence(lease);
+                List<DateWeather> saved = dateWeatherRepository.saveAll(dateWeathers);
+                statsService.applyWeathers(saved);
+                return saved;
+            })).forEach(weatherCache::put);
+        } catch (IllegalArgumentException | DataAccessException e) {
+            log.error("[{}] 날씨 저장 실패", today.toString());
+            throw new DiaryException(FAILED_SAVE_WEATHER, e);
         }
+        log.info("날씨 정보 수집 완료 ({}/{})", dateWeathers.size(), cities.size());
     }
 
-    public DateWeather getDateWeather(LocalDate date) {
-        List<DateWeather> dateWeatherListFromDB = dateWeatherRepository.findAllByDate(date);
-        // 현재 날짜의 날씨 정보가 없다면 API에 요청
-        if (dateWeatherListFromDB.isEmpty()){
-            return getWeatherFromApi();
-        } else {
-            return dateWeatherListFromDB.get(0);
+    /**
+     * 여러 (도시, 날짜)의 날씨 정보를 작업 스레드에서 병렬로 받아옴 (DB에는 저장하지 않음)
+     * @return 요청에 성공한 날씨 정보 (실패한 항목은 로그만 남기고 제외)
+     */
+    public List<DateWeather> fetchWeathers(List<DateWeatherId> ids) {
+        List<CompletableFuture<DateWeather>> futures = ids.stream()
+                .map(id -> CompletableFuture.supplyAsync(
+                        () -> getWeatherFromApi(id.getCity(), id.getDate()), ingestExecutor))
+                .toList();
+        List<DateWeather> dateWeathers = new ArrayList<>(ids.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                dateWeathers.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                log.error("[{}, {}] 날씨 정보 수집 실패 ({})",
+                        ids.get(i).getCity(), ids.get(i).getDate(), e.getCause().toString());
+            }
         }
+        return dateWeathers;
     }
 
-    private DateWeather getWeatherFromApi() {
-        String weatherData = getWeatherString();
-        Map<String, Object> parsedWeather = parseWeather(weatherData);
-        return DateWeather.builder()
-                .date(LocalDate.now())
-                .weather(parsedWeather.get("main").toString())
-                .icon(parsedWeather.get("icon").toString())
-                .temperature((Double) parsedWeather.get("temp"))
-                .build();
+    /**
+     * 호출한 스레드에서 API 응답을 기다리지 않고 날씨 정보를 조회 (DB 조회, 저장은 작업 스레드에서 각각 짧은 트랜잭션)
+     * 로딩이 HTTP 클라이언트 스레드에서 끝나더라도 결과는 작업 스레드에서 완료되므로,
+     * 이어지는 DB 작업이 HTTP 클라이언트 스레드를 잡지 않음 (이미 완료된 뒤에 이은 작업은 호출한 스레드에서 실행)
+     * @return 지원하지 않는 도시라면 NOT_SUPPORTED_CITY로 실패한 future
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<DateWeather> getDateWeatherAsync(String city, LocalDate date) {
+        if (!ingestProperties.supports(city)) {
+            return CompletableFuture.failedFuture(new DiaryException(NOT_SUPPORTED_CITY));
+        }
+        return weatherCache.getAsync(new DateWeatherId(city, date), this::loadDateWeather)
+                .whenCompleteAsync((dateWeather, throwable) -> { }, ingestExecutor);
     }
 
     /**
-     * openweathermap API로부터 날씨 정보를 받음
-     * @throws DiaryException
+     * 날씨 정보를 호출한 스레드에서 기다려 조회 (동기 호출용, 서비스 내부에서는 getDateWeatherAsync를 사용)
+     * API 응답을 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행 (DB 조회, 저장은 각각 짧은 트랜잭션)
+     * @throws DiaryException 지원하지 않는 도시인 경우 NOT_SUPPORTED_CITY
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DateWeather getDateWeather(String city, LocalDate date) {
+        if (!ingestProperties.supports(city)) {
+            throw new DiaryException(NOT_SUPPORTED_CITY);
+        }
+        return weatherCache.get(new DateWeatherId(city, date), this::loadDateWeather);
+    }
+
+    /**
+     * API를 호출하지 않고 DB에 저장된 날씨 중 해당 날짜와 가장 가까운 날짜의 날씨를 조회
+     * 앞뒤로 같은 거리라면 이전 날짜를 사용
      */
-    private String getWeatherString() {
+    public Optional<DateWeather> findNearestDateWeather(String city, LocalDate date) {
+        Optional<DateWeather> exact = dateWeatherRepository.findByCityAndDate(city, date);
+        if (exact.isPresent()) {
+            return exact;
+        }
+        Optional<DateWeather> before = dateWeatherRepository.findFirstByCityAndDateLessThanOrderByDateDesc(city, date);
+        Optional<DateWeather> after = dateWeatherRepository.findFirstByCityAndDateGreaterThanOrderByDateAsc(city, date);
+        if (before.isEmpty() || after.isEmpty()) {
+            return before.isPresent() ? before : after;
+        }
+        long daysBefore = ChronoUnit.DAYS.between(before.get().getDate(), date);
+        long daysAfter = ChronoUnit.DAYS.between(date, after.get().getDate());
+        return daysBefore <= daysAfter ? before : after;
+    }
+
+    public boolean supports(String city) {
+        return ingestProperties.supports(city);
+    }
+
+    public String getDefaultCity() {
+        return ingestProperties.defaultCity();
+    }
+
+    /**
+     * 캐시 miss 시 DB를 먼저 조회하고, 없다면 API에서 받아온 날씨 정보를 통계 롤업과 함께 DB에 저장
+     * 캐시의 매핑 함수 안에서 호출되므로 DB 조회, 저장은 작업 스레드에서 실행하고 호출한 스레드에서는 블로킹하지 않음
+     */
+    private CompletableFuture<DateWeather> loadDateWeather(DateWeatherId id) {
+        return CompletableFuture.supplyAsync(
+                        () -> dateWeatherRepository.findByCityAndDate(id.getCity(), id.getDate()), ingestExecutor)
+                .thenCompose(found -> found.map(CompletableFuture::completedFuture)
+                        // 해당 날짜의 날씨 정보가 없다면 API에 요청
+                        .orElseGet(() -> fetchWeatherFromApi(id.getCity(), id.getDate())
+                                .thenApplyAsync(this::saveDateWeather, ingestExecutor)));
+    }
+
+    private DateWeather saveDateWeather(DateWeather dateWeather) {
         try {
-            URL url = new URL(apiUrl + apiProperties.key());
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            int responseCode = connection.getResponseCode();
-            BufferedReader br;
-            if (responseCode == 200) {
-                br = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            } else {
-                br = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
-            }
-            String inputLine;
-            StringBuilder response = new StringBuilder();
-            while ((inputLine = br.readLine()) != null) {
-                response.append(inputLine);
+            return transactionTemplate.execute(status -> {
+                DateWeather saved = dateWeatherRepository.save(dateWeather);
+                statsService.applyWeathers(List.of(saved));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // 스케줄러 등 다른 곳에서 먼저 저장한 경우
+            log.warn("[{}, {}] 날씨 정보가 이미 저장되어 있습니다.", dateWeather.getCity(), dateWeather.getDate());
+            return dateWeather;
+        }
+    }
+
+    /**
+     * 파싱 시간과 실패 여부를 weather.api.parse{endpoint, outcome} 메트릭으로 기록
+     */
+    private WeatherData parse(String endpoint, byte[] body, Function<byte[], WeatherData> parser) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        try {
+            return parser.apply(body);
+        } catch (DiaryException e) {
+            outcome = e.getErrorCode().name();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("weather.api.parse", "endpoint", endpoint, "outcome", outcome));
+        }
+    }
+
+    private RuntimeException toDiaryException(String city, Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        if (cause instanceof CallNotPermittedException e) {
+            circuitOpenCounter.increment();
+            log.warn("[{}] 날씨 API 서킷이 열려있어 요청하지 않았습니다.", city);
+            return new DiaryException(WEATHER_API_UNAVAILABLE, e);
+        }
+        if (cause instanceof BulkheadFullException e) {
+            bulkheadFullCounter.increment();
+            log.warn("[{}] 날씨 API 동시 호출 수가 가득 차 요청하지 않았습니다.", city);
+            return new DiaryException(WEATHER_API_UNAVAILABLE, e);
+        }
+        if (cause instanceof DiaryException e) {
+            return e;
+        }
+        return new DiaryException(FAILED_GET_FROM_API, cause instanceof Exception e ? e : new RuntimeException(cause));
+    }
+
+    private DateWeather getWeatherFromApi(String city, LocalDate date) {
+        try {
+            return fetchWeatherFromApi(city, date).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DiaryException cause) {
+                throw cause;
             }
-            br.close();
-            return response.toString();
-        } catch (Exception e) {
-            log.error("[{}]에 요청했지만 실패했습니다.", apiUrl);
             throw new DiaryException(FAILED_GET_FROM_API, e);
         }
     }
 
     /**
-     * String type의 API Response를 JSON 객체로 파싱하여 매핑
-     * @param jsonString openweathermap API로부터 받은 Response
+     * openweathermap API로부터 특정 도시, 날짜의 날씨 정보를 받음
+     * 오늘이라면 현재 날씨를, 지난 날짜라면 history API의 날씨를 요청하며 요청한 날짜로 저장
+     * 오늘 이후의 날짜라면 요청하지 않고 NOT_ARRIVED_DATE로 실패 (저장, 롤업, 캐시하지 않음)
+     * 벌크헤드가 가득 찼거나 서킷이 열려있다면 요청하지 않고 WEATHER_API_UNAVAILABLE로 실패
      * @throws DiaryException
      */
-    private Map<String, Object> parseWeather(String jsonString) {
-        JSONParser jsonParser = new JSONParser();
-        JSONObject jsonObject;
-        try {
-            jsonObject = (JSONObject) jsonParser.parse(jsonString);
-        } catch (ParseException e) {
-            log.error("다음과 같은 Response를 JSON 객체로 파싱하는데 실패했습니다.\n {}", jsonString);
-            throw new DiaryException(FAILED_PARSING_JSON, e);
-        }
-        Map<String, Object> resultMap = new HashMap<>();
-        JSONObject mainData = (JSONObject) jsonObject.get("main");
-        resultMap.put("temp", mainData.get("temp"));
-        JSONArray weatherArray = (JSONArray) jsonObject.get("weather");
-        if (weatherArray.isEmpty()) {
-            log.error("weather 정보가 없습니다.");
-            throw new DiaryException(NOT_EXIST_DATA);
+    private CompletableFuture<DateWeather> fetchWeatherFromApi(String city, LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date.isAfter(today)) {
+            return CompletableFuture.failedFuture(new DiaryException(NOT_ARRIVED_DATE));
         }
-        JSONObject weatherData = (JSONObject) weatherArray.get(0);
-        resultMap.put("main", weatherData.get("main"));
-        resultMap.put("icon", weatherData.get("icon"));
-        return resultMap;
+        Supplier<CompletionStage<WeatherData>> request = () -> date.isBefore(today)
+                ? weatherApiClient.fetchHistoricalWeather(city, date)
+                        .thenApply(body -> parse("history", body, WeatherResponseParser::parseHistory))
+                : weatherApiClient.fetchCurrentWeather(city)
+                        .thenApply(body -> parse("current", body, WeatherResponseParser::parse));
+        return circuitBreaker.executeCompletionStage(() -> bulkhead.executeCompletionStage(request))
+                .toCompletableFuture()
+                .handle((data, throwable) -> {
+                    if (throwable == null) {
+                        return data;
+                    }
+                    throw toDiaryException(city, throwable);
+                })
+                .thenApply(data -> DateWeather.builder()
+                        .city(city)
+                        .date(date)
+                        .weather(data.weather())
+                        .icon(data.icon())
+                        .temperature(data.temperature())
+                        .build());
     }
 }
@@ -0,0 +1,2 @@
+-- 기간 조회와 keyset 페이지를 (date, id) 순서로 읽기 위한 인덱스
+create index idx_diary_date_id on diary (date, id);
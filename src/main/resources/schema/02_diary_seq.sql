@@ -0,0 +1,7 @@
+-- 다이어리 id를 50개씩 미리 받아 JDBC batch로 추가하기 위한 sequence 테이블 (MySQL은 sequence가 없어 테이블로 대신함)
+-- Hibernate pooled optimizer는 next_val - 49 ~ next_val 범위를 사용하므로 기존 다이어리의 마지막 id + 50부터 시작
+create table diary_seq (
+    next_val bigint
+) engine = InnoDB;
+
+insert into diary_seq (next_val) select coalesce(max(id), 0) + 50 from diary;
@@ -0,0 +1,12 @@
+-- 도시별 날씨를 저장하도록 date_weather의 기본 키를 (city, date)로 변경 (기존 날씨는 seoul)
+alter table date_weather
+    add column city varchar(255) not null default 'seoul' first;
+alter table date_weather
+    alter column city drop default,
+    drop primary key,
+    add primary key (city, date);
+
+-- 다이어리의 날씨를 가져온 도시 (기존 다이어리는 seoul의 날씨로 저장되었으므로 seoul)
+alter table diary
+    add column city varchar(255);
+update diary set city = 'seoul' where city is null;
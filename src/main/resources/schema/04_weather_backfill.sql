@@ -0,0 +1,18 @@
+-- 날씨 정보 backfill 작업과 체크포인트
+-- active는 진행 중인 작업만 1, 끝나면 null이므로 unique 제약으로 진행 중인 작업을 하나로 제한
+create table weather_backfill (
+    id bigint not null auto_increment,
+    status varchar(255),
+    active bit,
+    start_date date,
+    end_date date,
+    checkpoint_date date,
+    missing_count integer not null,
+    filled_count integer not null,
+    failed_count integer not null,
+    started_at datetime(6),
+    updated_at datetime(6),
+    finished_at datetime(6),
+    primary key (id),
+    constraint uk_weather_backfill_active unique (active)
+) engine = InnoDB;
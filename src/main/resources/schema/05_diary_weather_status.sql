@@ -0,0 +1,3 @@
+-- 다이어리 날씨의 상태 (FILLED, STALE, PENDING, FAILED), 기존 다이어리는 null이며 FILLED로 취급
+alter table diary
+    add column weather_status varchar(255);
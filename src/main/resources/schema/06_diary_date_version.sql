@@ -0,0 +1,7 @@
+-- 날짜별 다이어리 버전 (ETag, Last-Modified), 다이어리가 바뀔 때마다 on duplicate key update로 증가
+create table diary_date_version (
+    date date not null,
+    version bigint not null,
+    modified_at datetime(6),
+    primary key (date)
+) engine = InnoDB;
@@ -0,0 +1,24 @@
+-- (집계 단위, 기간의 첫 날, 도시)별 날씨, 다이어리 통계 롤업
+-- 롤업 갱신의 on duplicate key update는 기본 키에 의존하며, 기간 조회는 기본 키의 (period_type, period_start)로 읽으므로
+-- 엔티티의 idx_stats_rollup_period, idx_weather_type_rollup_period는 따로 만들지 않음
+create table stats_rollup (
+    period_type varchar(255) not null,
+    period_start date not null,
+    city varchar(255) not null,
+    weather_days integer not null,
+    temperature_sum double precision not null,
+    temperature_min double precision,
+    temperature_max double precision,
+    diary_count bigint not null,
+    primary key (period_type, period_start, city)
+) engine = InnoDB;
+
+-- (집계 단위, 기간의 첫 날, 도시, 날씨)별 일수
+create table weather_type_rollup (
+    period_type varchar(255) not null,
+    period_start date not null,
+    city varchar(255) not null,
+    weather varchar(255) not null,
+    day_count bigint not null,
+    primary key (period_type, period_start, city, weather)
+) engine = InnoDB;
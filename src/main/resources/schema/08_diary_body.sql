@@ -0,0 +1,12 @@
+-- 일기 본문을 diary 행에서 분리 (512 bytes 이상인 본문은 GZIP으로 압축하여 저장)
+create table diary_body (
+    id integer not null,
+    text mediumblob,
+    primary key (id),
+    constraint fk_diary_body_diary foreign key (id) references diary (id)
+) engine = InnoDB;
+
+-- 기존 본문은 압축하지 않은 채로 옮김 (압축하지 않은 본문도 그대로 읽을 수 있음)
+insert into diary_body (id, text) select id, text from diary where text is not null;
+alter table diary
+    drop column text;
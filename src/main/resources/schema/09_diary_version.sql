@@ -0,0 +1,3 @@
+-- 수정, 삭제 요청의 If-Match와 비교하는 다이어리 버전
+alter table diary
+    add column version bigint not null default 0;
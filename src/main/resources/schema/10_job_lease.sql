@@ -0,0 +1,11 @@
+-- 예약 작업 리스 (작업마다 한 행, 리스를 얻을 때마다 token 증가)
+-- 행은 insert ... on duplicate key update로 처음 리스를 얻을 때 추가
+create table job_lease (
+    name varchar(255) not null,
+    owner varchar(255),
+    token bigint not null,
+    expires_at datetime(6),
+    started_run varchar(255),
+    finished_run varchar(255),
+    primary key (name)
+) engine = InnoDB;
@@ -0,0 +1,10 @@
+-- 다이어리 가져오기 작업의 진행 상황 (같은 importId로 다시 보내면 저장한 청크는 건너뛰고 이어서 가져옴)
+create table diary_import (
+    id varchar(255) not null,
+    imported_count bigint not null,
+    last_id integer not null,
+    completed bit not null,
+    started_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine = InnoDB;
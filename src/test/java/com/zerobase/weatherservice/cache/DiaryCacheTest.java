@@ -0,0 +1,103 @@
+package com.zerobase.weatherservice.cache;
+
+import com.zerobase.weatherservice.domain.WeatherStatus;
+import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.property.DiaryCacheProperties;
+import com.zerobase.weatherservice.event.DiaryChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiaryCacheTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryDiaryCacheInvalidationChannel invalidationChannel;
+    private DiaryCache diaryCache;
+    private List<Collection<LocalDate>> loadedDates;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        invalidationChannel = new InMemoryDiaryCacheInvalidationChannel();
+        diaryCache = new DiaryCache(new DiaryCacheProperties(DataSize.ofMegabytes(1), Duration.ofMinutes(1), 31),
+                meterRegistry, invalidationChannel);
+        loadedDates = new ArrayList<>();
+    }
+
+    @DisplayName("기간 조회는 캐시에 없는 날짜만 조회하여 날짜, id 순서로 조립")
+    @Test
+    void getAll_onlyMissingDates() {
+        //given
+        diaryCache.getAll(START_DATE, START_DATE.plusDays(1), Map.of(), this::load);
+        //when
+        List<DiaryDto> diaryDtos = diaryCache.getAll(START_DATE, START_DATE.plusDays(3), Map.of(), this::load);
+        //then
+        assertThat(loadedDates).containsExactly(
+                List.of(START_DATE, START_DATE.plusDays(1)),
+                List.of(START_DATE.plusDays(2), START_DATE.plusDays(3)));
+        assertThat(diaryDtos).extracting(DiaryDto::date).containsExactly(
+                START_DATE, START_DATE, START_DATE.plusDays(1), START_DATE.plusDays(1),
+                START_DATE.plusDays(2), START_DATE.plusDays(2), START_DATE.plusDays(3), START_DATE.plusDays(3));
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "diary", "result", "hit").functionCounter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("cache.hit.ratio").gauge().value()).isEqualTo(2.0 / 6);
+    }
+
+    @DisplayName("무효화 메시지를 받은 기간만 다시 조회")
+    @Test
+    void invalidate() {
+        //given
+        diaryCache.getAll(START_DATE, START_DATE.plusDays(3), Map.of(), this::load);
+        //when
+        invalidationChannel.publish(new DiaryChangedEvent(START_DATE.plusDays(1), START_DATE.plusDays(2)));
+        diaryCache.getAll(START_DATE, START_DATE.plusDays(3), Map.of(), this::load);
+        //then
+        assertThat(loadedDates).last().isEqualTo(List.of(START_DATE.plusDays(1), START_DATE.plusDays(2)));
+    }
+
+    @DisplayName("다른 인스턴스의 다이어리 변경은 커밋된 후 채널로 전달")
+    @Test
+    void onDiaryChanged() {
+        //given
+        DiaryCache otherInstance = new DiaryCache(
+                new DiaryCacheProperties(DataSize.ofMegabytes(1), Duration.ofMinutes(1), 31),
+                new SimpleMeterRegistry(), invalidationChannel);
+        otherInstance.getAll(START_DATE, START_DATE, Map.of(), this::load);
+        //when
+        diaryCache.onDiaryChanged(DiaryChangedEvent.of(START_DATE));
+        otherInstance.getAll(START_DATE, START_DATE, Map.of(), this::load);
+        //then
+        assertThat(loadedDates).hasSize(2);
+    }
+
+    private Map<LocalDate, List<DiaryDto>> load(Collection<LocalDate> dates) {
+        loadedDates.add(List.copyOf(dates));
+        return dates.stream().collect(Collectors.toMap(date -> date,
+                date -> List.of(generateDiaryDto(1, date), generateDiaryDto(2, date))));
+    }
+
+    private static DiaryDto generateDiaryDto(int id, LocalDate date) {
+        return DiaryDto.builder()
+                .id(id)
+                .city("seoul")
+                .weather("cloud")
+                .icon("icon")
+                .temperature(11.1)
+                .weatherStatus(WeatherStatus.FILLED)
+                .date(date)
+                .build();
+    }
+}
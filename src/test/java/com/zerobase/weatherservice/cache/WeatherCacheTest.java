@@ -0,0 +1,132 @@
+package com.zerobase.weatherservice.cache;
+
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.DateWeatherId;
+import com.zerobase.weatherservice.dto.property.WeatherCacheProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.FAILED_GET_FROM_API;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeatherCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private WeatherCache weatherCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        weatherCache = new WeatherCache(new WeatherCacheProperties(10, Duration.ofMinutes(1)), meterRegistry);
+    }
+
+    @DisplayName("같은 도시와 날짜에 대한 동시 요청은 한 번만 로딩")
+    @Test
+    void get_singleFlight() throws Exception {
+        //given
+        DateWeatherId id = new DateWeatherId("seoul", LocalDate.now());
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<DateWeather>> results = new ArrayList<>();
+        //when
+        for (int i = 0; i < 8; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return weatherCache.get(id, key -> {
+                    loadCount.incrementAndGet();
+                    return CompletableFuture.supplyAsync(() -> {
+                        sleep();
+                        return generateDateWeather(key);
+                    });
+                });
+            }, executor));
+        }
+        start.countDown();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        //then
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(results).allSatisfy(result -> assertThat(result.join().getWeather()).isEqualTo("cloud"));
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(7);
+    }
+
+    @DisplayName("비동기 조회는 로딩을 기다리지 않고 진행 중인 결과를 공유")
+    @Test
+    void getAsync_shareLoading() {
+        //given
+        DateWeatherId id = new DateWeatherId("seoul", LocalDate.now());
+        CompletableFuture<DateWeather> loading = new CompletableFuture<>();
+        AtomicInteger loadCount = new AtomicInteger();
+        //when
+        CompletableFuture<DateWeather> first = weatherCache.getAsync(id, key -> {
+            loadCount.incrementAndGet();
+            return loading;
+        });
+        CompletableFuture<DateWeather> second = weatherCache.getAsync(id, key -> {
+            loadCount.incrementAndGet();
+            return loading;
+        });
+        //then
+        assertThat(first).isNotDone();
+        loading.complete(generateDateWeather(id));
+        assertThat(second.join().getWeather()).isEqualTo("cloud");
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    @DisplayName("[예외] 로딩에 실패한 결과는 캐시하지 않음")
+    @Test
+    void get_failedLoad() {
+        //given
+        DateWeatherId id = new DateWeatherId("seoul", LocalDate.now());
+        //when
+        assertThatThrownBy(() -> weatherCache.get(id,
+                key -> CompletableFuture.failedFuture(new DiaryException(FAILED_GET_FROM_API))))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", FAILED_GET_FROM_API);
+        //then
+        assertThat(weatherCache.get(id, key -> CompletableFuture.completedFuture(generateDateWeather(key))).getWeather())
+                .isEqualTo("cloud");
+    }
+
+    private static DateWeather generateDateWeather(DateWeatherId id) {
+        return DateWeather.builder()
+                .city(id.getCity())
+                .date(id.getDate())
+                .weather("cloud")
+                .icon("icon")
+                .temperature(11.1)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
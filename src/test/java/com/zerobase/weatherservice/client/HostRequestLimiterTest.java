@@ -0,0 +1,73 @@
+package com.zerobase.weatherservice.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HostRequestLimiterTest {
+
+    @DisplayName("동시 요청 수를 넘으면 허용을 반납할 때까지 기다리고, 제한 시간이 지나면 실패")
+    @Test
+    void acquire_maxConcurrentRequests() throws Exception {
+        //given
+        HostRequestLimiter limiter = new HostRequestLimiter(2, 1000);
+        //when
+        CompletableFuture<Void> first = limiter.acquire(Duration.ofSeconds(1));
+        CompletableFuture<Void> second = limiter.acquire(Duration.ofSeconds(1));
+        CompletableFuture<Void> timedOut = limiter.acquire(Duration.ofMillis(50));
+        CompletableFuture<Void> waiting = limiter.acquire(Duration.ofSeconds(1));
+        first.get(1, TimeUnit.SECONDS);
+        second.get(1, TimeUnit.SECONDS);
+        //then
+        assertThatThrownBy(() -> timedOut.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(waiting).isNotDone();
+        limiter.release();
+        waiting.get(1, TimeUnit.SECONDS);
+    }
+
+    @DisplayName("초당 요청 수에 맞게 요청 간격을 벌리되 호출한 스레드는 기다리지 않음")
+    @Test
+    void acquire_requestsPerSecond() throws Exception {
+        //given
+        HostRequestLimiter limiter = new HostRequestLimiter(10, 20);
+        long start = System.nanoTime();
+        //when
+        CompletableFuture<?>[] acquired = new CompletableFuture<?>[5];
+        for (int i = 0; i < acquired.length; i++) {
+            acquired[i] = limiter.acquire(Duration.ofSeconds(1));
+        }
+        Duration callerElapsed = Duration.ofNanos(System.nanoTime() - start);
+        CompletableFuture.allOf(acquired).get(1, TimeUnit.SECONDS);
+        //then
+        // 첫 요청은 바로 보내고 이후 4번은 50ms 간격
+        assertThat(callerElapsed).isLessThan(Duration.ofMillis(100));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(190));
+    }
+
+    @DisplayName("요청 시각이 제한 시간보다 멀다면 예약하지 않고 바로 실패")
+    @Test
+    void acquire_slotBeyondTimeout() throws Exception {
+        //given
+        HostRequestLimiter limiter = new HostRequestLimiter(10, 2);
+        limiter.acquire(Duration.ofSeconds(1)).get(1, TimeUnit.SECONDS);
+        //when
+        CompletableFuture<Void> rejected = limiter.acquire(Duration.ofMillis(100));
+        CompletableFuture<Void> next = limiter.acquire(Duration.ofSeconds(1));
+        //then
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(TimeoutException.class);
+        // 실패한 요청은 요청 시각을 차지하지 않으므로 다음 요청은 500ms 뒤에 허용
+        next.get(1, TimeUnit.SECONDS);
+    }
+}
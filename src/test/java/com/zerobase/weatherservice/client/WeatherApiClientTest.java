@@ -0,0 +1,114 @@
+package com.zerobase.weatherservice.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.zerobase.weatherservice.dto.property.ApiProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.FAILED_GET_FROM_API;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("openweathermap API 클라이언트")
+class WeatherApiClientTest {
+    private static final String WEATHER_RESPONSE = "{\"weather\":[{\"main\":\"Clouds\",\"icon\":\"04d\"}],\"main\":{\"temp\":271.3}}";
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok/weather", exchange -> respond(exchange, 200, WEATHER_RESPONSE));
+        server.createContext("/unauthorized/weather", exchange -> respond(exchange, 401, "{\"cod\":401}"));
+        server.createContext("/slow/weather", exchange -> {
+            sleep(1000);
+            respond(exchange, 200, WEATHER_RESPONSE);
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @DisplayName("날씨 정보 요청")
+    @Test
+    void fetchCurrentWeather() {
+        //given
+        WeatherApiClient client = clientFor("/ok");
+        //when
+        byte[] body = client.fetchCurrentWeather("seoul").join();
+        //then
+        assertThat(new String(body, UTF_8)).isEqualTo(WEATHER_RESPONSE);
+    }
+
+    @DisplayName("[예외 - 200이 아닌 응답] 날씨 정보 요청")
+    @Test
+    void fetchCurrentWeather_errorStatus() {
+        //given
+        WeatherApiClient client = clientFor("/unauthorized");
+        //when
+        assertThatThrownBy(() -> client.fetchCurrentWeather("seoul").join())
+                .isInstanceOf(CompletionException.class)
+                .getCause()
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", FAILED_GET_FROM_API)
+                .getCause()
+                .isInstanceOf(WeatherApiException.class)
+                .hasFieldOrPropertyWithValue("statusCode", 401);
+        //then
+        assertThat(meterRegistry.get("weather.api.requests")
+                .tags("endpoint", "current", "outcome", "CLIENT_ERROR", "status", "401")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @DisplayName("[예외 - 타임아웃] 날씨 정보 요청")
+    @Test
+    void fetchCurrentWeather_timeout() {
+        //given
+        WeatherApiClient client = clientFor("/slow");
+        //when
+        assertThatThrownBy(() -> client.fetchCurrentWeather("seoul").join())
+                .isInstanceOf(CompletionException.class)
+                .getCause()
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", FAILED_GET_FROM_API);
+        //then
+    }
+
+    private WeatherApiClient clientFor(String path) {
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + path;
+        return new WeatherApiClient(new ApiProperties("key", baseUrl, baseUrl,
+                Duration.ofMillis(500), Duration.ofMillis(300), Duration.ofMillis(500), 4, 100), meterRegistry);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.zerobase.weatherservice.client;
+
+import com.zerobase.weatherservice.dto.WeatherData;
+import com.zerobase.weatherservice.exception.DiaryException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.FAILED_PARSING_JSON;
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_EXIST_DATA;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("openweathermap API Response 파서")
+class WeatherResponseParserTest {
+    private static final String WEATHER_RESPONSE = """
+            {"coord":{"lon":126.9778,"lat":37.5683},
+             "weather":[{"id":803,"main":"Clouds","description":"broken clouds","icon":"04d"},
+                        {"id":701,"main":"Mist","description":"mist","icon":"50d"}],
+             "base":"stations",
+             "main":{"temp":271.3,"feels_like":266.32,"temp_min":270.84,"temp_max":272.93,"pressure":1029,"humidity":43},
+             "visibility":10000,"wind":{"speed":3.6,"deg":300},"clouds":{"all":75},"dt":1704430530,
+             "sys":{"type":1,"id":8105,"country":"KR","sunrise":1704407917,"sunset":1704443150},
+             "timezone":32400,"id":1835848,"name":"Seoul","cod":200}
+            """;
+
+    @DisplayName("날씨 정보 파싱")
+    @Test
+    void parse() {
+        //given
+        //when
+        WeatherData weatherData = WeatherResponseParser.parse(WEATHER_RESPONSE.getBytes(UTF_8));
+        //then
+        assertThat(weatherData.weather()).isEqualTo("Clouds");
+        assertThat(weatherData.icon()).isEqualTo("04d");
+        assertThat(weatherData.temperature()).isEqualTo(271.3);
+    }
+
+    @DisplayName("정수 형태의 온도 파싱")
+    @Test
+    void parse_integerTemperature() {
+        //given
+        String response = "{\"main\":{\"temp\":271},\"weather\":[{\"main\":\"Clear\",\"icon\":\"01d\"}]}";
+        //when
+        WeatherData weatherData = WeatherResponseParser.parse(response.getBytes(UTF_8));
+        //then
+        assertThat(weatherData.temperature()).isEqualTo(271.0);
+    }
+
+    @DisplayName("과거 날씨 정보 파싱")
+    @Test
+    void parseHistory() {
+        //given
+        String response = """
+                {"message":"Count: 1","cod":"200","city_id":1835848,"calctime":0.04,"cnt":1,
+                 "list":[{"dt":1704423600,
+                          "main":{"temp":270.1,"feels_like":265.2,"pressure":1030,"humidity":40},
+                          "wind":{"speed":3.1,"deg":290},"clouds":{"all":0},
+                          "weather":[{"id":800,"main":"Clear","description":"clear sky","icon":"01d"}]}]}
+                """;
+        //when
+        WeatherData weatherData = WeatherResponseParser.parseHistory(response.getBytes(UTF_8));
+        //then
+        assertThat(weatherData.weather()).isEqualTo("Clear");
+        assertThat(weatherData.icon()).isEqualTo("01d");
+        assertThat(weatherData.temperature()).isEqualTo(270.1);
+    }
+
+    @DisplayName("[예외 - 과거 날씨 정보 없음] 과거 날씨 정보 파싱")
+    @Test
+    void parseHistory_emptyList() {
+        //given
+        String response = "{\"cod\":\"200\",\"cnt\":0,\"list\":[]}";
+        //when
+        assertThatThrownBy(() -> WeatherResponseParser.parseHistory(response.getBytes(UTF_8)))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", NOT_EXIST_DATA);
+        //then
+    }
+
+    @DisplayName("[예외 - 날씨 정보 없음] 날씨 정보 파싱")
+    @Test
+    void parse_emptyWeather() {
+        //given
+        String response = "{\"weather\":[],\"main\":{\"temp\":271.3}}";
+        //when
+        assertThatThrownBy(() -> WeatherResponseParser.parse(response.getBytes(UTF_8)))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", NOT_EXIST_DATA);
+        //then
+    }
+
+    @DisplayName("[예외 - 잘못된 JSON] 날씨 정보 파싱")
+    @Test
+    void parse_invalidJson() {
+        //given
+        String response = "{\"weather\":[{\"main\":\"Clouds\"";
+        //when
+        assertThatThrownBy(() -> WeatherResponseParser.parse(response.getBytes(UTF_8)))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", FAILED_PARSING_JSON);
+        //then
+    }
+}
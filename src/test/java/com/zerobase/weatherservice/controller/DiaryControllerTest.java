@@ -1,45 +1,125 @@
 package com.zerobase.weatherservice.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.zerobase.weatherservice.domain.Diary;
+import com.zerobase.weatherservice.domain.WeatherStatus;
+import com.zerobase.weatherservice.dto.DiaryBulkCreateResult;
+import com.zerobase.weatherservice.dto.DiaryBulkItemResult;
+import com.zerobase.weatherservice.dto.DiaryCreateResult;
+import com.zerobase.weatherservice.dto.DiaryDeleteResult;
 import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.DiaryPage;
+import com.zerobase.weatherservice.dto.DiaryVersion;
+import com.zerobase.weatherservice.dto.VersionedDiaries;
+import com.zerobase.weatherservice.exception.DiaryException;
 import com.zerobase.weatherservice.service.DiaryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.mockito.stubbing.Answer;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_CURSOR;
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_SEARCH_QUERY;
+import static com.zerobase.weatherservice.exception.ErrorCode.MISMATCH_DIARY_VERSION;
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_FAILED_DIARY_WEATHER;
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_FOUND_DIARY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @DisplayName("Diary 컨트롤러")
 @WebMvcTest(DiaryController.class)
+@Import(SimpleMeterRegistry.class)
 class DiaryControllerTest {
     @Autowired private MockMvc mvc;
     @MockBean private DiaryService diaryService;
+    @Autowired private MeterRegistry meterRegistry;
 
-    @DisplayName("다이어리 추가")
+    @DisplayName("다이어리 추가 후 날씨를 채우기 전에 202 반환")
     @Test
     void createDiary() throws Exception {
         //given
-        willDoNothing().given(diaryService).createDiary(any(), anyString());
+        given(diaryService.createDiary(any(), any(), anyString()))
+                .willReturn(new DiaryCreateResult(1, WeatherStatus.PENDING));
         //when
         mvc.perform(
                 post("/create/diary")
                         .queryParam("date", LocalDate.now().toString())
                         .content("text")
         )
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/read/diary/detail?id=1"))
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.id").value(1))
+                .andExpect(jsonPath("$.data.weatherStatus").value("PENDING"));
+        //then
+    }
+
+    @DisplayName("[예외 - FAILED가 아닌 다이어리] 다이어리 날씨 다시 채우기")
+    @Test
+    void retryDiaryWeather_notFailed() throws Exception {
+        //given
+        willThrow(new DiaryException(NOT_FAILED_DIARY_WEATHER)).given(diaryService).retryDiaryWeather(1);
+        //when
+        mvc.perform(
+                post("/create/diary/weather/retry")
+                        .queryParam("id", "1")
+        )
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+    }
+
+    @DisplayName("다이어리 일괄 추가")
+    @Test
+    void createDiaries() throws Exception {
+        //given
+        given(diaryService.createDiaries(any()))
+                .willReturn(DiaryBulkCreateResult.from(List.of(
+                        DiaryBulkItemResult.success(0, 1),
+                        DiaryBulkItemResult.error(1, "error")
+                )));
+        //when
+        mvc.perform(
+                        post("/create/diaries")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[{\"date\":\"2024-01-05\",\"text\":\"text1\"},{\"date\":\"2024-01-06\",\"text\":\"text2\"}]")
+                )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.status").value("success"));
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.succeeded").value(1))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(1))
+                .andExpect(jsonPath("$.data.items[1].status").value("error"));
         //then
     }
 
@@ -47,25 +127,108 @@ class DiaryControllerTest {
     @Test
     void readDiary() throws Exception {
         //given
-        given(diaryService.readDiary(any()))
-                .willReturn(List.of(generateDiaryDto()));
+        given(diaryService.readDiary(any(), any()))
+                .willAnswer(versioned(new DiaryVersion(3, LocalDateTime.of(2024, 1, 5, 12, 0)),
+                        List.of(generateDiaryDto())));
         //when
         mvc.perform(
                 get("/read/diary")
                         .queryParam("date", LocalDate.now().toString())
         )
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().exists("Last-Modified"))
                 .andExpect(jsonPath("$.status").value("success"))
                 .andExpect(jsonPath("$.data.size()").value(1));
         //then
     }
 
+    @DisplayName("[변경 없음] 특정 날짜의 다이어리 조회")
+    @Test
+    void readDiary_notModified() throws Exception {
+        //given
+        given(diaryService.readDiary(any(), any()))
+                .willAnswer(versioned(new DiaryVersion(3, LocalDateTime.of(2024, 1, 5, 12, 0)),
+                        List.of(generateDiaryDto())));
+        //when
+        mvc.perform(
+                get("/read/diary")
+                        .queryParam("date", LocalDate.now().toString())
+                        .header("If-None-Match", "\"3\"")
+        )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        //then
+    }
+
+    @DisplayName("[CBOR] 특정 날짜의 다이어리 조회는 표현별 ETag로 304 반환")
+    @Test
+    void readDiary_notModifiedCbor() throws Exception {
+        //given
+        given(diaryService.readDiary(any(), any()))
+                .willAnswer(versioned(new DiaryVersion(3, LocalDateTime.of(2024, 1, 5, 12, 0)),
+                        List.of(generateDiaryDto())));
+        //when
+        mvc.perform(
+                get("/read/diary")
+                        .queryParam("date", LocalDate.now().toString())
+                        .accept("application/cbor")
+                        .header("If-None-Match", "\"3-cbor\"")
+        )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-cbor\""));
+        mvc.perform(
+                get("/read/diary")
+                        .queryParam("date", LocalDate.now().toString())
+                        .accept("application/cbor")
+                        .header("If-None-Match", "\"3\"")
+        )
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-cbor\""))
+                .andExpect(content().contentType("application/cbor"));
+        //then
+    }
+
+    @DisplayName("다이어리 상세 조회")
+    @Test
+    void readDiaryDetail() throws Exception {
+        //given
+        given(diaryService.readDiaryDetail(1))
+                .willReturn(DiaryDto.builder().id(1).text("text").date(LocalDate.now()).version(3).build());
+        //when
+        mvc.perform(
+                        get("/read/diary/detail")
+                                .queryParam("id", "1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.text").value("text"));
+        //then
+    }
+
+    @DisplayName("[예외 - 다이어리 없음] 다이어리 상세 조회")
+    @Test
+    void readDiaryDetail_notFound() throws Exception {
+        //given
+        given(diaryService.readDiaryDetail(1))
+                .willThrow(new DiaryException(NOT_FOUND_DIARY));
+        //when
+        mvc.perform(
+                        get("/read/diary/detail")
+                                .queryParam("id", "1")
+                )
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+    }
+
     @DisplayName("특정 기간 내의 다이어리 조회")
     @Test
     void readDiaries() throws Exception {
         //given
-        given(diaryService.readDiaries(any(), any()))
-                .willReturn(List.of(generateDiaryDto()));
+        given(diaryService.readDiaries(any(), any(), any()))
+                .willAnswer(versioned(DiaryVersion.EMPTY, List.of(generateDiaryDto())));
         //when
         mvc.perform(
                         get("/read/diaries")
@@ -78,6 +241,135 @@ class DiaryControllerTest {
         //then
     }
 
+    @DisplayName("Accept가 CBOR라면 특정 기간 내의 다이어리를 CBOR로 조회")
+    @Test
+    void readDiaries_cbor() throws Exception {
+        //given
+        given(diaryService.readDiaries(any(), any(), any()))
+                .willAnswer(versioned(DiaryVersion.EMPTY, List.of(generateDiaryDto())));
+        //when
+        MvcResult result = mvc.perform(
+                        get("/read/diaries")
+                                .queryParam("startDate", LocalDate.now().minusDays(3).toString())
+                                .queryParam("endDate", LocalDate.now().toString())
+                                .accept(MediaType.APPLICATION_CBOR)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+        //then
+        JsonNode response = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertThat(response.path("status").asText()).isEqualTo("success");
+        // JSON과 같이 날짜를 문자열로 씀
+        assertThat(response.path("data").path(0).path("date").asText()).isEqualTo(LocalDate.now().toString());
+    }
+
+    @DisplayName("특정 기간 내의 다이어리 열 형식 조회")
+    @Test
+    void readDiaryColumns() throws Exception {
+        //given
+        given(diaryService.readDiaries(any(), any(), any()))
+                .willAnswer(versioned(DiaryVersion.EMPTY, List.of(generateDiaryDto(), generateDiaryDto(),
+                        DiaryDto.builder().id(2).weather("rain").icon("icon").date(LocalDate.now()).build())));
+        //when
+        mvc.perform(
+                        get("/read/diaries/columns")
+                                .queryParam("startDate", LocalDate.now().minusDays(3).toString())
+                                .queryParam("endDate", LocalDate.now().toString())
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.size").value(3))
+                .andExpect(jsonPath("$.data.id").value(contains(1, 1, 2)))
+                .andExpect(jsonPath("$.data.weather.dictionary").value(contains("cloud", "rain")))
+                .andExpect(jsonPath("$.data.weather.codes").value(contains(0, 0, 1)))
+                .andExpect(jsonPath("$.data.icon.dictionary").value(contains("icon")))
+                .andExpect(jsonPath("$.data.date.dictionary").value(contains(LocalDate.now().toString())));
+        //then
+    }
+
+    @DisplayName("특정 기간 내의 다이어리 페이지 조회")
+    @Test
+    void readDiaryPage() throws Exception {
+        //given
+        given(diaryService.readDiaryPage(any(), any(), any(), any()))
+                .willReturn(new DiaryPage(List.of(generateDiaryDto()), "cursor"));
+        //when
+        mvc.perform(
+                        get("/read/diaries/page")
+                                .queryParam("startDate", LocalDate.now().minusDays(3).toString())
+                                .queryParam("endDate", LocalDate.now().toString())
+                                .queryParam("size", "1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.diaries.size()").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").value("cursor"));
+        //then
+    }
+
+    @DisplayName("[예외 - 잘못된 커서] 특정 기간 내의 다이어리 페이지 조회")
+    @Test
+    void readDiaryPage_invalidCursor() throws Exception {
+        //given
+        given(diaryService.readDiaryPage(any(), any(), any(), any()))
+                .willThrow(new DiaryException(INVALID_CURSOR));
+        //when
+        mvc.perform(
+                        get("/read/diaries/page")
+                                .queryParam("startDate", LocalDate.now().minusDays(3).toString())
+                                .queryParam("endDate", LocalDate.now().toString())
+                                .queryParam("cursor", "invalid")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+        assertThat(meterRegistry.get("diary.errors").tags("code", "INVALID_CURSOR", "status", "400")
+                .counter().count()).isPositive();
+    }
+
+    @DisplayName("[예외 - 검색할 단어 없음] 다이어리 본문 검색")
+    @Test
+    void searchDiaries_invalidQuery() throws Exception {
+        //given
+        given(diaryService.searchDiaries(eq("?!"), any(), any(), any(), any()))
+                .willThrow(new DiaryException(INVALID_SEARCH_QUERY));
+        //when
+        mvc.perform(
+                        get("/read/diaries/search")
+                                .queryParam("query", "?!")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+    }
+
+    @DisplayName("특정 기간 내의 다이어리 스트리밍 조회")
+    @Test
+    void streamDiaries() throws Exception {
+        //given
+        willAnswer(invocation -> {
+            Consumer<DiaryDto> consumer = invocation.getArgument(2);
+            consumer.accept(generateDiaryDto());
+            consumer.accept(generateDiaryDto());
+            return null;
+        }).given(diaryService).streamDiaries(any(), any(), any());
+        //when
+        MvcResult result = mvc.perform(
+                        get("/read/diaries/stream")
+                                .queryParam("startDate", LocalDate.now().minusDays(3).toString())
+                                .queryParam("endDate", LocalDate.now().toString())
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(matchesPattern("(\\{[^\\n]*}\\n){2}")));
+    }
+
     @DisplayName("다이어리 수정")
     @Test
     void updateDiary() throws Exception {
@@ -94,25 +386,96 @@ class DiaryControllerTest {
         //then
     }
 
+    @DisplayName("If-Match의 버전으로 다이어리 수정하고 새 ETag 반환")
+    @Test
+    void updateDiaryDetail() throws Exception {
+        //given
+        given(diaryService.updateDiary(1, 3, "updatedText"))
+                .willReturn(4L);
+        //when
+        mvc.perform(
+                        put("/update/diary/detail")
+                                .queryParam("id", "1")
+                                .header("If-Match", "\"3\"")
+                                .content("updatedText")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.status").value("success"));
+        //then
+    }
+
+    @DisplayName("[예외 - If-Match 없음] 다이어리 수정")
+    @Test
+    void updateDiaryDetail_requiredVersion() throws Exception {
+        //given
+        //when
+        mvc.perform(
+                        put("/update/diary/detail")
+                                .queryParam("id", "1")
+                                .content("updatedText")
+                )
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+        then(diaryService).should(never()).updateDiary(anyInt(), anyLong(), any());
+    }
+
+    @DisplayName("[예외 - 버전 불일치] 다이어리 삭제")
+    @Test
+    void deleteDiaryDetail_mismatchVersion() throws Exception {
+        //given
+        given(diaryService.deleteDiary(1, 3))
+                .willThrow(new DiaryException(MISMATCH_DIARY_VERSION));
+        //when
+        mvc.perform(
+                        delete("/delete/diary/detail")
+                                .queryParam("id", "1")
+                                .header("If-Match", "\"3\"")
+                )
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+    }
+
     @DisplayName("다이어리 삭제")
     @Test
     void deleteDiary() throws Exception {
         //given
-        willDoNothing().given(diaryService).deleteDiary(any());
+        given(diaryService.deleteDiary(any()))
+                .willReturn(new DiaryDeleteResult(3));
         //when
         mvc.perform(
                         delete("/delete/diary")
                                 .queryParam("date", LocalDate.now().toString())
                 )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.status").value("success"));
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.deletedCount").value(3));
+        //then
+    }
+
+    @DisplayName("특정 기간 내의 다이어리 삭제")
+    @Test
+    void deleteDiaries() throws Exception {
+        //given
+        given(diaryService.deleteDiaries(any(), any()))
+                .willReturn(new DiaryDeleteResult(2010));
+        //when
+        mvc.perform(
+                        delete("/delete/diaries")
+                                .queryParam("startDate", LocalDate.now().minusYears(3).toString())
+                                .queryParam("endDate", LocalDate.now().toString())
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.deletedCount").value(2010));
         //then
     }
 
     private static Diary generateDiary() {
         return Diary.builder()
                 .id(1)
-                .text("text")
                 .date(LocalDate.now())
                 .weather("cloud")
                 .icon("icon")
@@ -123,4 +486,15 @@ class DiaryControllerTest {
     private static DiaryDto generateDiaryDto() {
         return DiaryDto.fromEntity(generateDiary());
     }
-}
\ No newline at end of file
+
+    /**
+     * 조건부 GET 판단 함수에 버전을 전달하여 변경되지 않았다면 다이어리 없이 반환
+     */
+    private static Answer<VersionedDiaries> versioned(DiaryVersion version, List<DiaryDto> diaries) {
+        return invocation -> {
+            Predicate<DiaryVersion> notModified = invocation.getArgument(invocation.getArguments().length - 1);
+            return notModified.test(version) ? VersionedDiaries.notModified(version)
+                    : new VersionedDiaries(version, diaries);
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.zerobase.weatherservice.controller;
+
+import com.zerobase.weatherservice.dto.DiaryImportResult;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.service.DiaryTransferService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_DIARY_EXPORT;
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_FOUND_DIARY_IMPORT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("다이어리 내보내기/가져오기 컨트롤러")
+@WebMvcTest(DiaryTransferController.class)
+@Import(SimpleMeterRegistry.class)
+class DiaryTransferControllerTest {
+    @Autowired private MockMvc mvc;
+    @MockBean private DiaryTransferService diaryTransferService;
+
+    @DisplayName("다이어리 가져오기")
+    @Test
+    void importDiaries() throws Exception {
+        //given
+        given(diaryTransferService.importDiaries(eq("import"), any()))
+                .willReturn(new DiaryImportResult("import", 1000, 1000, false));
+        //when
+        mvc.perform(
+                        post("/create/diaries/import")
+                                .queryParam("importId", "import")
+                                .contentType("application/gzip")
+                                .content(new byte[]{1, 2, 3})
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.importedCount").value(1000))
+                .andExpect(jsonPath("$.data.completed").value(false));
+        //then
+    }
+
+    @DisplayName("[예외 - 손상된 파일] 다이어리 가져오기")
+    @Test
+    void importDiaries_invalidExport() throws Exception {
+        //given
+        given(diaryTransferService.importDiaries(eq("import"), any()))
+                .willThrow(new DiaryException(INVALID_DIARY_EXPORT));
+        //when
+        mvc.perform(
+                        post("/create/diaries/import")
+                                .queryParam("importId", "import")
+                                .contentType("application/gzip")
+                                .content(new byte[]{1, 2, 3})
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+    }
+
+    @DisplayName("[예외 - 없는 작업] 다이어리 가져오기 진행 상황 조회")
+    @Test
+    void readDiaryImport_notFound() throws Exception {
+        //given
+        given(diaryTransferService.getDiaryImport("import"))
+                .willThrow(new DiaryException(NOT_FOUND_DIARY_IMPORT));
+        //when
+        mvc.perform(
+                        get("/read/diaries/import")
+                                .queryParam("importId", "import")
+                )
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+    }
+}
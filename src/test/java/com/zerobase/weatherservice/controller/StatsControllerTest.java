@@ -0,0 +1,83 @@
+package com.zerobase.weatherservice.controller;
+
+import com.zerobase.weatherservice.domain.StatsPeriod;
+import com.zerobase.weatherservice.dto.StatsBucket;
+import com.zerobase.weatherservice.dto.WeatherStatsDto;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.service.StatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_DATE_RANGE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("통계 컨트롤러")
+@WebMvcTest(StatsController.class)
+@Import(SimpleMeterRegistry.class)
+class StatsControllerTest {
+    @Autowired private MockMvc mvc;
+    @MockBean private StatsService statsService;
+
+    @DisplayName("통계 조회 (기본 단위는 MONTH)")
+    @Test
+    void readStats() throws Exception {
+        //given
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+        StatsBucket bucket = StatsBucket.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .weatherDays(31)
+                .averageTemperature(270.1)
+                .weatherTypes(Map.of("Clear", 31L))
+                .diaryCount(5)
+                .build();
+        given(statsService.getStats(eq(startDate), eq(endDate), eq(StatsPeriod.MONTH), isNull()))
+                .willReturn(new WeatherStatsDto(startDate, endDate, StatsPeriod.MONTH, null, bucket, List.of(bucket)));
+        //when
+        mvc.perform(
+                        get("/read/stats")
+                                .queryParam("startDate", startDate.toString())
+                                .queryParam("endDate", endDate.toString())
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.unit").value("MONTH"))
+                .andExpect(jsonPath("$.data.total.diaryCount").value(5))
+                .andExpect(jsonPath("$.data.buckets[0].weatherTypes.Clear").value(31));
+        //then
+    }
+
+    @DisplayName("[예외 - 잘못된 기간] 통계 롤업 재집계")
+    @Test
+    void rebuildStats_invalidDateRange() throws Exception {
+        //given
+        given(statsService.rebuild(any(), any()))
+                .willThrow(new DiaryException(INVALID_DATE_RANGE));
+        //when
+        mvc.perform(
+                        post("/create/stats/rebuild")
+                                .queryParam("startDate", "2024-02-01")
+                                .queryParam("endDate", "2024-01-01")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+    }
+}
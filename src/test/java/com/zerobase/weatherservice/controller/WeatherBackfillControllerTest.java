@@ -0,0 +1,71 @@
+package com.zerobase.weatherservice.controller;
+
+import com.zerobase.weatherservice.domain.BackfillStatus;
+import com.zerobase.weatherservice.dto.WeatherBackfillDto;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.service.WeatherBackfillService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_FOUND_BACKFILL;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("날씨 정보 backfill 컨트롤러")
+@WebMvcTest(WeatherBackfillController.class)
+@Import(SimpleMeterRegistry.class)
+class WeatherBackfillControllerTest {
+    @Autowired private MockMvc mvc;
+    @MockBean private WeatherBackfillService weatherBackfillService;
+
+    @DisplayName("날씨 정보 backfill 시작")
+    @Test
+    void startBackfill() throws Exception {
+        //given
+        given(weatherBackfillService.startBackfill(any(), any()))
+                .willReturn(WeatherBackfillDto.builder()
+                        .id(1L)
+                        .status(BackfillStatus.RUNNING)
+                        .missingCount(14)
+                        .build());
+        //when
+        mvc.perform(
+                        post("/create/backfill")
+                                .queryParam("startDate", LocalDate.now().minusDays(6).toString())
+                                .queryParam("endDate", LocalDate.now().toString())
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.id").value(1))
+                .andExpect(jsonPath("$.data.status").value("RUNNING"))
+                .andExpect(jsonPath("$.data.missingCount").value(14));
+        //then
+    }
+
+    @DisplayName("[예외 - 없는 작업] 날씨 정보 backfill 진행 상황 조회")
+    @Test
+    void readBackfill_notFound() throws Exception {
+        //given
+        given(weatherBackfillService.getBackfill(1L))
+                .willThrow(new DiaryException(NOT_FOUND_BACKFILL));
+        //when
+        mvc.perform(
+                        get("/read/backfill")
+                                .queryParam("id", "1")
+                )
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("error"));
+        //then
+    }
+}
@@ -0,0 +1,165 @@
+package com.zerobase.weatherservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ReplicationRoutingDataSourceTest {
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    private void setUp(Map<String, DataSource> replicas) {
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(
+                embeddedDatabase("primary"), replicas, Duration.ofSeconds(1));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        databases.forEach(EmbeddedDatabase::shutdown);
+        ReadYourWrites.end();
+    }
+
+    @DisplayName("읽기 전용 트랜잭션은 복제 DB, 쓰기 트랜잭션은 primary에서 실행")
+    @Test
+    void routeByReadOnly() {
+        //given
+        setUp(Map.of("replica-0", embeddedDatabase("replica")));
+        //when
+        String readOnlyNode = readOnlyTransaction.execute(status -> currentNode());
+        String readWriteNode = readWriteTransaction.execute(status -> currentNode());
+        //then
+        assertThat(readOnlyNode).isEqualTo("replica");
+        assertThat(readWriteNode).isEqualTo("primary");
+    }
+
+    @DisplayName("정상인 복제 DB를 돌아가며 사용하고, 상태 확인에 실패한 복제 DB는 제외")
+    @Test
+    void roundRobinHealthyReplicas() throws SQLException {
+        //given
+        DataSource brokenReplica = mock(DataSource.class);
+        given(brokenReplica.getConnection()).willThrow(new SQLException("connection refused"));
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", embeddedDatabase("replica"));
+        replicas.put("replica-1", embeddedDatabase("other-replica"));
+        replicas.put("replica-2", brokenReplica);
+        setUp(replicas);
+        //when
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(readOnlyTransaction.execute(status -> currentNode()));
+        }
+        //then
+        assertThat(nodes).containsExactly("replica", "other-replica", "replica", "other-replica");
+    }
+
+    @DisplayName("하나의 읽기 전용 트랜잭션 안의 쿼리는 모두 같은 복제 DB에서 실행")
+    @Test
+    void pinReplicaInTransaction() {
+        //given
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", embeddedDatabase("replica"));
+        replicas.put("replica-1", embeddedDatabase("other-replica"));
+        setUp(replicas);
+        //when
+        List<String> nodes = readOnlyTransaction.execute(status -> List.of(currentNode(), currentNode()));
+        //then
+        assertThat(nodes).containsExactly("replica", "replica");
+    }
+
+    @DisplayName("모든 복제 DB가 비정상이라면 읽기 전용 트랜잭션도 primary에서 실행")
+    @Test
+    void fallbackToPrimary() throws SQLException {
+        //given
+        DataSource brokenReplica = mock(DataSource.class);
+        given(brokenReplica.getConnection()).willThrow(new SQLException("connection refused"));
+        setUp(Map.of("replica-0", brokenReplica));
+        //when
+        String node = readOnlyTransaction.execute(status -> currentNode());
+        //then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @DisplayName("쓰기가 커밋된 응답에 쿠키를 전달하고, 쿠키를 가진 다음 요청의 읽기는 primary에서 실행")
+    @Test
+    void readYourWrites() throws Exception {
+        //given
+        setUp(Map.of("replica-0", embeddedDatabase("replica")));
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        List<String> nodes = new ArrayList<>();
+        //when
+        filter.doFilter(new MockHttpServletRequest("POST", "/create/diary"), writeResponse, chain(() -> {
+            readWriteTransaction.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+            nodes.add(readOnlyTransaction.execute(status -> currentNode()));
+        }));
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        MockHttpServletRequest readRequest = new MockHttpServletRequest("GET", "/read/diary");
+        readRequest.setCookies(cookie);
+        filter.doFilter(readRequest, new MockHttpServletResponse(),
+                chain(() -> nodes.add(readOnlyTransaction.execute(status -> currentNode()))));
+        filter.doFilter(new MockHttpServletRequest("GET", "/read/diary"), new MockHttpServletResponse(),
+                chain(() -> nodes.add(readOnlyTransaction.execute(status -> currentNode()))));
+        //then
+        assertThat(cookie).isNotNull();
+        assertThat(nodes).containsExactly("primary", "primary", "replica");
+    }
+
+    private static MockFilterChain chain(Runnable handler) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                handler.run();
+            }
+        });
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private EmbeddedDatabase embeddedDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .generateUniqueName(false)
+                .build();
+        new JdbcTemplate(database).execute("create table node (name varchar(20))");
+        new JdbcTemplate(database).update("insert into node values (?)", name);
+        databases.add(database);
+        return database;
+    }
+}
@@ -0,0 +1,36 @@
+package com.zerobase.weatherservice.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedTextConverterTest {
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @DisplayName("기준보다 짧은 본문은 UTF-8 그대로 저장")
+    @Test
+    void shortText() {
+        //given
+        String text = "공원에서 산책했다";
+        //when
+        byte[] bytes = converter.convertToDatabaseColumn(text);
+        //then
+        assertThat(bytes).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+        assertThat(converter.convertToEntityAttribute(bytes)).isEqualTo(text);
+    }
+
+    @DisplayName("기준보다 긴 본문은 압축하여 저장")
+    @Test
+    void longText() {
+        //given
+        String text = "오늘은 공원에서 친구를 만나 산책을 하고 점심을 먹었다. ".repeat(100);
+        //when
+        byte[] bytes = converter.convertToDatabaseColumn(text);
+        //then
+        assertThat(bytes.length).isLessThan(text.getBytes(StandardCharsets.UTF_8).length / 10);
+        assertThat(converter.convertToEntityAttribute(bytes)).isEqualTo(text);
+    }
+}
@@ -0,0 +1,86 @@
+package com.zerobase.weatherservice.ratelimit;
+
+import com.zerobase.weatherservice.dto.property.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long WINDOW_NANOS = Duration.ofMillis(100).toNanos();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new ConcurrencyLimitProperties(true, 10, 2, 50, 1.5, 0.2, Duration.ofNanos(WINDOW_NANOS), 1,
+                    Duration.ofSeconds(1)), 0);
+    private long now;
+
+    @DisplayName("상한만큼 처리 중이라면 허용하지 않음")
+    @Test
+    void tryAcquire_limit() {
+        //given
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        //when
+        boolean overLimit = limiter.tryAcquire();
+        limiter.release();
+        boolean afterRelease = limiter.tryAcquire();
+        //then
+        assertThat(overLimit).isFalse();
+        assertThat(afterRelease).isTrue();
+    }
+
+    @DisplayName("상한까지 사용하면서 응답 시간이 일정하다면 상한을 늘림")
+    @Test
+    void update_increase() {
+        //given
+        //when
+        runWindows(5, Duration.ofMillis(10));
+        //then
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @DisplayName("응답 시간이 평소보다 tolerance배 넘게 늘어나면 상한을 줄임")
+    @Test
+    void update_decrease() {
+        //given
+        runWindows(5, Duration.ofMillis(10));
+        int limit = limiter.getLimit();
+        //when
+        runWindows(5, Duration.ofMillis(100));
+        //then
+        assertThat(limiter.getLimit()).isLessThan(limit);
+    }
+
+    @DisplayName("상한의 절반도 사용하지 않는다면 상한을 바꾸지 않음")
+    @Test
+    void update_underutilized() {
+        //given
+        //when
+        for (int i = 0; i < 5; i++) {
+            now += WINDOW_NANOS;
+            limiter.tryAcquire();
+            limiter.release(Duration.ofMillis(10).toNanos(), now);
+        }
+        //then
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    /**
+     * 주기마다 상한만큼 요청을 허용한 뒤 모두 rtt로 응답
+     */
+    private void runWindows(int windows, Duration rtt) {
+        for (int i = 0; i < windows; i++) {
+            now += WINDOW_NANOS;
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limiter.release(rtt.toNanos(), now);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.zerobase.weatherservice.ratelimit;
+
+import com.zerobase.weatherservice.controller.DiaryController;
+import com.zerobase.weatherservice.dto.property.ConcurrencyLimitProperties;
+import com.zerobase.weatherservice.dto.property.RateLimitProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.RATE_LIMITED;
+import static com.zerobase.weatherservice.exception.ErrorCode.SERVER_OVERLOADED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitInterceptorTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @DisplayName("[요청 수 초과] 클라이언트의 요청 종류별 토큰 버킷이 비었다면 429와 Retry-After")
+    @Test
+    void preHandle_rateLimited() throws Exception {
+        //given
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimitProperties(true, 10, 10, 10, 10, 1, 1, 100, Duration.ofMinutes(1)),
+                concurrencyLimit(false, 10), meterRegistry);
+        HandlerMethod createDiary = new HandlerMethod(new DiaryController(null, null),
+                DiaryController.class.getMethod("createDiary", String.class, LocalDate.class, String.class));
+        interceptor.preHandle(request("POST", "10.0.0.1"), new MockHttpServletResponse(), createDiary);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        //when
+        //then
+        assertThatThrownBy(() -> interceptor.preHandle(request("POST", "10.0.0.1"), response, createDiary))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", RATE_LIMITED);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        // 다른 종류의 요청과 다른 클라이언트는 각자의 버킷을 사용
+        assertThat(interceptor.preHandle(request("GET", "10.0.0.1"), new MockHttpServletResponse(), new Object()))
+                .isTrue();
+        assertThat(interceptor.preHandle(request("POST", "10.0.0.2"), new MockHttpServletResponse(), createDiary))
+                .isTrue();
+        assertThat(meterRegistry.counter("diary.requests.rejected", "budget", "WEATHER_WRITE", "reason", "rate")
+                .count()).isEqualTo(1);
+    }
+
+    @DisplayName("[동시 처리 수 초과] 상한에 도달했다면 503과 Retry-After, 응답한 요청은 동시 처리 수에서 뺌")
+    @Test
+    void preHandle_overloaded() {
+        //given
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimit(false), concurrencyLimit(true, 1),
+                meterRegistry);
+        MockHttpServletRequest first = request("GET", "10.0.0.1");
+        interceptor.preHandle(first, new MockHttpServletResponse(), new Object());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        //when
+        //then
+        assertThatThrownBy(() -> interceptor.preHandle(request("GET", "10.0.0.2"), response, new Object()))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", SERVER_OVERLOADED);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), new Object(), null);
+        assertThat(interceptor.preHandle(request("GET", "10.0.0.2"), new MockHttpServletResponse(), new Object()))
+                .isTrue();
+    }
+
+    @DisplayName("비동기 응답은 요청 스레드가 반환될 때 동시 처리 수에서 빼고, 재디스패치는 다시 제한하지 않음")
+    @Test
+    void afterConcurrentHandlingStarted() {
+        //given
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimit(false), concurrencyLimit(true, 1),
+                meterRegistry);
+        MockHttpServletRequest stream = request("GET", "10.0.0.1");
+        interceptor.preHandle(stream, new MockHttpServletResponse(), new Object());
+        //when
+        interceptor.afterConcurrentHandlingStarted(stream, new MockHttpServletResponse(), new Object());
+        //then
+        assertThat(interceptor.preHandle(request("GET", "10.0.0.2"), new MockHttpServletResponse(), new Object()))
+                .isTrue();
+        assertThat(interceptor.preHandle(stream, new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    private static MockHttpServletRequest request(String method, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/read/diaries");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static RateLimitProperties rateLimit(boolean enabled) {
+        return new RateLimitProperties(enabled, 10, 10, 10, 10, 10, 10, 100, Duration.ofMinutes(1));
+    }
+
+    private static ConcurrencyLimitProperties concurrencyLimit(boolean enabled, int limit) {
+        return new ConcurrencyLimitProperties(enabled, limit, limit, limit, 1.5, 0.2, Duration.ofMillis(100), 10,
+                Duration.ofSeconds(2));
+    }
+}
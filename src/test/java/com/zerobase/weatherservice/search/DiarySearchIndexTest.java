@@ -0,0 +1,126 @@
+package com.zerobase.weatherservice.search;
+
+import com.zerobase.weatherservice.cache.InMemoryDiaryCacheInvalidationChannel;
+import com.zerobase.weatherservice.dto.DiaryCursor;
+import com.zerobase.weatherservice.dto.DiaryText;
+import com.zerobase.weatherservice.dto.property.DiarySearchProperties;
+import com.zerobase.weatherservice.event.DiaryChangedEvent;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.DiaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_SEARCH_QUERY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class DiarySearchIndexTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+
+    @Mock private DiaryRepository diaryRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+    private InMemoryDiaryCacheInvalidationChannel invalidationChannel;
+    private DiarySearchIndex diarySearchIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        invalidationChannel = new InMemoryDiaryCacheInvalidationChannel();
+        diarySearchIndex = new DiarySearchIndex(new DiarySearchProperties("", Duration.ofMinutes(1)),
+                diaryRepository, transactionManager, invalidationChannel);
+        given(diaryRepository.streamAllText()).willAnswer(invocation -> List.of(
+                new DiaryText(1, START_DATE, "공원에서 산책했다"),
+                new DiaryText(2, START_DATE, "비가 와서 집에 있었다"),
+                new DiaryText(3, START_DATE.plusDays(1), "친구와 공원을 걸었다"),
+                new DiaryText(4, START_DATE.plusDays(2), "공원의 벚꽃이 피었다"),
+                new DiaryText(5, START_DATE.plusDays(2), null)).stream());
+        diarySearchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        diarySearchIndex.close();
+    }
+
+    @DisplayName("조사, 어미가 달라도 같은 단어를 포함한 다이어리를 (날짜, id) 순서로 검색")
+    @Test
+    void search() {
+        //given
+        //when
+        List<DiaryCursor> hits = diarySearchIndex.search("공원", null, null, null, 10);
+        //then
+        assertThat(hits).containsExactly(
+                new DiaryCursor(START_DATE, 1),
+                new DiaryCursor(START_DATE.plusDays(1), 3),
+                new DiaryCursor(START_DATE.plusDays(2), 4));
+    }
+
+    @DisplayName("기간과 커서 이후의 다이어리만 검색")
+    @Test
+    void search_dateRangeAndCursor() {
+        //given
+        //when
+        List<DiaryCursor> hits = diarySearchIndex.search("공원", START_DATE, START_DATE.plusDays(1),
+                new DiaryCursor(START_DATE, 1), 10);
+        //then
+        assertThat(hits).containsExactly(new DiaryCursor(START_DATE.plusDays(1), 3));
+    }
+
+    @DisplayName("다이어리 변경 메시지를 받은 날짜를 복제 DB가 아닌 primary(읽기 전용이 아닌 트랜잭션)에서 다시 읽어 색인")
+    @Test
+    void onDiaryChanged() {
+        //given
+        given(diaryRepository.streamTextByDateBetween(START_DATE, START_DATE)).willAnswer(invocation -> List.of(
+                new DiaryText(2, START_DATE, "비가 그쳐서 공원에 갔다")).stream());
+        //when
+        invalidationChannel.publish(DiaryChangedEvent.of(START_DATE));
+        diarySearchIndex.awaitIndexed();
+        //then
+        assertThat(diarySearchIndex.search("공원", START_DATE, START_DATE, null, 10))
+                .containsExactly(new DiaryCursor(START_DATE, 2));
+        then(transactionManager).should().getTransaction(argThat(definition -> !definition.isReadOnly()));
+    }
+
+    @DisplayName("[예외 - DB 읽기 실패] 다시 색인하지 못한 날짜의 기존 문서를 지우지 않음")
+    @Test
+    void onDiaryChanged_failedRead() {
+        //given
+        given(diaryRepository.streamTextByDateBetween(START_DATE, START_DATE))
+                .willThrow(new QueryTimeoutException("timeout"));
+        given(diaryRepository.streamTextByDateBetween(START_DATE.plusDays(2), START_DATE.plusDays(2)))
+                .willAnswer(invocation -> List.of(new DiaryText(4, START_DATE.plusDays(2), "공원의 벚꽃이 졌다")).stream());
+        invalidationChannel.publish(DiaryChangedEvent.of(START_DATE));
+        diarySearchIndex.awaitIndexed();
+        //when
+        invalidationChannel.publish(DiaryChangedEvent.of(START_DATE.plusDays(2)));
+        diarySearchIndex.awaitIndexed();
+        //then
+        assertThat(diarySearchIndex.search("공원", START_DATE, START_DATE, null, 10))
+                .containsExactly(new DiaryCursor(START_DATE, 1));
+    }
+
+    @DisplayName("[예외 - 검색할 단어 없음] 문장 부호만으로 검색")
+    @Test
+    void search_invalidQuery() {
+        //given
+        //when
+        //then
+        assertThatThrownBy(() -> diarySearchIndex.search("?!", null, null, null, 10))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", INVALID_SEARCH_QUERY);
+    }
+}
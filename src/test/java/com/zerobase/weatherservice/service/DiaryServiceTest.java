@@ -1,111 +1,532 @@
 package com.zerobase.weatherservice.service;
 
+import com.zerobase.weatherservice.cache.DiaryCache;
+import com.zerobase.weatherservice.cache.InMemoryDiaryCacheInvalidationChannel;
 import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.DateWeatherId;
 import com.zerobase.weatherservice.domain.Diary;
+import com.zerobase.weatherservice.domain.DiaryBody;
+import com.zerobase.weatherservice.domain.DiaryDateVersion;
+import com.zerobase.weatherservice.domain.WeatherStatus;
+import com.zerobase.weatherservice.dto.DiaryBulkCreateResult;
+import com.zerobase.weatherservice.dto.DiaryBulkItemResult;
+import com.zerobase.weatherservice.dto.DiaryCount;
+import com.zerobase.weatherservice.dto.DiaryCreateResult;
+import com.zerobase.weatherservice.dto.DiaryCursor;
+import com.zerobase.weatherservice.dto.DiaryDeleteResult;
 import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.DiaryPage;
+import com.zerobase.weatherservice.dto.DiaryVersion;
+import com.zerobase.weatherservice.dto.VersionedDiaries;
 import com.zerobase.weatherservice.dto.property.ApiProperties;
+import com.zerobase.weatherservice.dto.property.DiaryCacheProperties;
+import com.zerobase.weatherservice.dto.property.WeatherFallbackProperties;
+import com.zerobase.weatherservice.dto.request.DiaryCreateRequest;
+import com.zerobase.weatherservice.event.DiaryChangedEvent;
+import com.zerobase.weatherservice.event.DiaryWeatherRequestedEvent;
 import com.zerobase.weatherservice.exception.DiaryException;
-import com.zerobase.weatherservice.repository.DateWeatherRepository;
+import com.zerobase.weatherservice.repository.DiaryBodyRepository;
+import com.zerobase.weatherservice.repository.DiaryDateVersionRepository;
 import com.zerobase.weatherservice.repository.DiaryRepository;
+import com.zerobase.weatherservice.search.DiarySearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.zerobase.weatherservice.exception.ErrorCode.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @EnableConfigurationProperties(ApiProperties.class)
 class DiaryServiceTest {
-    @InjectMocks private DiaryService diaryService;
     @Mock private DiaryRepository diaryRepository;
-    @Mock private DateWeatherRepository dateWeatherRepository;
+    @Mock private DiaryBodyRepository diaryBodyRepository;
+    @Mock private DiaryDateVersionRepository diaryDateVersionRepository;
+    @Mock private WeatherService weatherService;
+    @Mock private StatsService statsService;
+    @Mock private JobLeaseService jobLeaseService;
+    @Mock private DiarySearchIndex diarySearchIndex;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Captor private ArgumentCaptor<List<Diary>> diariesCaptor;
+    @Captor private ArgumentCaptor<List<DiaryBody>> bodiesCaptor;
+    private DiaryService diaryService;
 
-    @DisplayName("다이어리 추가")
+    @BeforeEach
+    void setUp() {
+        DiaryCache diaryCache = new DiaryCache(new DiaryCacheProperties(DataSize.ofMegabytes(1), Duration.ofMinutes(1), 31),
+                new SimpleMeterRegistry(), new InMemoryDiaryCacheInvalidationChannel());
+        diaryService = new DiaryService(diaryRepository, diaryBodyRepository, diaryDateVersionRepository, diaryCache,
+                diarySearchIndex, weatherService, statsService, jobLeaseService, transactionTemplate, new WeatherFallbackProperties(3, Duration.ofMinutes(5), 2), eventPublisher);
+    }
+
+    @DisplayName("날씨 없이 다이어리를 추가하고 날씨 채우기 요청")
     @Test
     void createDiary() {
         //given
-        given(dateWeatherRepository.findAllByDate(any()))
-                .willReturn(List.of(
-                        DateWeather.builder()
-                                .date(LocalDate.now())
-                                .weather("cloud")
-                                .icon("icon")
-                                .temperature(11.1)
-                                .build()
-                ));
-        given(diaryRepository.save(any()))
-                .willReturn(generateDiary());
+        given(weatherService.supports("seoul"))
+                .willReturn(true);
         //when
-        diaryService.createDiary(LocalDate.now(), "text");
+        DiaryCreateResult result = diaryService.createDiary("seoul", LocalDate.now(), "text");
         ArgumentCaptor<Diary> captor = ArgumentCaptor.forClass(Diary.class);
+        ArgumentCaptor<DiaryBody> bodyCaptor = ArgumentCaptor.forClass(DiaryBody.class);
         //then
+        assertThat(result.weatherStatus()).isEqualTo(WeatherStatus.PENDING);
         verify(diaryRepository, times(1)).save(captor.capture());
-        assertThat(captor.getValue().getText()).isEqualTo("text");
+        verify(diaryBodyRepository).save(bodyCaptor.capture());
+        assertThat(bodyCaptor.getValue().getDiary()).isSameAs(captor.getValue());
+        assertThat(bodyCaptor.getValue().getText()).isEqualTo("text");
         assertThat(captor.getValue().getDate()).isEqualTo(LocalDate.now());
-        assertThat(captor.getValue().getWeather()).isEqualTo("cloud");
-        assertThat(captor.getValue().getIcon()).isEqualTo("icon");
-        assertThat(captor.getValue().getTemperature()).isEqualTo(11.1);
+        assertThat(captor.getValue().getCity()).isEqualTo("seoul");
+        assertThat(captor.getValue().getWeather()).isNull();
+        assertThat(captor.getValue().getWeatherStatus()).isEqualTo(WeatherStatus.PENDING);
+        // 저장 트랜잭션에서 날씨 API를 호출하지 않음
+        verify(weatherService, never()).getDateWeatherAsync(any(), any());
+        verify(diaryDateVersionRepository).increaseVersion(eq(LocalDate.now()), any());
+        verify(statsService).addDiaryCounts(List.of(new DiaryCount(LocalDate.now(), "seoul", 1)));
+        verify(eventPublisher).publishEvent(DiaryChangedEvent.of(LocalDate.now()));
+        verify(eventPublisher).publishEvent(new DiaryWeatherRequestedEvent(result.id(), "seoul", LocalDate.now()));
     }
 
     @DisplayName("[예외 - 저장 실패] 다이어리 추가")
     @Test
     void createDiary_failedSave() {
         //given
-        given(dateWeatherRepository.findAllByDate(any()))
-                .willReturn(List.of(
-                        DateWeather.builder()
-                                .date(LocalDate.now())
-                                .weather("cloud")
-                                .icon("icon")
-                                .temperature(11.1)
-                                .build()
-                ));
+        given(weatherService.supports("seoul"))
+                .willReturn(true);
         given(diaryRepository.save(any()))
                 .willThrow(new DiaryException(FAILED_SAVE_DIARY));
         //when
-        assertThatThrownBy(() -> diaryService.createDiary(LocalDate.now(), "text"))
+        assertThatThrownBy(() -> diaryService.createDiary("seoul", LocalDate.now(), "text"))
                 .isInstanceOf(DiaryException.class)
                 .hasFieldOrPropertyWithValue("errorCode", FAILED_SAVE_DIARY);
         //then
+        verify(eventPublisher, never()).publishEvent(any(DiaryWeatherRequestedEvent.class));
+    }
+
+    @DisplayName("[예외 - 지원하지 않는 도시] 다이어리 추가")
+    @Test
+    void createDiary_notSupportedCity() {
+        //given
+        given(weatherService.supports("tokyo"))
+                .willReturn(false);
+        //when
+        assertThatThrownBy(() -> diaryService.createDiary("tokyo", LocalDate.now(), "text"))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", NOT_SUPPORTED_CITY);
+        //then
+        verify(diaryRepository, never()).save(any());
+    }
+
+    @DisplayName("조회한 날씨로 PENDING인 다이어리의 날씨 채우기")
+    @Test
+    void fillDiaryWeather() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        given(diaryRepository.fillWeatherById(1, "cloud", "icon", 11.1, WeatherStatus.FILLED))
+                .willReturn(1);
+        //when
+        boolean filled = diaryService.fillDiaryWeather(1, DateWeather.builder()
+                .city("seoul").date(date).weather("cloud").icon("icon").temperature(11.1).build());
+        //then
+        assertThat(filled).isTrue();
+        verify(diaryDateVersionRepository).increaseVersion(eq(date), any());
+        verify(eventPublisher).publishEvent(DiaryChangedEvent.of(date));
+    }
+
+    @DisplayName("[날씨 API 장애] 가장 가까운 날짜의 날씨로 다이어리 날씨 채우기")
+    @Test
+    void fillStaleDiaryWeather() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        given(weatherService.findNearestDateWeather("seoul", date))
+                .willReturn(Optional.of(DateWeather.builder()
+                        .city("seoul").date(date.minusDays(2)).weather("cloud").icon("icon").temperature(11.1).build()));
+        given(diaryRepository.fillWeatherById(1, "cloud", "icon", 11.1, WeatherStatus.STALE))
+                .willReturn(1);
+        //when
+        WeatherStatus weatherStatus = diaryService.fillStaleDiaryWeather(1, "seoul", date);
+        //then
+        assertThat(weatherStatus).isEqualTo(WeatherStatus.STALE);
+        verify(eventPublisher).publishEvent(DiaryChangedEvent.of(date));
+    }
+
+    @DisplayName("[날씨 API 장애] 대신할 날씨가 없다면 PENDING으로 둠")
+    @Test
+    void fillStaleDiaryWeather_pending() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        given(weatherService.findNearestDateWeather("seoul", date))
+                .willReturn(Optional.of(DateWeather.builder()
+                        .city("seoul").date(date.minusDays(10)).weather("cloud").icon("icon").temperature(11.1).build()));
+        //when
+        WeatherStatus weatherStatus = diaryService.fillStaleDiaryWeather(1, "seoul", date);
+        //then
+        assertThat(weatherStatus).isEqualTo(WeatherStatus.PENDING);
+        verify(diaryRepository, never()).fillWeatherById(anyInt(), any(), any(), anyDouble(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @DisplayName("FAILED 다이어리의 날씨 다시 채우기 요청")
+    @Test
+    void retryDiaryWeather() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        given(diaryRepository.updateWeatherStatus(1, WeatherStatus.FAILED, WeatherStatus.PENDING))
+                .willReturn(1);
+        given(diaryRepository.findById(1))
+                .willReturn(Optional.of(Diary.builder().id(1).city("seoul").date(date).build()));
+        //when
+        diaryService.retryDiaryWeather(1);
+        //then
+        verify(eventPublisher).publishEvent(new DiaryWeatherRequestedEvent(1, "seoul", date));
+    }
+
+    @DisplayName("[예외 - FAILED가 아닌 다이어리] 다이어리 날씨 다시 채우기 요청")
+    @Test
+    void retryDiaryWeather_notFailed() {
+        //given
+        given(diaryRepository.updateWeatherStatus(1, WeatherStatus.FAILED, WeatherStatus.PENDING))
+                .willReturn(0);
+        given(diaryRepository.existsById(1))
+                .willReturn(true);
+        //when
+        assertThatThrownBy(() -> diaryService.retryDiaryWeather(1))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", NOT_FAILED_DIARY_WEATHER);
+        //then
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @DisplayName("날씨가 채워지지 않은 다이어리의 날씨 채우기")
+    @Test
+    void fillUnfilledWeathers() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        given(diaryRepository.findWeatherIdsByWeatherStatusIn(any(), any()))
+                .willReturn(List.of(new DateWeatherId("seoul", date), new DateWeatherId("busan", date),
+                        new DateWeatherId("incheon", date)));
+        given(weatherService.getDateWeatherAsync("seoul", date))
+                .willReturn(CompletableFuture.completedFuture(
+                        DateWeather.builder().city("seoul").date(date).weather("cloud").icon("icon").temperature(11.1).build()));
+        given(weatherService.getDateWeatherAsync("busan", date))
+                .willReturn(CompletableFuture.failedFuture(new DiaryException(WEATHER_API_UNAVAILABLE)));
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(diaryRepository.fillWeather(eq("seoul"), eq(date), eq("cloud"), eq("icon"), eq(11.1), any()))
+                .willReturn(2);
+        //when
+        int filledCount = diaryService.fillUnfilledWeathers().join();
+        //then
+        assertThat(filledCount).isEqualTo(2);
+        // 서킷이 열리면 나머지는 다음 주기로 미룸
+        verify(weatherService, never()).getDateWeatherAsync("incheon", date);
+    }
+
+    @DisplayName("[실패 반복] 날씨 채우기에 maxSweepAttempts번 실패한 (도시, 날짜)의 다이어리는 FAILED로 표시")
+    @Test
+    void fillUnfilledWeathers_failed() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        given(diaryRepository.findWeatherIdsByWeatherStatusIn(any(), any()))
+                .willReturn(List.of(new DateWeatherId("seoul", date), new DateWeatherId("busan", date)));
+        given(weatherService.getDateWeatherAsync("seoul", date))
+                .willAnswer(invocation -> CompletableFuture.failedFuture(new DiaryException(FAILED_PARSING_JSON)));
+        given(weatherService.getDateWeatherAsync("busan", date))
+                .willReturn(CompletableFuture.completedFuture(
+                        DateWeather.builder().city("busan").date(date).weather("cloud").icon("icon").temperature(11.1).build()));
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(diaryRepository.failWeather(eq("seoul"), eq(date), any()))
+                .willReturn(2);
+        //when
+        diaryService.fillUnfilledWeathers().join();
+        verify(diaryRepository, never()).failWeather(any(), any(), any());
+        diaryService.fillUnfilledWeathers().join();
+        //then
+        verify(diaryRepository).failWeather(eq("seoul"), eq(date), any());
+        // 실패한 (도시, 날짜) 다음의 다이어리도 매 주기 채움
+        verify(diaryRepository, times(2)).fillWeather(eq("busan"), eq(date), eq("cloud"), eq("icon"), eq(11.1), any());
+    }
+
+    @DisplayName("다이어리 일괄 추가 시 날씨 없이(PENDING) 저장하고 커밋된 후 날씨 채우기 작업에 전달")
+    @Test
+    void createDiaries() {
+        //given
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        given(weatherService.getDefaultCity()).willReturn("seoul");
+        given(weatherService.supports("seoul")).willReturn(true);
+        given(weatherService.supports("busan")).willReturn(true);
+        given(weatherService.supports("tokyo")).willReturn(false);
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(diaryRepository.saveAll(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        List<DiaryCreateRequest> requests = List.of(
+                new DiaryCreateRequest(null, today, "text1"),
+                new DiaryCreateRequest(null, yesterday, "text2"),
+                new DiaryCreateRequest(null, null, "text3"),
+                new DiaryCreateRequest("busan", today, "text4"),
+                new DiaryCreateRequest("tokyo", today, "text5")
+        );
+        //when
+        DiaryBulkCreateResult result = diaryService.createDiaries(requests);
+        //then
+        verify(weatherService, never()).getDateWeatherAsync(any(), any());
+        assertThat(result.succeeded()).isEqualTo(3);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.items()).extracting(DiaryBulkItemResult::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(result.items()).extracting(DiaryBulkItemResult::status)
+                .containsExactly("success", "success", "error", "success", "error");
+        assertThat(result.items().get(4).message()).isEqualTo(NOT_SUPPORTED_CITY.getDescription());
+        verify(diaryRepository).saveAll(diariesCaptor.capture());
+        assertThat(diariesCaptor.getValue()).extracting(Diary::getWeatherStatus).containsOnly(WeatherStatus.PENDING);
+        verify(diaryBodyRepository).saveAll(bodiesCaptor.capture());
+        assertThat(bodiesCaptor.getValue()).extracting(DiaryBody::getText)
+                .containsExactly("text1", "text2", "text4");
+        verify(eventPublisher).publishEvent(new DiaryWeatherRequestedEvent(0, "seoul", today));
+        verify(eventPublisher).publishEvent(new DiaryWeatherRequestedEvent(0, "seoul", yesterday));
+        verify(eventPublisher).publishEvent(new DiaryWeatherRequestedEvent(0, "busan", today));
+        // 요청 순서와 관계없이 날짜 순서로 버전 행을 잠금
+        InOrder inOrder = inOrder(diaryDateVersionRepository);
+        inOrder.verify(diaryDateVersionRepository).increaseVersion(eq(yesterday), any());
+        inOrder.verify(diaryDateVersionRepository).increaseVersion(eq(today), any());
+    }
+
+    @DisplayName("[예외 - 항목 수 초과] 다이어리 일괄 추가")
+    @Test
+    void createDiaries_tooMany() {
+        //given
+        List<DiaryCreateRequest> requests = Collections.nCopies(1001,
+                new DiaryCreateRequest(null, LocalDate.now(), "text"));
+        //when
+        assertThatThrownBy(() -> diaryService.createDiaries(requests))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", TOO_MANY_DIARIES);
+        //then
+        verifyNoInteractions(diaryRepository, transactionTemplate);
+    }
+
+    @DisplayName("[예외 - 일괄 저장 실패] 다이어리 일괄 추가 시 한 건씩 다시 저장")
+    @Test
+    void createDiaries_failedChunk() {
+        //given
+        given(weatherService.getDefaultCity()).willReturn("seoul");
+        given(weatherService.supports("seoul")).willReturn(true);
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(diaryRepository.saveAll(any()))
+                .willThrow(new DataIntegrityViolationException("chunk"));
+        given(diaryRepository.save(any()))
+                .willReturn(generateDiary(1))
+                .willThrow(new DataIntegrityViolationException("item"));
+        List<DiaryCreateRequest> requests = List.of(
+                new DiaryCreateRequest(null, LocalDate.now(), "text1"),
+                new DiaryCreateRequest(null, LocalDate.now(), "text2")
+        );
+        //when
+        DiaryBulkCreateResult result = diaryService.createDiaries(requests);
+        //then
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.items()).extracting(DiaryBulkItemResult::id).containsExactly(1, null);
+        // 저장에 성공한 다이어리만 날씨 채우기 작업에 전달
+        verify(eventPublisher, times(1)).publishEvent(any(DiaryWeatherRequestedEvent.class));
+    }
+
+    @DisplayName("[변경 없음] 버전으로 변경되지 않았다고 판단하면 다이어리를 조회하지 않음")
+    @Test
+    void readDiary_notModified() {
+        //given
+        given(diaryDateVersionRepository.findAllByDateBetween(any(), any()))
+                .willReturn(List.of());
+        //when
+        VersionedDiaries result = diaryService.readDiary(LocalDate.now(), version -> true);
+        //then
+        assertThat(result.isNotModified()).isTrue();
+        assertThat(result.version().etag()).isEqualTo("\"0\"");
+        assertThat(result.version().lastModified()).isEqualTo(-1);
+        verifyNoInteractions(diaryRepository);
     }
 
     @DisplayName("특정 날짜의 다이어리 조회")
     @Test
     void readDiary() {
         //given
-        given(diaryRepository.findAllByDate(any()))
-                .willReturn(List.of(generateDiary()));
+        given(diaryRepository.findDtoByDateIn(any()))
+                .willReturn(List.of(DiaryDto.fromEntity(generateDiary())));
         //when
-        List<DiaryDto> diaryDtos = diaryService.readDiary(LocalDate.now());
+        diaryService.readDiary(LocalDate.now(), version -> false);
+        VersionedDiaries result = diaryService.readDiary(LocalDate.now(), version -> false);
         //then
-        assertThat(diaryDtos.size()).isEqualTo(1);
+        assertThat(result.diaries().size()).isEqualTo(1);
+        verify(diaryRepository, times(1)).findDtoByDateIn(any());
+    }
+
+    @DisplayName("버전이 바뀐 날짜의 다이어리는 캐시되어 있더라도 다시 조회하고, 날짜별 버전의 합을 ETag로 사용")
+    @Test
+    void readDiary_changedVersion() {
+        //given
+        given(diaryRepository.findDtoByDateIn(any()))
+                .willReturn(List.of())
+                .willReturn(List.of(DiaryDto.fromEntity(generateDiary())));
+        given(diaryDateVersionRepository.findAllByDateBetween(any(), any()))
+                .willReturn(List.of())
+                .willReturn(List.of(new DiaryDateVersion(LocalDate.now(), 1, LocalDateTime.now())));
+        //when
+        diaryService.readDiary(LocalDate.now(), version -> false);
+        VersionedDiaries result = diaryService.readDiary(LocalDate.now(), version -> false);
+        //then
+        assertThat(result.diaries().size()).isEqualTo(1);
+        assertThat(result.version().etag()).isEqualTo("\"1\"");
+        verify(diaryRepository, times(2)).findDtoByDateIn(any());
     }
 
     @DisplayName("주어진 날짜 기간의 다이어리 조회")
     @Test
     void readDiaries() {
         //given
-        given(diaryRepository.findAllByDateBetween(any(), any()))
-                .willReturn(List.of(generateDiary()));
+        given(diaryRepository.findDtoByDateIn(any()))
+                .willReturn(List.of(DiaryDto.fromEntity(generateDiary())));
+        given(diaryDateVersionRepository.findAllByDateBetween(any(), any()))
+                .willReturn(List.of(
+                        new DiaryDateVersion(LocalDate.now().minusDays(1), 2, LocalDateTime.now().minusDays(1)),
+                        new DiaryDateVersion(LocalDate.now(), 3, LocalDateTime.now())));
+        //when
+        VersionedDiaries result = diaryService.readDiaries(LocalDate.now().minusDays(3), LocalDate.now(),
+                version -> false);
+        //then
+        assertThat(result.diaries().size()).isEqualTo(1);
+        assertThat(result.version().version()).isEqualTo(5);
+    }
+
+    @DisplayName("캐시할 수 있는 일수보다 긴 기간의 다이어리 조회")
+    @Test
+    void readDiaries_longRange() {
+        //given
+        given(diaryDateVersionRepository.sumVersionByDateBetween(any(), any()))
+                .willReturn(new DiaryVersion(5, LocalDateTime.now()));
+        given(diaryRepository.findDtoByDateBetween(any(), any()))
+                .willReturn(List.of(DiaryDto.fromEntity(generateDiary())));
         //when
-        List<DiaryDto> diaryDtos = diaryService.readDiaries(LocalDate.now().minusDays(3), LocalDate.now());
+        VersionedDiaries result = diaryService.readDiaries(LocalDate.now().minusYears(1), LocalDate.now(),
+                version -> false);
         //then
-        assertThat(diaryDtos.size()).isEqualTo(1);
+        assertThat(result.diaries().size()).isEqualTo(1);
+        assertThat(result.version().version()).isEqualTo(5);
+        verify(diaryRepository, never()).findDtoByDateIn(any());
+    }
+
+    @DisplayName("주어진 날짜 기간의 다이어리 페이지 조회")
+    @Test
+    void readDiaryPage() {
+        //given
+        given(diaryRepository.findDtoPageByDateBetween(any(), any(), any()))
+                .willReturn(List.of(generateDiaryDto(1), generateDiaryDto(2), generateDiaryDto(3)));
+        //when
+        DiaryPage diaryPage = diaryService.readDiaryPage(LocalDate.now().minusDays(3), LocalDate.now(), null, 2);
+        //then
+        assertThat(diaryPage.diaries().size()).isEqualTo(2);
+        assertThat(DiaryCursor.decode(diaryPage.nextCursor())).isEqualTo(new DiaryCursor(LocalDate.now(), 2));
+    }
+
+    @DisplayName("주어진 날짜 기간의 다이어리 마지막 페이지 조회")
+    @Test
+    void readDiaryPage_lastPage() {
+        //given
+        String cursor = new DiaryCursor(LocalDate.now(), 2).encode();
+        given(diaryRepository.findDtoPageByDateBetweenAfter(any(), any(), eq(LocalDate.now()), eq(2), any()))
+                .willReturn(List.of(generateDiaryDto(3)));
+        //when
+        DiaryPage diaryPage = diaryService.readDiaryPage(LocalDate.now().minusDays(3), LocalDate.now(), cursor, 2);
+        //then
+        assertThat(diaryPage.diaries().size()).isEqualTo(1);
+        assertThat(diaryPage.nextCursor()).isNull();
+    }
+
+    @DisplayName("[예외 - 잘못된 커서] 주어진 날짜 기간의 다이어리 페이지 조회")
+    @Test
+    void readDiaryPage_invalidCursor() {
+        //given
+        //when
+        assertThatThrownBy(() -> diaryService.readDiaryPage(LocalDate.now().minusDays(3), LocalDate.now(), "invalid", 2))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", INVALID_CURSOR);
+        //then
+    }
+
+    @DisplayName("검색 색인에서 찾은 다이어리를 id로 조회")
+    @Test
+    void searchDiaries() {
+        //given
+        given(diarySearchIndex.search("공원", null, null, null, 3))
+                .willReturn(List.of(new DiaryCursor(LocalDate.now(), 1), new DiaryCursor(LocalDate.now(), 2),
+                        new DiaryCursor(LocalDate.now(), 3)));
+        given(diaryRepository.findDtoByIdIn(List.of(1, 2)))
+                .willReturn(List.of(generateDiaryDto(1), generateDiaryDto(2)));
+        //when
+        DiaryPage diaryPage = diaryService.searchDiaries("공원", null, null, null, 2);
+        //then
+        assertThat(diaryPage.diaries()).extracting(DiaryDto::id).containsExactly(1, 2);
+        assertThat(DiaryCursor.decode(diaryPage.nextCursor())).isEqualTo(new DiaryCursor(LocalDate.now(), 2));
+    }
+
+    @DisplayName("주어진 날짜 기간의 다이어리 스트리밍 조회")
+    @Test
+    void streamDiaries() {
+        //given
+        given(diaryRepository.streamDtoByDateBetween(any(), any()))
+                .willReturn(Stream.of(generateDiaryDto(1), generateDiaryDto(2)));
+        List<DiaryDto> diaryDtos = new ArrayList<>();
+        //when
+        diaryService.streamDiaries(LocalDate.now().minusDays(3), LocalDate.now(), diaryDtos::add);
+        //then
+        assertThat(diaryDtos.size()).isEqualTo(2);
+    }
+
+    @DisplayName("본문을 포함한 다이어리 상세 조회")
+    @Test
+    void readDiaryDetail() {
+        //given
+        given(diaryRepository.findDetailById(1))
+                .willReturn(Optional.of(DiaryDto.builder().id(1).text("text").date(LocalDate.now()).build()));
+        //when
+        DiaryDto diaryDto = diaryService.readDiaryDetail(1);
+        //then
+        assertThat(diaryDto.text()).isEqualTo("text");
     }
 
     @DisplayName("특정 날짜의 다이어리 수정")
@@ -115,10 +536,85 @@ class DiaryServiceTest {
         Diary savedDiary = generateDiary();
         given(diaryRepository.getFirstByDate(any()))
                 .willReturn(Optional.of(savedDiary));
+        given(diaryRepository.increaseVersion(savedDiary.getId(), savedDiary.getVersion()))
+                .willReturn(1);
+        given(diaryBodyRepository.updateText(savedDiary.getId(), "updatedText"))
+                .willReturn(1);
         //when
         diaryService.updateDiary(LocalDate.now(), "updatedText");
         //then
-        assertThat(savedDiary.getText()).isEqualTo("updatedText");
+        verify(diaryBodyRepository, never()).save(any());
+        verify(diaryDateVersionRepository).increaseVersion(eq(LocalDate.now()), any());
+    }
+
+    @DisplayName("[예외 - 동시 수정] 조회한 뒤 다른 요청이 먼저 변경한 다이어리 수정")
+    @Test
+    void updateDiary_conflict() {
+        //given
+        Diary savedDiary = generateDiary();
+        given(diaryRepository.getFirstByDate(any()))
+                .willReturn(Optional.of(savedDiary));
+        given(diaryRepository.increaseVersion(savedDiary.getId(), savedDiary.getVersion()))
+                .willReturn(0);
+        //when
+        assertThatThrownBy(() -> diaryService.updateDiary(LocalDate.now(), "updatedText"))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", CONFLICT_DIARY_UPDATE);
+        //then
+        verify(diaryBodyRepository, never()).updateText(anyInt(), any());
+    }
+
+    @DisplayName("버전이 같을 때만 id로 다이어리 수정하고 본문이 없다면 추가")
+    @Test
+    void updateDiaryById() {
+        //given
+        given(diaryRepository.increaseVersion(1, 3))
+                .willReturn(1);
+        given(diaryRepository.findDateById(1))
+                .willReturn(Optional.of(LocalDate.now()));
+        given(diaryBodyRepository.updateText(1, "updatedText"))
+                .willReturn(0);
+        given(diaryRepository.getReferenceById(1))
+                .willReturn(generateDiary());
+        ArgumentCaptor<DiaryBody> bodyCaptor = ArgumentCaptor.forClass(DiaryBody.class);
+        //when
+        long version = diaryService.updateDiary(1, 3, "updatedText");
+        //then
+        assertThat(version).isEqualTo(4);
+        verify(diaryBodyRepository).save(bodyCaptor.capture());
+        assertThat(bodyCaptor.getValue().getText()).isEqualTo("updatedText");
+        verify(diaryDateVersionRepository).increaseVersion(eq(LocalDate.now()), any());
+    }
+
+    @DisplayName("[예외 - 버전 불일치] id로 다이어리 수정")
+    @Test
+    void updateDiaryById_mismatchVersion() {
+        //given
+        given(diaryRepository.increaseVersion(1, 3))
+                .willReturn(0);
+        given(diaryRepository.existsById(1))
+                .willReturn(true);
+        //when
+        assertThatThrownBy(() -> diaryService.updateDiary(1, 3, "updatedText"))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", MISMATCH_DIARY_VERSION);
+        //then
+        verify(diaryBodyRepository, never()).updateText(anyInt(), any());
+    }
+
+    @DisplayName("[예외 - NOT FOUND DIARY] id로 다이어리 수정")
+    @Test
+    void updateDiaryById_notFoundDiary() {
+        //given
+        given(diaryRepository.increaseVersion(1, 3))
+                .willReturn(0);
+        given(diaryRepository.existsById(1))
+                .willReturn(false);
+        //when
+        assertThatThrownBy(() -> diaryService.updateDiary(1, 3, "updatedText"))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", NOT_FOUND_DIARY);
+        //then
     }
 
     @DisplayName("[예외 - NOT FOUND DIARY]특정 날짜의 다이어리 수정")
@@ -138,18 +634,62 @@ class DiaryServiceTest {
     @Test
     void deleteDiary() {
         //given
-        willDoNothing().given(diaryRepository).deleteAllByDate(any());
+        given(diaryRepository.countByDateBetweenGroupByDateAndCity(LocalDate.now(), LocalDate.now()))
+                .willReturn(List.of(new DiaryCount(LocalDate.now(), "seoul", 2),
+                        new DiaryCount(LocalDate.now(), "busan", 1)));
+        given(diaryRepository.deleteInBulkByDate(any()))
+                .willReturn(3);
         //when
-        diaryService.deleteDiary(LocalDate.now());
+        DiaryDeleteResult result = diaryService.deleteDiary(LocalDate.now());
         //then
+        assertThat(result.deletedCount()).isEqualTo(3);
+        verify(diaryBodyRepository).deleteInBulkByDiaryDate(LocalDate.now());
+        verify(diaryDateVersionRepository).increaseVersion(eq(LocalDate.now()), any());
+        verify(statsService).addDiaryCounts(List.of(new DiaryCount(LocalDate.now(), "seoul", -2),
+                new DiaryCount(LocalDate.now(), "busan", -1)));
+    }
+
+    @DisplayName("버전이 같을 때만 id로 다이어리 삭제")
+    @Test
+    void deleteDiaryById() {
+        //given
+        given(diaryRepository.increaseVersion(1, 3))
+                .willReturn(1);
+        given(diaryRepository.countByIdInGroupByDateAndCity(List.of(1)))
+                .willReturn(List.of(new DiaryCount(LocalDate.now(), "seoul", 1)));
+        given(diaryRepository.deleteInBulkByIdIn(List.of(1)))
+                .willReturn(1);
+        //when
+        DiaryDeleteResult result = diaryService.deleteDiary(1, 3);
+        //then
+        assertThat(result.deletedCount()).isEqualTo(1);
+        verify(diaryBodyRepository).deleteInBulkByIdIn(List.of(1));
+        verify(diaryDateVersionRepository).increaseVersion(eq(LocalDate.now()), any());
+        verify(statsService).addDiaryCounts(List.of(new DiaryCount(LocalDate.now(), "seoul", -1)));
+    }
+
+    @DisplayName("[예외 - 버전 불일치] id로 다이어리 삭제")
+    @Test
+    void deleteDiaryById_mismatchVersion() {
+        //given
+        given(diaryRepository.increaseVersion(1, 3))
+                .willReturn(0);
+        given(diaryRepository.existsById(1))
+                .willReturn(true);
+        //when
+        assertThatThrownBy(() -> diaryService.deleteDiary(1, 3))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", MISMATCH_DIARY_VERSION);
+        //then
+        verify(diaryRepository, never()).deleteInBulkByIdIn(any());
     }
 
     @DisplayName("[예외 - 삭제 실패] 특정 날짜의 다이어리 삭제")
     @Test
     void deleteDiary_failedDelete() {
         //given
-        willThrow(new DiaryException(FAILED_DELETE_DIARY))
-                .given(diaryRepository).deleteAllByDate(any());
+        given(diaryRepository.deleteInBulkByDate(any()))
+                .willThrow(new DiaryException(FAILED_DELETE_DIARY));
         //when
         assertThatThrownBy(() -> diaryService.deleteDiary(LocalDate.now()))
                 .isInstanceOf(DiaryException.class)
@@ -157,14 +697,47 @@ class DiaryServiceTest {
         //then
     }
 
+    @DisplayName("특정 기간 내의 다이어리를 나누어 삭제")
+    @Test
+    void deleteDiaries() {
+        //given
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(diaryRepository.findIdsByDateBetween(any(), any(), any()))
+                .willReturn(ids(1000))
+                .willReturn(ids(1000))
+                .willReturn(ids(10));
+        given(diaryRepository.deleteInBulkByIdIn(any()))
+                .willReturn(1000, 1000, 10);
+        //when
+        DiaryDeleteResult result = diaryService.deleteDiaries(LocalDate.now().minusYears(3), LocalDate.now());
+        //then
+        verify(diaryRepository, times(3)).deleteInBulkByIdIn(any());
+        verify(diaryBodyRepository, times(3)).deleteInBulkByIdIn(any());
+        verify(diaryDateVersionRepository, times(3)).increaseVersionByDiaryDateBetween(any(), any(), any());
+        verify(statsService, times(3)).addDiaryCounts(any());
+        assertThat(result.deletedCount()).isEqualTo(2010);
+    }
+
+    private static List<Integer> ids(int size) {
+        return IntStream.range(0, size).boxed().toList();
+    }
+
     private static Diary generateDiary() {
+        return generateDiary(1);
+    }
+
+    private static Diary generateDiary(int id) {
         return Diary.builder()
-                .id(1)
-                .text("text")
+                .id(id)
                 .date(LocalDate.now())
                 .weather("cloud")
                 .icon("icon")
                 .temperature(11.1)
                 .build();
     }
-}
\ No newline at end of file
+
+    private static DiaryDto generateDiaryDto(int id) {
+        return DiaryDto.fromEntity(generateDiary(id));
+    }
+}
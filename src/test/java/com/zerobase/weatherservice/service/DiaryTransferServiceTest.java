@@ -0,0 +1,184 @@
+package com.zerobase.weatherservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.weatherservice.domain.Diary;
+import com.zerobase.weatherservice.domain.DiaryImport;
+import com.zerobase.weatherservice.domain.WeatherStatus;
+import com.zerobase.weatherservice.dto.DiaryDto;
+import com.zerobase.weatherservice.dto.DiaryImportResult;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.DiaryImportRepository;
+import com.zerobase.weatherservice.repository.DiaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_DIARY_EXPORT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DiaryTransferServiceTest {
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 5);
+
+    @Mock private DiaryRepository diaryRepository;
+    @Mock private DiaryImportRepository diaryImportRepository;
+    @Mock private DiaryService diaryService;
+    @Mock private WeatherService weatherService;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private EntityManager entityManager;
+    @Captor private ArgumentCaptor<List<Diary>> diariesCaptor;
+    @Captor private ArgumentCaptor<List<String>> textsCaptor;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private DiaryTransferService diaryTransferService;
+
+    @BeforeEach
+    void setUp() {
+        diaryTransferService = new DiaryTransferService(diaryRepository, diaryImportRepository, diaryService,
+                weatherService, transactionTemplate, entityManager, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @DisplayName("내보낸 파일을 가져와 본문과 함께 새 id로 저장")
+    @Test
+    void exportAndImport() throws IOException {
+        //given
+        byte[] exported = export(3);
+        givenImport(DiaryImport.start("import"));
+        //when
+        DiaryImportResult result = diaryTransferService.importDiaries("import", new ByteArrayInputStream(exported));
+        //then
+        verify(diaryService).insertDiaries(diariesCaptor.capture(), textsCaptor.capture());
+        assertThat(diariesCaptor.getValue())
+                .extracting(Diary::getId, Diary::getCity, Diary::getDate)
+                .containsOnly(tuple(0, "seoul", DATE));
+        assertThat(textsCaptor.getValue()).containsExactly("text1", "text2", null);
+        assertThat(result).isEqualTo(new DiaryImportResult("import", 3, 3, true));
+    }
+
+    @DisplayName("도시가 없는 다이어리는 기본 도시로 가져옴")
+    @Test
+    void exportAndImport_nullCity() throws IOException {
+        //given
+        given(diaryRepository.streamDetailByIdGreaterThan(0))
+                .willReturn(Stream.of(
+                        new DiaryDto(1, null, "Clear", "01d", 0.5, WeatherStatus.FILLED, "legacy", DATE, 0),
+                        new DiaryDto(2, "busan", "Clouds", "04d", 1.5, WeatherStatus.FILLED, "text2", DATE, 0)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        diaryTransferService.exportDiaries(0, outputStream);
+        given(weatherService.getDefaultCity()).willReturn("seoul");
+        givenImport(DiaryImport.start("import"));
+        //when
+        DiaryImportResult result = diaryTransferService.importDiaries("import",
+                new ByteArrayInputStream(outputStream.toByteArray()));
+        //then
+        verify(diaryService).insertDiaries(diariesCaptor.capture(), textsCaptor.capture());
+        assertThat(diariesCaptor.getValue())
+                .extracting(Diary::getCity, Diary::getWeather)
+                .containsExactly(tuple("seoul", "Clear"), tuple("busan", "Clouds"));
+        assertThat(textsCaptor.getValue()).containsExactly("legacy", "text2");
+        assertThat(result).isEqualTo(new DiaryImportResult("import", 2, 2, true));
+    }
+
+    @DisplayName("중간에 끊긴 가져오기를 저장한 청크 다음부터 이어서 가져옴")
+    @Test
+    void importDiaries_resume() throws IOException {
+        //given
+        int records = DiaryTransferService.CHUNK_SIZE + 1;
+        byte[] exported = export(records);
+        String text = gunzip(exported);
+        // 첫 청크의 체크섬 줄 다음 다이어리 줄 중간에서 끊김
+        String truncated = text.substring(0, text.indexOf("\"checksum\"") + 100);
+        givenImport(DiaryImport.start("import"));
+        DiaryImportResult partial = diaryTransferService.importDiaries("import", new ByteArrayInputStream(gzip(truncated)));
+        //when
+        DiaryImportResult result = diaryTransferService.importDiaries("import", new ByteArrayInputStream(exported));
+        //then
+        assertThat(partial).isEqualTo(new DiaryImportResult("import", DiaryTransferService.CHUNK_SIZE,
+                DiaryTransferService.CHUNK_SIZE, false));
+        assertThat(result).isEqualTo(new DiaryImportResult("import", records, records, true));
+        verify(diaryService, times(2)).insertDiaries(diariesCaptor.capture(), anyList());
+        assertThat(diariesCaptor.getAllValues()).extracting(List::size)
+                .containsExactly(DiaryTransferService.CHUNK_SIZE, 1);
+    }
+
+    @DisplayName("[예외 - 체크섬 불일치] 손상된 청크는 저장하지 않음")
+    @Test
+    void importDiaries_checksumMismatch() throws IOException {
+        //given
+        byte[] corrupted = gzip(gunzip(export(3)).replace("text2", "text9"));
+        given(diaryImportRepository.findById("import")).willReturn(Optional.of(DiaryImport.start("import")));
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        //when
+        //then
+        assertThatThrownBy(() -> diaryTransferService.importDiaries("import",
+                new ByteArrayInputStream(corrupted)))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", INVALID_DIARY_EXPORT);
+        verify(diaryService, never()).insertDiaries(anyList(), anyList());
+    }
+
+    private byte[] export(int records) throws IOException {
+        given(diaryRepository.streamDetailByIdGreaterThan(0))
+                .willReturn(IntStream.rangeClosed(1, records)
+                        .mapToObj(id -> new DiaryDto(id, "seoul", "Clouds", "04d", 1.5, WeatherStatus.FILLED,
+                                id % 3 == 0 ? null : "text" + id, DATE, 0)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThat(diaryTransferService.exportDiaries(0, outputStream)).isEqualTo(records);
+        return outputStream.toByteArray();
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        return new String(new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return outputStream.toByteArray();
+    }
+
+    private void givenImport(DiaryImport diaryImport) {
+        given(diaryImportRepository.findById("import")).willReturn(Optional.of(diaryImport));
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        willAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+    }
+}
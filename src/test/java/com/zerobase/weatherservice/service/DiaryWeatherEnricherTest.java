@@ -0,0 +1,124 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.WeatherStatus;
+import com.zerobase.weatherservice.dto.property.DiaryWeatherEnrichmentProperties;
+import com.zerobase.weatherservice.event.DiaryWeatherRequestedEvent;
+import com.zerobase.weatherservice.exception.DiaryException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.FAILED_GET_FROM_API;
+import static com.zerobase.weatherservice.exception.ErrorCode.WEATHER_API_UNAVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DiaryWeatherEnricherTest {
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 5);
+    private static final DiaryWeatherRequestedEvent REQUEST = new DiaryWeatherRequestedEvent(1, "seoul", DATE);
+
+    @Mock private DiaryService diaryService;
+    @Mock private WeatherService weatherService;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DiaryWeatherEnricher diaryWeatherEnricher;
+
+    @BeforeEach
+    void setUp() {
+        diaryWeatherEnricher = new DiaryWeatherEnricher(diaryService, weatherService,
+                new DiaryWeatherEnrichmentProperties(1, 1, 3, Duration.ofMillis(1), Duration.ofMillis(10)),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        diaryWeatherEnricher.shutdown();
+    }
+
+    @DisplayName("트랜잭션 밖에서 조회한 날씨로 다이어리 날씨 채우기")
+    @Test
+    void enrich() {
+        //given
+        DateWeather dateWeather = DateWeather.builder()
+                .city("seoul").date(DATE).weather("cloud").icon("icon").temperature(11.1).build();
+        given(weatherService.getDateWeatherAsync("seoul", DATE))
+                .willReturn(CompletableFuture.completedFuture(dateWeather));
+        given(diaryService.fillDiaryWeather(1, dateWeather))
+                .willReturn(true);
+        //when
+        diaryWeatherEnricher.onDiaryWeatherRequested(REQUEST);
+        //then
+        verify(diaryService, timeout(1000)).fillDiaryWeather(1, dateWeather);
+    }
+
+    @DisplayName("[예외 - 날씨 조회 실패] 재시도 횟수만큼 실패하면 FAILED로 표시")
+    @Test
+    void enrich_deadLetter() {
+        //given
+        given(weatherService.getDateWeatherAsync("seoul", DATE))
+                .willAnswer(invocation -> CompletableFuture.failedFuture(new DiaryException(FAILED_GET_FROM_API)));
+        given(diaryService.failDiaryWeather(1, DATE))
+                .willReturn(true);
+        //when
+        diaryWeatherEnricher.onDiaryWeatherRequested(REQUEST);
+        //then
+        verify(diaryService, timeout(1000)).failDiaryWeather(1, DATE);
+        verify(weatherService, times(3)).getDateWeatherAsync("seoul", DATE);
+        verify(diaryService, never()).fillDiaryWeather(anyInt(), any());
+    }
+
+    @DisplayName("[날씨 API 장애] 재시도하지 않고 가장 가까운 날짜의 날씨로 채우기")
+    @Test
+    void enrich_weatherApiUnavailable() {
+        //given
+        given(weatherService.getDateWeatherAsync("seoul", DATE))
+                .willReturn(CompletableFuture.failedFuture(new DiaryException(WEATHER_API_UNAVAILABLE)));
+        given(diaryService.fillStaleDiaryWeather(1, "seoul", DATE))
+                .willReturn(WeatherStatus.STALE);
+        //when
+        diaryWeatherEnricher.onDiaryWeatherRequested(REQUEST);
+        //then
+        verify(diaryService, timeout(1000)).fillStaleDiaryWeather(1, "seoul", DATE);
+        verify(weatherService, times(1)).getDateWeatherAsync("seoul", DATE);
+        verify(diaryService, never()).failDiaryWeather(anyInt(), any());
+    }
+
+    @DisplayName("대기열이 가득 찼다면 받지 않고 PENDING으로 둠")
+    @Test
+    void enrich_queueFull() {
+        //given
+        given(weatherService.getDateWeatherAsync("seoul", DATE))
+                .willReturn(CompletableFuture.supplyAsync(() -> {
+                    throw new DiaryException(WEATHER_API_UNAVAILABLE);
+                }, CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS)));
+        //when
+        diaryWeatherEnricher.onDiaryWeatherRequested(REQUEST);
+        diaryWeatherEnricher.onDiaryWeatherRequested(new DiaryWeatherRequestedEvent(2, "seoul", DATE));
+        //then
+        verify(diaryService, timeout(1000)).fillStaleDiaryWeather(1, "seoul", DATE);
+        verify(diaryService, never()).fillStaleDiaryWeather(2, "seoul", DATE);
+        assertThat(counted("rejected")).isEqualTo(1);
+    }
+
+    private double counted(String outcome) {
+        return meterRegistry.counter("diary.weather.enrichment", "outcome", outcome).count();
+    }
+}
@@ -0,0 +1,129 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.domain.JobLease;
+import com.zerobase.weatherservice.dto.LeaseToken;
+import com.zerobase.weatherservice.dto.property.JobLeaseProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.JobLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.FAILED_GET_FROM_API;
+import static com.zerobase.weatherservice.exception.ErrorCode.LOST_JOB_LEASE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JobLeaseServiceTest {
+    private static final String JOB = "weather-ingest";
+    private static final String RUN = "2024-01-05";
+
+    @Mock private JobLeaseRepository jobLeaseRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+    private JobLeaseService jobLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        jobLeaseService = new JobLeaseService(jobLeaseRepository,
+                new JobLeaseProperties(Duration.ofMinutes(2), Duration.ofSeconds(30), Duration.ofMinutes(1)),
+                transactionTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobLeaseService.shutdown();
+    }
+
+    @DisplayName("리스를 얻었다면 token과 함께 작업을 실행하고 run을 끝난 것으로 기록")
+    @Test
+    void runOnce() {
+        //given
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(jobLeaseRepository.acquire(eq(JOB), anyString(), eq(RUN), eq(false), any(), any()))
+                .willReturn(1);
+        given(jobLeaseRepository.findById(JOB))
+                .willReturn(Optional.of(JobLease.builder().name(JOB).token(7).build()));
+        given(jobLeaseRepository.release(eq(JOB), eq(7L), eq(RUN), any()))
+                .willReturn(1);
+        List<LeaseToken> leases = new ArrayList<>();
+        //when
+        boolean ran = jobLeaseService.runOnce(JOB, RUN, leases::add);
+        //then
+        assertThat(ran).isTrue();
+        assertThat(leases).extracting(LeaseToken::token).containsExactly(7L);
+        verify(jobLeaseRepository).insertIfAbsent(eq(JOB), any());
+        verify(jobLeaseRepository).release(eq(JOB), eq(7L), eq(RUN), any());
+    }
+
+    @DisplayName("다른 노드가 리스를 가지고 있거나 이미 끝난 run이라면 실행하지 않음")
+    @Test
+    void runOnce_notAcquired() {
+        //given
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(jobLeaseRepository.acquire(eq(JOB), anyString(), eq(RUN), eq(false), any(), any()))
+                .willReturn(0);
+        List<LeaseToken> leases = new ArrayList<>();
+        //when
+        boolean ran = jobLeaseService.runOnce(JOB, RUN, leases::add);
+        //then
+        assertThat(ran).isFalse();
+        assertThat(leases).isEmpty();
+        verify(jobLeaseRepository, never()).release(anyString(), anyLong(), anyString(), any());
+    }
+
+    @DisplayName("[예외 - 작업 실패] 실패한 run도 끝난 것으로 기록하고 리스를 반납")
+    @Test
+    void runOnce_failedJob() {
+        //given
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(jobLeaseRepository.acquire(eq(JOB), anyString(), eq(RUN), anyBoolean(), any(), any()))
+                .willReturn(1);
+        given(jobLeaseRepository.findById(JOB))
+                .willReturn(Optional.of(JobLease.builder().name(JOB).token(7).build()));
+        //when
+        assertThatThrownBy(() -> jobLeaseService.takeOver(JOB, RUN, lease -> {
+            throw new DiaryException(FAILED_GET_FROM_API);
+        }))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", FAILED_GET_FROM_API);
+        //then
+        verify(jobLeaseRepository).acquire(eq(JOB), anyString(), eq(RUN), eq(true), any(), any());
+        verify(jobLeaseRepository).release(eq(JOB), eq(7L), eq(RUN), any());
+    }
+
+    @DisplayName("[예외 - 리스를 잃음] 다른 노드가 리스를 얻었다면 저장 트랜잭션을 실패")
+    @Test
+    void fence_lostLease() {
+        //given
+        given(jobLeaseRepository.renew(eq(JOB), eq(7L), any()))
+                .willReturn(0);
+        //when
+        assertThatThrownBy(() -> jobLeaseService.fence(new LeaseToken(JOB, "node", 7)))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", LOST_JOB_LEASE);
+        //then
+    }
+}
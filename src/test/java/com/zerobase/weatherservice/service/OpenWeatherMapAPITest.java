@@ -1,21 +1,27 @@
 package com.zerobase.weatherservice.service;
 
 import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.dto.LeaseToken;
 import com.zerobase.weatherservice.exception.DiaryException;
 import com.zerobase.weatherservice.exception.ErrorCode;
 import com.zerobase.weatherservice.repository.DateWeatherRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,34 +31,42 @@ public class OpenWeatherMapAPITest {
     @Autowired private DiaryService diaryService;
     @MockBean
     private DateWeatherRepository dateWeatherRepository;
+    @MockBean
+    private JobLeaseService jobLeaseService;
+    @Captor private ArgumentCaptor<List<DateWeather>> captor;
+
+    /**
+     * 실제 리스는 실패한 실행도 끝난 것으로 기록하므로, 테스트마다 리스를 받은 것처럼 날씨 수집을 실행
+     */
+    @BeforeEach
+    void setUp() {
+        given(jobLeaseService.runOnce(anyString(), anyString(), any())).willAnswer(invocation -> {
+            invocation.<Consumer<LeaseToken>>getArgument(2)
+                    .accept(new LeaseToken(invocation.getArgument(0), "test", 1));
+            return true;
+        });
+    }
 
     @DisplayName("날씨 정보를 DB에 저장")
     @Test
     void getWeatherString() {
         //given
-        given(dateWeatherRepository.save(any()))
-                .willReturn(DateWeather.builder()
-                        .date(LocalDate.now())
-                        .weather("cloud")
-                        .icon("icon")
-                        .temperature(11.1)
-                        .build());
+        given(dateWeatherRepository.saveAll(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
         //when
         diaryService.saveWeatherDate();
-        ArgumentCaptor<DateWeather> captor = ArgumentCaptor.forClass(DateWeather.class);
         //then
-        verify(dateWeatherRepository, times(1)).save(captor.capture());
-        assertThat(captor.getValue().getDate()).isEqualTo(LocalDate.now());
-        assertThat(captor.getValue().getWeather()).isEqualTo("cloud");
-        assertThat(captor.getValue().getIcon()).isEqualTo("icon");
-        assertThat(captor.getValue().getTemperature()).isEqualTo(11.1);
+        verify(dateWeatherRepository, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(DateWeather::getCity).contains("seoul");
+        assertThat(captor.getValue()).extracting(DateWeather::getDate).containsOnly(LocalDate.now());
+        assertThat(captor.getValue()).extracting(DateWeather::getWeather).doesNotContainNull();
     }
 
     @DisplayName("[예외] 날씨 정보를 DB에 저장")
     @Test
     void getWeatherString_failedSave() {
         //given
-        given(dateWeatherRepository.save(any()))
+        given(dateWeatherRepository.saveAll(any()))
                 .willThrow(new DiaryException(ErrorCode.FAILED_SAVE_WEATHER));
         //when
         assertThatThrownBy(() -> diaryService.saveWeatherDate())
@@ -0,0 +1,185 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.StatsPeriod;
+import com.zerobase.weatherservice.domain.StatsRollup;
+import com.zerobase.weatherservice.domain.WeatherTypeRollup;
+import com.zerobase.weatherservice.dto.DiaryCount;
+import com.zerobase.weatherservice.dto.StatsBucket;
+import com.zerobase.weatherservice.dto.StatsRebuildResult;
+import com.zerobase.weatherservice.dto.WeatherStatsDto;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.StatsRollupRepository;
+import com.zerobase.weatherservice.repository.WeatherTypeRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.zerobase.weatherservice.domain.StatsPeriod.DAY;
+import static com.zerobase.weatherservice.domain.StatsPeriod.MONTH;
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_DATE_RANGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+    @Mock private StatsRollupRepository statsRollupRepository;
+    @Mock private WeatherTypeRollupRepository weatherTypeRollupRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+    private StatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new StatsService(statsRollupRepository, weatherTypeRollupRepository, transactionTemplate);
+    }
+
+    @DisplayName("(월, 도시) MONTH 행을 먼저 잠근 뒤 날씨 정보를 DAY 롤업에 반영하고 MONTH 롤업을 한 번씩 다시 합산")
+    @Test
+    void applyWeathers() {
+        //given
+        List<DateWeather> dateWeathers = List.of(
+                generateDateWeather("seoul", LocalDate.of(2024, 1, 30)),
+                generateDateWeather("seoul", LocalDate.of(2024, 1, 31)),
+                generateDateWeather("seoul", LocalDate.of(2024, 2, 1)));
+        //when
+        statsService.applyWeathers(dateWeathers);
+        //then
+        InOrder inOrder = inOrder(statsRollupRepository);
+        inOrder.verify(statsRollupRepository).lockMonth(LocalDate.of(2024, 1, 1), "seoul");
+        inOrder.verify(statsRollupRepository).lockMonth(LocalDate.of(2024, 2, 1), "seoul");
+        inOrder.verify(statsRollupRepository, times(3)).upsertDayWeather(any(), any(), any(Double.class));
+        verify(weatherTypeRollupRepository, times(3)).insertDay(any(), any(), any());
+        verify(statsRollupRepository).updateMonthWeatherFromDays(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "seoul");
+        verify(statsRollupRepository).updateMonthWeatherFromDays(
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), "seoul");
+        verify(weatherTypeRollupRepository, times(2)).insertMonthFromDays(any(), any(), any());
+    }
+
+    @DisplayName("다이어리 증감량을 (날짜, 도시)와 (월, 도시)별로 합쳐서 반영")
+    @Test
+    void addDiaryCounts() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        //when
+        statsService.addDiaryCounts(List.of(new DiaryCount(date, "seoul", 2),
+                new DiaryCount(date.plusDays(1), "seoul", -2)));
+        //then
+        verify(statsRollupRepository).addDiaryCount("DAY", date, "seoul", 2);
+        verify(statsRollupRepository).addDiaryCount("DAY", date.plusDays(1), "seoul", -2);
+        // 같은 달의 증감량은 상쇄되므로 MONTH 롤업은 갱신하지 않지만 DAY 롤업보다 먼저 잠금
+        verify(statsRollupRepository, never()).addDiaryCount("MONTH", LocalDate.of(2024, 1, 1), "seoul", 0);
+        InOrder inOrder = inOrder(statsRollupRepository);
+        inOrder.verify(statsRollupRepository).lockMonth(LocalDate.of(2024, 1, 1), "seoul");
+        inOrder.verify(statsRollupRepository).addDiaryCount("DAY", date, "seoul", 2);
+        verify(statsRollupRepository, times(2)).addDiaryCount(any(), any(), any(), any(Long.class));
+    }
+
+    @DisplayName("완전히 포함된 달은 MONTH 롤업으로, 나머지 날짜는 DAY 롤업으로 합산")
+    @Test
+    void getStats() {
+        //given
+        LocalDate startDate = LocalDate.of(2024, 1, 31);
+        LocalDate endDate = LocalDate.of(2024, 3, 1);
+        given(statsRollupRepository.findAllByPeriodTypeAndPeriodStartBetween(
+                MONTH, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)))
+                .willReturn(List.of(generateRollup(MONTH, LocalDate.of(2024, 2, 1), 29, 290, -5.0, 20.0, 10)));
+        given(statsRollupRepository.findAllByPeriodTypeAndPeriodStartBetween(DAY, startDate, startDate))
+                .willReturn(List.of(generateRollup(DAY, startDate, 1, 1, 1.0, 1.0, 3)));
+        given(statsRollupRepository.findAllByPeriodTypeAndPeriodStartBetween(DAY, endDate, endDate))
+                .willReturn(List.of(generateRollup(DAY, endDate, 0, 0, null, null, 2)));
+        given(weatherTypeRollupRepository.findAllByPeriodTypeAndPeriodStartBetween(
+                MONTH, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)))
+                .willReturn(List.of(generateWeatherType(MONTH, LocalDate.of(2024, 2, 1), "Clear", 29)));
+        given(weatherTypeRollupRepository.findAllByPeriodTypeAndPeriodStartBetween(DAY, startDate, startDate))
+                .willReturn(List.of(generateWeatherType(DAY, startDate, "Snow", 1)));
+        //when
+        WeatherStatsDto stats = statsService.getStats(startDate, endDate, MONTH, null);
+        //then
+        assertThat(stats.buckets()).extracting(StatsBucket::startDate)
+                .containsExactly(startDate, LocalDate.of(2024, 2, 1), endDate);
+        assertThat(stats.buckets()).extracting(StatsBucket::diaryCount).containsExactly(3L, 10L, 2L);
+        assertThat(stats.buckets().get(2).averageTemperature()).isNull();
+        assertThat(stats.total().weatherDays()).isEqualTo(30);
+        assertThat(stats.total().averageTemperature()).isEqualTo(291.0 / 30);
+        assertThat(stats.total().minTemperature()).isEqualTo(-5.0);
+        assertThat(stats.total().maxTemperature()).isEqualTo(20.0);
+        assertThat(stats.total().weatherTypes()).isEqualTo(Map.of("Clear", 29L, "Snow", 1L));
+        assertThat(stats.total().diaryCount()).isEqualTo(15);
+    }
+
+    @DisplayName("[예외 - DAY 단위로 366일 초과] 통계 조회")
+    @Test
+    void getStats_tooManyDays() {
+        //given
+        //when
+        assertThatThrownBy(() -> statsService.getStats(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 2), DAY, null))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", INVALID_DATE_RANGE);
+        //then
+        verify(statsRollupRepository, never()).findAllByPeriodTypeAndPeriodStartBetween(any(), any(), any());
+    }
+
+    @DisplayName("기간에 걸친 달마다 별도의 트랜잭션으로 재집계")
+    @Test
+    void rebuild() {
+        //given
+        //when
+        StatsRebuildResult result = statsService.rebuild(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 2));
+        //then
+        assertThat(result.startDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(result.endDate()).isEqualTo(LocalDate.of(2024, 3, 31));
+        assertThat(result.rebuiltMonths()).isEqualTo(3);
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+    }
+
+    private static DateWeather generateDateWeather(String city, LocalDate date) {
+        return DateWeather.builder()
+                .city(city)
+                .date(date)
+                .weather("Clear")
+                .icon("01d")
+                .temperature(270.1)
+                .build();
+    }
+
+    private static StatsRollup generateRollup(StatsPeriod periodType, LocalDate periodStart, int weatherDays,
+                                              double temperatureSum, Double min, Double max, long diaryCount) {
+        return StatsRollup.builder()
+                .periodType(periodType)
+                .periodStart(periodStart)
+                .city("seoul")
+                .weatherDays(weatherDays)
+                .temperatureSum(temperatureSum)
+                .temperatureMin(min)
+                .temperatureMax(max)
+                .diaryCount(diaryCount)
+                .build();
+    }
+
+    private static WeatherTypeRollup generateWeatherType(StatsPeriod periodType, LocalDate periodStart,
+                                                         String weather, long dayCount) {
+        return WeatherTypeRollup.builder()
+                .periodType(periodType)
+                .periodStart(periodStart)
+                .city("seoul")
+                .weather(weather)
+                .dayCount(dayCount)
+                .build();
+    }
+}
@@ -0,0 +1,223 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.domain.BackfillStatus;
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.DateWeatherId;
+import com.zerobase.weatherservice.domain.WeatherBackfill;
+import com.zerobase.weatherservice.dto.LeaseToken;
+import com.zerobase.weatherservice.dto.property.WeatherBackfillProperties;
+import com.zerobase.weatherservice.dto.property.WeatherIngestProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.DateWeatherRepository;
+import com.zerobase.weatherservice.repository.WeatherBackfillRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.ALREADY_RUNNING_BACKFILL;
+import static com.zerobase.weatherservice.exception.ErrorCode.INVALID_DATE_RANGE;
+import static com.zerobase.weatherservice.exception.ErrorCode.LOST_JOB_LEASE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherBackfillServiceTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private static final LeaseToken LEASE = new LeaseToken("weather-backfill", "node-1", 3L);
+
+    @Mock private WeatherBackfillRepository weatherBackfillRepository;
+    @Mock private DateWeatherRepository dateWeatherRepository;
+    @Mock private WeatherService weatherService;
+    @Mock private StatsService statsService;
+    @Mock private JobLeaseService jobLeaseService;
+    @Mock private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private WeatherBackfillService weatherBackfillService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        weatherBackfillService = new WeatherBackfillService(weatherBackfillRepository, dateWeatherRepository,
+                weatherService, statsService, new WeatherIngestProperties(List.of("seoul", "busan"), "seoul", 4),
+                new WeatherBackfillProperties(2, 7, 1), transactionTemplate, jobLeaseService, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherBackfillService.shutdown();
+    }
+
+    @DisplayName("비어있는 날씨 정보를 배치 단위로 채우고 체크포인트를 남김")
+    @Test
+    void runBackfill() {
+        //given
+        WeatherBackfill backfill = generateBackfill(null);
+        givenBackfill(backfill);
+        given(dateWeatherRepository.findIdsByDateBetween(any(), any()))
+                .willReturn(List.of(new DateWeatherId("seoul", START_DATE)));
+        given(weatherService.fetchWeathers(any()))
+                .willAnswer(invocation -> toDateWeathers(invocation.getArgument(0)));
+        //when
+        weatherBackfillService.runBackfill(1L, LEASE);
+        //then
+        // 3일을 2일씩 나누어 2번 요청
+        verify(weatherService, times(2)).fetchWeathers(any());
+        verify(weatherService).fetchWeathers(List.of(
+                new DateWeatherId("busan", START_DATE),
+                new DateWeatherId("seoul", START_DATE.plusDays(1)),
+                new DateWeatherId("busan", START_DATE.plusDays(1))));
+        assertThat(backfill.getStatus()).isEqualTo(BackfillStatus.COMPLETED);
+        assertThat(backfill.getCheckpointDate()).isEqualTo(START_DATE.plusDays(2));
+        assertThat(backfill.getFilledCount()).isEqualTo(5);
+        assertThat(meterRegistry.counter("weather.backfill.items", "result", "filled").count()).isEqualTo(5);
+    }
+
+    @DisplayName("중단된 작업은 체크포인트 다음 날짜부터 이어서 진행")
+    @Test
+    void runBackfill_resume() {
+        //given
+        WeatherBackfill backfill = generateBackfill(START_DATE.plusDays(1));
+        givenBackfill(backfill);
+        given(weatherService.fetchWeathers(any()))
+                .willAnswer(invocation -> toDateWeathers(invocation.getArgument(0)));
+        //when
+        weatherBackfillService.runBackfill(1L, LEASE);
+        //then
+        verify(dateWeatherRepository).findIdsByDateBetween(START_DATE.plusDays(2), START_DATE.plusDays(2));
+        verify(weatherService, times(1)).fetchWeathers(any());
+        assertThat(backfill.getStatus()).isEqualTo(BackfillStatus.COMPLETED);
+        assertThat(backfill.getFilledCount()).isEqualTo(2);
+    }
+
+    @DisplayName("[예외 - 저장 충돌 반복] 재시도 횟수를 넘으면 작업 실패")
+    @Test
+    void runBackfill_conflict() {
+        //given
+        WeatherBackfill backfill = generateBackfill(null);
+        given(weatherBackfillRepository.findById(1L)).willReturn(Optional.of(backfill));
+        given(weatherBackfillRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+        given(transactionTemplate.execute(any()))
+                .willThrow(new DataIntegrityViolationException("duplicate"))
+                .willThrow(new DataIntegrityViolationException("duplicate"))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        //when
+        weatherBackfillService.runBackfill(1L, LEASE);
+        //then
+        // 처음 시도 + 재시도 1번 + 실패 기록
+        verify(transactionTemplate, times(3)).execute(any());
+        assertThat(backfill.getStatus()).isEqualTo(BackfillStatus.FAILED);
+        assertThat(backfill.getCheckpointDate()).isNull();
+        assertThat(backfill.getFilledCount()).isZero();
+    }
+
+    @DisplayName("[예외 - 리스를 잃음] 저장하지 않고 작업 상태를 바꾸지 않은 채 멈춤")
+    @Test
+    void runBackfill_lostLease() {
+        //given
+        WeatherBackfill backfill = generateBackfill(null);
+        given(weatherBackfillRepository.findById(1L)).willReturn(Optional.of(backfill));
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(weatherService.fetchWeathers(any()))
+                .willAnswer(invocation -> toDateWeathers(invocation.getArgument(0)));
+        willThrow(new DiaryException(LOST_JOB_LEASE)).given(jobLeaseService).fence(LEASE);
+        //when
+        weatherBackfillService.runBackfill(1L, LEASE);
+        //then
+        verify(weatherService, times(1)).fetchWeathers(any());
+        verify(dateWeatherRepository, never()).saveAll(any());
+        verify(weatherBackfillRepository, never()).save(any());
+        assertThat(backfill.getStatus()).isEqualTo(BackfillStatus.RUNNING);
+    }
+
+    @DisplayName("중단된 작업은 작업 리스를 얻어 이어서 진행")
+    @Test
+    void resumeBackfills() {
+        //given
+        given(weatherBackfillRepository.findAllByStatus(BackfillStatus.RUNNING))
+                .willReturn(List.of(generateBackfill(START_DATE)));
+        //when
+        weatherBackfillService.resumeBackfills();
+        //then
+        verify(jobLeaseService, timeout(1000)).runOnce(eq("weather-backfill"), eq("1"), any());
+    }
+
+    @DisplayName("[예외 - 진행 중인 작업] 진행 중인 작업의 unique 제약에 걸리면 시작하지 않음")
+    @Test
+    void startBackfill_alreadyRunning() {
+        //given
+        given(weatherBackfillRepository.save(any()))
+                .willThrow(new DataIntegrityViolationException("uk_weather_backfill_active"));
+        //when
+        assertThatThrownBy(() -> weatherBackfillService.startBackfill(START_DATE, START_DATE.plusDays(2)))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ALREADY_RUNNING_BACKFILL);
+        //then
+        verify(jobLeaseService, never()).runOnce(any(), any(), any());
+    }
+
+    @DisplayName("[예외 - 잘못된 기간] backfill 시작")
+    @Test
+    void startBackfill_invalidDateRange() {
+        //given
+        //when
+        assertThatThrownBy(() -> weatherBackfillService.startBackfill(START_DATE.plusDays(1), START_DATE))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", INVALID_DATE_RANGE);
+        //then
+        verify(weatherBackfillRepository, never()).save(any());
+    }
+
+    private void givenBackfill(WeatherBackfill backfill) {
+        given(weatherBackfillRepository.findById(1L)).willReturn(Optional.of(backfill));
+        given(weatherBackfillRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static List<DateWeather> toDateWeathers(List<DateWeatherId> ids) {
+        return ids.stream()
+                .map(id -> DateWeather.builder()
+                        .city(id.getCity())
+                        .date(id.getDate())
+                        .weather("Clear")
+                        .icon("01d")
+                        .temperature(270.1)
+                        .build())
+                .toList();
+    }
+
+    private static WeatherBackfill generateBackfill(LocalDate checkpointDate) {
+        return WeatherBackfill.builder()
+                .id(1L)
+                .status(BackfillStatus.RUNNING)
+                .active(true)
+                .startDate(START_DATE)
+                .endDate(START_DATE.plusDays(2))
+                .checkpointDate(checkpointDate)
+                .missingCount(5)
+                .startedAt(LocalDateTime.now())
+                .build();
+    }
+}
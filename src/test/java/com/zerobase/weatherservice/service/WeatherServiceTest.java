@@ -0,0 +1,241 @@
+package com.zerobase.weatherservice.service;
+
+import com.zerobase.weatherservice.cache.WeatherCache;
+import com.zerobase.weatherservice.client.WeatherApiClient;
+import com.zerobase.weatherservice.domain.DateWeather;
+import com.zerobase.weatherservice.domain.DateWeatherId;
+import com.zerobase.weatherservice.dto.LeaseToken;
+import com.zerobase.weatherservice.dto.property.WeatherIngestProperties;
+import com.zerobase.weatherservice.exception.DiaryException;
+import com.zerobase.weatherservice.repository.DateWeatherRepository;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.zerobase.weatherservice.exception.ErrorCode.FAILED_GET_FROM_API;
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_ARRIVED_DATE;
+import static com.zerobase.weatherservice.exception.ErrorCode.NOT_SUPPORTED_CITY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherServiceTest {
+    private static final byte[] WEATHER_RESPONSE = """
+            {"weather":[{"main":"Clouds","icon":"04d"}],"main":{"temp":281.5}}
+            """.getBytes(UTF_8);
+    private static final byte[] HISTORY_RESPONSE = """
+            {"cnt":1,"list":[{"dt":1704423600,"main":{"temp":270.1},"weather":[{"main":"Clear","icon":"01d"}]}]}
+            """.getBytes(UTF_8);
+
+    @Mock private DateWeatherRepository dateWeatherRepository;
+    @Mock private WeatherApiClient weatherApiClient;
+    @Mock private WeatherCache weatherCache;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private StatsService statsService;
+    @Mock private JobLeaseService jobLeaseService;
+    @Captor private ArgumentCaptor<List<DateWeather>> captor;
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private WeatherService weatherService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = CircuitBreaker.ofDefaults("weatherApi");
+        weatherService = new WeatherService(dateWeatherRepository, weatherApiClient, weatherCache,
+                new WeatherIngestProperties(List.of("seoul", "busan", "incheon"), "seoul", 4),
+                transactionTemplate, statsService, jobLeaseService, circuitBreaker, Bulkhead.ofDefaults("weatherApi"), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherService.shutdown();
+    }
+
+    @DisplayName("설정된 모든 도시의 날씨 정보를 한 번에 저장")
+    @Test
+    void saveWeatherDate() {
+        //given
+        given(weatherApiClient.fetchCurrentWeather(anyString()))
+                .willReturn(CompletableFuture.completedFuture(WEATHER_RESPONSE));
+        given(weatherApiClient.fetchCurrentWeather("busan"))
+                .willReturn(CompletableFuture.failedFuture(new DiaryException(FAILED_GET_FROM_API)));
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(dateWeatherRepository.saveAll(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        LeaseToken lease = new LeaseToken("weather-ingest", "node", 1);
+        //when
+        weatherService.saveWeatherDate(lease);
+        //then
+        verify(jobLeaseService).fence(lease);
+        verify(dateWeatherRepository, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(DateWeather::getCity).containsExactly("seoul", "incheon");
+        assertThat(captor.getValue()).extracting(DateWeather::getDate).containsOnly(LocalDate.now());
+        verify(statsService).applyWeathers(captor.getValue());
+        verify(weatherCache, times(2)).put(any());
+    }
+
+    @DisplayName("[예외 - 모든 도시 요청 실패] 날씨 정보 저장")
+    @Test
+    void saveWeatherDate_allFailed() {
+        //given
+        given(weatherApiClient.fetchCurrentWeather(anyString()))
+                .willReturn(CompletableFuture.failedFuture(new DiaryException(FAILED_GET_FROM_API)));
+        //when
+        assertThatThrownBy(() -> weatherService.saveWeatherDate(new LeaseToken("weather-ingest", "node", 1)))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", FAILED_GET_FROM_API);
+        //then
+        verify(dateWeatherRepository, never()).saveAll(any());
+    }
+
+    @DisplayName("지난 날짜는 history API로 받아와 요청한 날짜로 저장")
+    @Test
+    void fetchWeathers_pastDate() {
+        //given
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        given(weatherApiClient.fetchHistoricalWeather("seoul", yesterday))
+                .willReturn(CompletableFuture.completedFuture(HISTORY_RESPONSE));
+        //when
+        List<DateWeather> dateWeathers = weatherService.fetchWeathers(List.of(new DateWeatherId("seoul", yesterday)));
+        //then
+        assertThat(dateWeathers).hasSize(1);
+        assertThat(dateWeathers.get(0).getDate()).isEqualTo(yesterday);
+        assertThat(dateWeathers.get(0).getWeather()).isEqualTo("Clear");
+        verify(weatherApiClient, never()).fetchCurrentWeather(anyString());
+    }
+
+    @DisplayName("[예외 - 오늘 이후의 날짜] 날씨 API를 호출하지 않고 저장, 롤업하지 않음")
+    @Test
+    void getDateWeather_futureDate() {
+        //given
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        given(dateWeatherRepository.findByCityAndDate("seoul", tomorrow)).willReturn(Optional.empty());
+        given(weatherCache.get(any(), any())).willAnswer(invocation -> invocation
+                .<Function<DateWeatherId, CompletableFuture<DateWeather>>>getArgument(1)
+                .apply(invocation.getArgument(0))
+                .join());
+        //when
+        assertThatThrownBy(() -> weatherService.getDateWeather("seoul", tomorrow))
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", NOT_ARRIVED_DATE);
+        //then
+        verify(weatherApiClient, never()).fetchCurrentWeather(anyString());
+        verify(dateWeatherRepository, never()).save(any());
+        verify(statsService, never()).applyWeathers(any());
+    }
+
+    @DisplayName("[예외 - 서킷 열림] 날씨 API를 호출하지 않고 실패")
+    @Test
+    void fetchWeathers_circuitOpen() {
+        //given
+        circuitBreaker.transitionToOpenState();
+        //when
+        List<DateWeather> dateWeathers = weatherService.fetchWeathers(List.of(new DateWeatherId("seoul", LocalDate.now())));
+        //then
+        assertThat(dateWeathers).isEmpty();
+        verify(weatherApiClient, never()).fetchCurrentWeather(anyString());
+        assertThat(meterRegistry.counter("weather.api.rejected", "reason", "circuit_open").count()).isEqualTo(1);
+    }
+
+    @DisplayName("가장 가까운 날짜의 날씨 정보 조회")
+    @Test
+    void findNearestDateWeather() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        given(dateWeatherRepository.findByCityAndDate("seoul", date)).willReturn(Optional.empty());
+        given(dateWeatherRepository.findFirstByCityAndDateLessThanOrderByDateDesc("seoul", date))
+                .willReturn(Optional.of(DateWeather.builder().city("seoul").date(date.minusDays(3)).build()));
+        given(dateWeatherRepository.findFirstByCityAndDateGreaterThanOrderByDateAsc("seoul", date))
+                .willReturn(Optional.of(DateWeather.builder().city("seoul").date(date.plusDays(1)).build()));
+        //when
+        Optional<DateWeather> dateWeather = weatherService.findNearestDateWeather("seoul", date);
+        //then
+        assertThat(dateWeather).map(DateWeather::getDate).contains(date.plusDays(1));
+    }
+
+    @DisplayName("캐시 miss 시 DB 조회는 캐시의 매핑 함수를 호출한 스레드가 아닌 작업 스레드에서 실행")
+    @Test
+    void getDateWeather_loadOnWorker() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        DateWeather stored = DateWeather.builder().city("seoul").date(date).weather("Clouds").build();
+        AtomicReference<Thread> lookupThread = new AtomicReference<>();
+        given(dateWeatherRepository.findByCityAndDate("seoul", date)).willAnswer(invocation -> {
+            lookupThread.set(Thread.currentThread());
+            return Optional.of(stored);
+        });
+        given(weatherCache.get(any(), any())).willAnswer(invocation -> invocation
+                .<Function<DateWeatherId, CompletableFuture<DateWeather>>>getArgument(1)
+                .apply(invocation.getArgument(0))
+                .join());
+        //when
+        DateWeather dateWeather = weatherService.getDateWeather("seoul", date);
+        //then
+        assertThat(dateWeather).isSameAs(stored);
+        assertThat(lookupThread.get().getName()).startsWith("weather-ingest-");
+        verify(weatherApiClient, never()).fetchHistoricalWeather(anyString(), any());
+    }
+
+    @DisplayName("비동기 날씨 정보 조회는 다른 스레드에서 로딩이 끝나더라도 작업 스레드에서 완료")
+    @Test
+    void getDateWeatherAsync_completeOnWorker() {
+        //given
+        LocalDate date = LocalDate.of(2024, 1, 5);
+        CompletableFuture<DateWeather> loading = new CompletableFuture<>();
+        given(weatherCache.getAsync(any(), any()))
+                .willReturn(loading);
+        //when
+        CompletableFuture<String> completedThread = weatherService.getDateWeatherAsync("seoul", date)
+                .thenApply(dateWeather -> Thread.currentThread().getName());
+        // HTTP 클라이언트 스레드에서 로딩이 끝난 경우
+        Thread httpClientThread = new Thread(() -> loading.complete(
+                DateWeather.builder().city("seoul").date(date).weather("Clouds").build()), "http-client");
+        httpClientThread.start();
+        //then
+        assertThat(completedThread.join()).startsWith("weather-ingest-");
+        assertThat(weatherService.getDateWeatherAsync("tokyo", date))
+                .isCompletedExceptionally();
+    }
+
+    @DisplayName("[예외 - 지원하지 않는 도시] 날씨 정보 조회")
+    @Test
+    void getDateWeather_notSupportedCity() {
+        //given
+        //when
+        assertThatThrownBy(() -> weatherService.getDateWeather("tokyo", LocalDate.now()))
+                .isInstanceOf(DiaryException.class)
+                .hasFieldOrPropertyWithValue("errorCode", NOT_SUPPORTED_CITY);
+        //then
+        verify(weatherCache, never()).get(any(), any());
+    }
+}